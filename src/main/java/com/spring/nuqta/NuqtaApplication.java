@@ -3,11 +3,14 @@ package com.spring.nuqta;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication(scanBasePackages = {"com.spring.nuqta"})
 @EnableJpaAuditing
-@EnableCaching
+// Caching wraps the transaction: a hit opens none, and a load (also a background refresh) maps the lazy
+// associations inside one
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class NuqtaApplication {
 
     public static void main(String[] args) {
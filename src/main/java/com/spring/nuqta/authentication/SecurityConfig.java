@@ -34,7 +34,7 @@ import static com.spring.nuqta.enums.Scope.USER;
 @EnableMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true)
 public class SecurityConfig {
 
-    public static final String[] PUBLIC_APIS = {"/swagger-ui/**", "/api/auth/**",
+    public static final String[] PUBLIC_APIS = {"/swagger-ui/**", "/api/auth/**", "/api/location/suggest",
             "/api-docs/**", "/", "/verify", "/verification-success.html", "/verification-failed.html", "/styles.css", "script.js", "/favicon.ico", "/accept-success.html", "/accept-failed.html"};
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -66,6 +66,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/user").hasAnyAuthority(String.valueOf(USER), String.valueOf(ORGANIZATION))
                         .requestMatchers("/api/user/**").hasAuthority(String.valueOf(USER))
                         .requestMatchers("/api/org/**").hasAuthority(String.valueOf(ORGANIZATION))
+                        .requestMatchers("/api/export/**").hasAuthority(String.valueOf(ORGANIZATION))
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,23 @@
+package com.spring.nuqta.base.Dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One page of a list, newest first")
+public class CursorPageDto<T> implements Serializable {
+
+    @Schema(description = "Items of this page")
+    private List<T> items = new ArrayList<>();
+
+    @Schema(description = "Cursor of the next page, null on the last page", example = "MjAyNS0wMS0wMTo0Mg")
+    private String next;
+}
@@ -18,8 +18,17 @@ import java.time.LocalDate;
 @Setter
 public class BaseEntity<ID extends Number> implements Serializable {
 
+    /**
+     * Shared by every BaseEntity table. Each node takes blocks of {@link #ID_ALLOCATION} ids (pooled-lo,
+     * see hibernate.id.optimizer.pooled.preferred), so inserts need no round trip for the id and can be
+     * JDBC batched, which IDENTITY columns rule out.
+     */
+    public static final String ID_SEQUENCE = "entity_id_seq";
+    public static final int ID_ALLOCATION = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_id")
+    @SequenceGenerator(name = "entity_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION)
     @Column(name = "id", unique = true, nullable = false)
     private ID id;
 
@@ -0,0 +1,26 @@
+package com.spring.nuqta.base.Repo;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keyset pages for repositories of {@code BaseEntity} types; the table needs a composite index on
+ * {@code (created_date, id)}.
+ */
+@NoRepositoryBean
+public interface KeysetRepo<T, ID extends Number> extends Repository<T, ID> {
+
+    /**
+     * The rows strictly before {@code (createdDate, id)}, newest first.
+     */
+    @Query("SELECT e FROM #{#entityName} e " +
+            "WHERE (e.createdDate, e.id) < (:createdDate, :id) " +
+            "ORDER BY e.createdDate DESC, e.id DESC")
+    List<T> findPage(@Param("createdDate") LocalDate createdDate, @Param("id") ID id, Limit limit);
+}
@@ -1,19 +1,33 @@
 package com.spring.nuqta.base.Services;
 
 import com.spring.nuqta.base.Repo.BaseRepo;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @MappedSuperclass
 public abstract class BaseServices<T, ID extends Number> implements Serializable {
 
+    /**
+     * Rows per round of the bulk operations: ten JDBC batches of hibernate.jdbc.batch_size, and well
+     * under the bind parameter limit of an {@code IN} list.
+     */
+    public static final int BULK_CHUNK = 500;
+
     @Autowired
     private BaseRepo<T, ID> baseRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /*
      * @return
      */
@@ -79,13 +93,89 @@ public abstract class BaseServices<T, ID extends Number> implements Serializable
         baseRepo.deleteById(id);
     }
 
-    /*
+    /**
+     * Inserts the entities in chunks of {@link #BULK_CHUNK}. Each chunk is flushed as JDBC batches and then
+     * cleared from the persistence context, so memory does not grow with the list.
+     *
+     * @return the saved entities, detached
+     */
+    @Transactional
+    public List<T> insertAll(List<T> entities) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (List<T> chunk : chunks(entities)) {
+            List<T> inserted = baseRepo.saveAll(chunk);
+            baseRepo.flush();
+            entityManager.clear();
+            saved.addAll(inserted);
+            afterBulkWrite(ids(inserted));
+        }
+        return saved;
+    }
+
+    /**
+     * Updates existing entities in chunks of {@link #BULK_CHUNK}. The rows of a chunk are loaded with one
+     * {@code IN} query so the merges need no SELECT each, and the changed rows are flushed as JDBC batches.
+     *
+     * @return the merged entities, detached
+     */
+    @Transactional
+    public List<T> updateAll(List<T> entities) {
+        List<T> merged = new ArrayList<>(entities.size());
+        for (List<T> chunk : chunks(entities)) {
+            List<ID> ids = ids(chunk);
+            baseRepo.findAllById(ids);
+            List<T> updated = baseRepo.saveAll(chunk);
+            baseRepo.flush();
+            entityManager.clear();
+            merged.addAll(updated);
+            afterBulkWrite(ids);
+        }
+        return merged;
+    }
+
+    /**
+     * Deletes the rows with one {@code DELETE ... WHERE id IN (...)} per chunk of {@link #BULK_CHUNK} ids.
+     * Entity cascades do not apply to a set-based delete; {@link #deleteDependents} removes the rows
+     * that reference the chunk first.
+     *
      * @param ids
      */
+    @Transactional
     public void deleteAll(List<ID> ids) {
-        ids.forEach(id -> {
-            baseRepo.deleteById(id);
-        });
+        baseRepo.flush();
+        for (List<ID> chunk : chunks(ids.stream().distinct().toList())) {
+            deleteDependents(chunk);
+            baseRepo.deleteAllByIdInBatch(chunk);
+            afterBulkWrite(chunk);
+        }
+        entityManager.clear();
+    }
+
+    /**
+     * Deletes or unlinks the rows referencing {@code ids} before {@link #deleteAll} deletes them.
+     */
+    protected void deleteDependents(List<ID> ids) {
+    }
+
+    /**
+     * Called after each chunk written by {@link #insertAll}, {@link #updateAll} or {@link #deleteAll};
+     * evicts the cached entries holding those rows.
+     */
+    protected void afterBulkWrite(List<ID> ids) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ID> ids(List<T> entities) {
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        return entities.stream().map(entity -> (ID) util.getIdentifier(entity)).toList();
+    }
+
+    private static <E> List<List<E>> chunks(List<E> list) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += BULK_CHUNK) {
+            chunks.add(list.subList(from, Math.min(from + BULK_CHUNK, list.size())));
+        }
+        return chunks;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.spring.nuqta.base.Services;
+
+import com.spring.nuqta.exception.GlobalException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Argument checks shared by the coordinate based "nearest" searches.
+ */
+public final class GeoSearch {
+
+    public static final double MAX_RADIUS_METERS = 100_000;
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private GeoSearch() {
+    }
+
+    public static void validatePoint(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null
+                || latitude < -90 || latitude > 90
+                || longitude < -180 || longitude > 180) {
+            throw new GlobalException("error.location.invalidCoordinates", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static double radius(Double radius) {
+        if (radius == null || radius <= 0 || radius > MAX_RADIUS_METERS) {
+            throw new GlobalException("error.location.invalidRadius", HttpStatus.BAD_REQUEST);
+        }
+        return radius;
+    }
+
+    public static int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
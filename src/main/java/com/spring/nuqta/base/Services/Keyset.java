@@ -0,0 +1,83 @@
+package com.spring.nuqta.base.Services;
+
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.base.Entity.BaseEntity;
+import com.spring.nuqta.exception.GlobalException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination on {@code (created_date, id)}, newest first.
+ * <p>
+ * A page query asks for the rows strictly before the cursor and one row more than the page size; the
+ * extra row only tells whether there is a next page. Unlike an offset, the cursor costs the same index
+ * seek on every page and does not skip or repeat rows when new ones are inserted meanwhile.
+ * The cursor is the opaque Base64 of {@code <created_date>:<id>} of the last row of the page.
+ */
+public final class Keyset {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Sorts after every row, so "before the first cursor" is the whole table.
+     */
+    public static final Cursor FIRST = new Cursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    private Keyset() {
+    }
+
+    public record Cursor(LocalDate createdDate, Long id) {
+
+        public boolean isFirst() {
+            return FIRST.equals(this);
+        }
+    }
+
+    /**
+     * @return the decoded cursor, or {@link #FIRST} for a missing one
+     * @throws GlobalException {@code BAD_REQUEST} when the cursor was not produced by {@link #encode}
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = decoded.lastIndexOf(':');
+            return new Cursor(LocalDate.parse(decoded.substring(0, split)), Long.parseLong(decoded.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new GlobalException("error.cursor.invalid", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static String encode(BaseEntity<Long> row) {
+        String raw = row.getCreatedDate() + ":" + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int limit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * @param rows  the result of a page query for {@code limit + 1} rows
+     * @param limit the page size
+     */
+    public static <E extends BaseEntity<Long>, D> CursorPageDto<D> page(List<E> rows, int limit,
+                                                                        Function<List<E>, List<D>> mapper) {
+        boolean more = rows.size() > limit;
+        List<E> page = more ? rows.subList(0, limit) : rows;
+        String next = more ? encode(page.get(page.size() - 1)) : null;
+        return new CursorPageDto<>(new ArrayList<>(mapper.apply(page)), next);
+    }
+}
@@ -0,0 +1,28 @@
+package com.spring.nuqta.base.Services;
+
+import com.spring.nuqta.base.Repo.KeysetRepo;
+import jakarta.persistence.MappedSuperclass;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * {@link BaseServices} of an entity whose repository is also a {@link KeysetRepo}, i.e. one that can be read
+ * in {@link Keyset} pages. The cursor ids are {@code Long}, like the ids of {@code BaseEntity}.
+ */
+@MappedSuperclass
+public abstract class KeysetServices<T> extends BaseServices<T, Long> {
+
+    @Autowired
+    private KeysetRepo<T, Long> keysetRepo;
+
+    /*
+     * @param cursor
+     * @param limit  page size; one more row is read to detect the next page
+     * @return
+     */
+    public List<T> findPage(Keyset.Cursor cursor, int limit) {
+        return keysetRepo.findPage(cursor.createdDate(), cursor.id(), Limit.of(limit + 1));
+    }
+}
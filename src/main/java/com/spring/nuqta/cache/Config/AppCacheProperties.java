@@ -0,0 +1,88 @@
+package com.spring.nuqta.cache.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Every {@code cache.*} setting of the cache stack. The Redis connection, key prefix and default TTL stay
+ * in the usual {@code spring.cache.redis.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class AppCacheProperties {
+
+    private Codec codec = new Codec();
+    private Local local = new Local();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Invalidation invalidation = new Invalidation();
+    private RefreshAhead refreshAhead = new RefreshAhead();
+    private Warm warm = new Warm();
+    /**
+     * Per-region overrides, keyed by the names in {@link CacheRegions}.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Codec {
+        /**
+         * smile (Smile + LZ4 above the threshold), json or jdk.
+         */
+        private String type = "smile";
+        private int compressionThreshold = 512;
+    }
+
+    @Data
+    public static class Local {
+        private long maximumSize = 1000;
+        private Duration expireAfterWrite = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class SingleFlight {
+        private boolean redisLock;
+        private Duration lockTtl = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Invalidation {
+        private int stormThreshold = 100;
+    }
+
+    @Data
+    public static class RefreshAhead {
+        private boolean enabled = true;
+        /**
+         * Share of the region TTL after which a read triggers a background reload.
+         */
+        private double fraction = 0.8;
+        private int poolSize = 2;
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Warm {
+        private boolean enabled = true;
+        /**
+         * Number of cities, busiest first, whose requests and donations are preloaded.
+         */
+        private int cities = 20;
+    }
+
+    /**
+     * Unset values fall back to {@code spring.cache.redis.time-to-live} and {@code cache.local.*}.
+     */
+    @Data
+    public static class Region {
+        private Duration ttl;
+        private Long localMaximumSize;
+        private Duration localExpireAfterWrite;
+    }
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+}
@@ -0,0 +1,234 @@
+package com.spring.nuqta.cache.Config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spring.nuqta.cache.Services.CacheInvalidationBus;
+import com.spring.nuqta.cache.Services.CacheLoadLock;
+import com.spring.nuqta.cache.Services.CacheTagIndex;
+import com.spring.nuqta.cache.Services.InstrumentedCacheManager;
+import com.spring.nuqta.cache.Services.MethodKeyGenerator;
+import com.spring.nuqta.cache.Services.RefreshAheadCacheManager;
+import com.spring.nuqta.cache.Services.SingleFlightCacheManager;
+import com.spring.nuqta.cache.Services.SmileLz4RedisSerializer;
+import com.spring.nuqta.cache.Services.TaggingCacheManager;
+import com.spring.nuqta.cache.Services.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Cache stack, from the outside in:
+ * <ol>
+ *     <li>{@link InstrumentedCacheManager}: per-cache hit/miss/put/eviction/load metrics.</li>
+ *     <li>{@link SingleFlightCacheManager}: one load per missing key per node, and per cluster with
+ *     {@code cache.single-flight.redis-lock=true}.</li>
+ *     <li>{@link RefreshAheadCacheManager}: background reload of entries read after
+ *     {@code cache.refresh-ahead.fraction} of their TTL (off with {@code cache.refresh-ahead.enabled=false}).</li>
+ *     <li>{@link TaggingCacheManager}: tags every entry with the entities it contains.</li>
+ *     <li>{@link TwoLevelCacheManager}: per-node Caffeine L1 ({@code cache.local.*}), invalidated on all
+ *     nodes through Redis pub/sub.</li>
+ *     <li>Redis L2 built from the usual {@code spring.cache.redis.*} properties, values encoded by the
+ *     codec selected with {@code cache.codec.type} ({@code smile} by default, see {@link SmileLz4RedisSerializer}).</li>
+ * </ol>
+ * Only the regions listed in {@link CacheRegions} exist; each one can override the TTL and L1 bounds with
+ * {@code cache.regions.<name>.*}. Keys are built by {@link MethodKeyGenerator} unless a {@code key} is given.
+ */
+@Configuration
+@EnableConfigurationProperties({CacheProperties.class, AppCacheProperties.class})
+public class CacheConfig implements CachingConfigurer {
+
+    public static final String CACHE_REFRESH_EXECUTOR = "cacheRefreshExecutor";
+
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    // Tag sets outlive their entries slightly so a late write still finds them
+    private static final Duration TAG_TTL_MARGIN = Duration.ofMinutes(1);
+
+    @Bean
+    public CacheTagIndex cacheTagIndex(StringRedisTemplate redisTemplate, CacheProperties cacheProperties,
+                                       AppCacheProperties appCacheProperties) {
+        Duration longestTtl = CacheRegions.ALL.stream()
+                .map(name -> regionTtl(cacheProperties, appCacheProperties, name))
+                .max(Duration::compareTo)
+                .orElseGet(() -> entryTtl(cacheProperties));
+        return new CacheTagIndex(redisTemplate, longestTtl.plus(TAG_TTL_MARGIN));
+    }
+
+    @Override
+    public KeyGenerator keyGenerator() {
+        return new MethodKeyGenerator();
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationBus(redisTemplate);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer(ResourceLoader resourceLoader,
+                                                        AppCacheProperties appCacheProperties) {
+        String codec = appCacheProperties.getCodec().getType();
+        return switch (codec) {
+            case "smile" -> new SmileLz4RedisSerializer(appCacheProperties.getCodec().getCompressionThreshold());
+            case "json" -> jsonSerializer();
+            case "jdk" -> new JdkSerializationRedisSerializer(resourceLoader.getClassLoader());
+            default -> throw new IllegalStateException(
+                    "Unknown cache.codec.type '" + codec + "', expected smile, json or jdk");
+        };
+    }
+
+    /**
+     * Runs refresh-ahead reloads. When the queue is full the reload is skipped: the entry simply expires
+     * and is loaded on the next miss.
+     */
+    @Bean(name = CACHE_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(AppCacheProperties appCacheProperties) {
+        AppCacheProperties.RefreshAhead refreshAhead = appCacheProperties.getRefreshAhead();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refreshAhead.getPoolSize());
+        executor.setMaxPoolSize(refreshAhead.getPoolSize());
+        executor.setQueueCapacity(refreshAhead.getQueueCapacity());
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public InstrumentedCacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheProperties cacheProperties,
+                                                 CacheTagIndex cacheTagIndex,
+                                                 CacheInvalidationBus cacheInvalidationBus,
+                                                 RedisSerializer<Object> cacheValueSerializer,
+                                                 MeterRegistry meterRegistry,
+                                                 StringRedisTemplate redisTemplate,
+                                                 AppCacheProperties appCacheProperties,
+                                                 @Qualifier(CACHE_REFRESH_EXECUTOR) ThreadPoolTaskExecutor refreshExecutor) {
+        checkRegions(appCacheProperties);
+        RedisCacheConfiguration defaults = redisCacheConfiguration(cacheProperties, cacheValueSerializer);
+        Map<String, RedisCacheConfiguration> regions = new LinkedHashMap<>();
+        for (String name : CacheRegions.ALL) {
+            regions.put(name, defaults.entryTtl(regionTtl(cacheProperties, appCacheProperties, name)));
+        }
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(regions)
+                .disableCreateOnMissingCache();
+        if (cacheProperties.getRedis().isEnableStatistics()) {
+            builder.enableStatistics();
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+        TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(redisCacheManager, cacheInvalidationBus,
+                name -> localSpec(cacheProperties, appCacheProperties, name));
+        CacheManager cacheManager = new TaggingCacheManager(twoLevelCacheManager, cacheTagIndex);
+        AppCacheProperties.RefreshAhead refreshAhead = appCacheProperties.getRefreshAhead();
+        if (refreshAhead.isEnabled()) {
+            cacheManager = new RefreshAheadCacheManager(cacheManager,
+                    name -> regionTtl(cacheProperties, appCacheProperties, name),
+                    refreshAhead.getFraction(), refreshExecutor, cacheInvalidationBus);
+        }
+        AppCacheProperties.SingleFlight singleFlight = appCacheProperties.getSingleFlight();
+        CacheLoadLock loadLock = singleFlight.isRedisLock()
+                ? new CacheLoadLock(redisTemplate, singleFlight.getLockTtl())
+                : null;
+        return new InstrumentedCacheManager(new SingleFlightCacheManager(cacheManager, loadLock), meterRegistry);
+    }
+
+    static RedisCacheConfiguration redisCacheConfiguration(CacheProperties cacheProperties,
+                                                           RedisSerializer<Object> valueSerializer) {
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
+                .entryTtl(entryTtl(cacheProperties));
+        if (redis.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redis.getKeyPrefix());
+        }
+        if (!redis.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redis.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+
+    /**
+     * JSON with type hints, plus the {@code java.time} support the DTOs need.
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private static Duration entryTtl(CacheProperties cacheProperties) {
+        Duration ttl = cacheProperties.getRedis().getTimeToLive();
+        return ttl != null ? ttl : DEFAULT_TTL;
+    }
+
+    static Duration regionTtl(CacheProperties cacheProperties, AppCacheProperties appCacheProperties, String name) {
+        Duration ttl = appCacheProperties.region(name).getTtl();
+        return ttl != null ? ttl : entryTtl(cacheProperties);
+    }
+
+    /**
+     * L1 bounds of a region; the L1 never keeps an entry longer than the region's Redis TTL.
+     */
+    static TwoLevelCacheManager.LocalSpec localSpec(CacheProperties cacheProperties,
+                                                    AppCacheProperties appCacheProperties, String name) {
+        AppCacheProperties.Region region = appCacheProperties.region(name);
+        AppCacheProperties.Local local = appCacheProperties.getLocal();
+        long maximumSize = region.getLocalMaximumSize() != null
+                ? region.getLocalMaximumSize()
+                : local.getMaximumSize();
+        Duration expireAfterWrite = region.getLocalExpireAfterWrite() != null
+                ? region.getLocalExpireAfterWrite()
+                : local.getExpireAfterWrite();
+        Duration ttl = regionTtl(cacheProperties, appCacheProperties, name);
+        return new TwoLevelCacheManager.LocalSpec(maximumSize,
+                expireAfterWrite.compareTo(ttl) < 0 ? expireAfterWrite : ttl);
+    }
+
+    private static void checkRegions(AppCacheProperties appCacheProperties) {
+        for (String name : appCacheProperties.getRegions().keySet()) {
+            if (!CacheRegions.ALL.contains(name)) {
+                throw new IllegalStateException(
+                        "Unknown cache region 'cache.regions." + name + "', expected one of " + CacheRegions.ALL);
+            }
+        }
+    }
+}
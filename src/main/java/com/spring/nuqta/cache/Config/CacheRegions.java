@@ -0,0 +1,36 @@
+package com.spring.nuqta.cache.Config;
+
+import java.util.List;
+
+/**
+ * Cache names: one region per query shape, so different methods never share a key space and each region
+ * gets its own TTL and L1 size ({@code cache.regions.<name>.*}, see {@link AppCacheProperties}).
+ */
+public final class CacheRegions {
+
+    public static final String REQUEST_BY_ID = "request-by-id";
+    public static final String REQUEST_PAGE = "request-page";
+    public static final String REQUEST_BY_CITY = "request-by-city";
+    public static final String REQUEST_BY_CONSERVATISM = "request-by-conservatism";
+    public static final String DONATION_BY_ID = "donation-by-id";
+    public static final String DONATION_TOP_CITY = "donation-top-city";
+    public static final String DONATION_TOP_CONSERVATISM = "donation-top-conservatism";
+    public static final String USER_BY_ID = "user-by-id";
+    public static final String USER_PAGE = "user-page";
+    public static final String ORG_BY_ID = "org-by-id";
+    public static final String ORG_PAGE = "org-page";
+    /**
+     * Short-lived "not found" results of all the regions above, see {@code NotFoundCache}.
+     */
+    public static final String NOT_FOUND = "not-found";
+
+    public static final List<String> ALL = List.of(
+            REQUEST_BY_ID, REQUEST_PAGE, REQUEST_BY_CITY, REQUEST_BY_CONSERVATISM,
+            DONATION_BY_ID, DONATION_TOP_CITY, DONATION_TOP_CONSERVATISM,
+            USER_BY_ID, USER_PAGE,
+            ORG_BY_ID, ORG_PAGE,
+            NOT_FOUND);
+
+    private CacheRegions() {
+    }
+}
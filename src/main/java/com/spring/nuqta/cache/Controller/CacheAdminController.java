@@ -0,0 +1,51 @@
+package com.spring.nuqta.cache.Controller;
+
+import com.spring.nuqta.cache.Dto.CacheReportDto;
+import com.spring.nuqta.cache.Services.CacheInspector;
+import com.spring.nuqta.exception.GlobalException;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Cache report for tuning TTLs. There is no admin role, so on top of the usual authentication the caller
+ * must send the {@code admin.api-token} in {@code X-Admin-Token}; without a configured token the
+ * endpoint is closed.
+ */
+@Tag(name = "Cache admin", description = "Cache inspection for operators")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheAdminController {
+
+    private final CacheInspector cacheInspector;
+
+    @Value("${admin.api-token:}")
+    private String adminToken;
+
+    @GetMapping("")
+    public ResponseEntity<List<CacheReportDto>> getCacheReport(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!authorized(token)) {
+            throw new GlobalException("error.admin.forbidden", HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(cacheInspector.report());
+    }
+
+    private boolean authorized(String token) {
+        if (adminToken == null || adminToken.isBlank() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
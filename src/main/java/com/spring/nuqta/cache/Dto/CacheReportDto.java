@@ -0,0 +1,36 @@
+package com.spring.nuqta.cache.Dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "State and effectiveness of one cache")
+public class CacheReportDto {
+
+    @Schema(description = "Cache name", example = "request-by-id")
+    private String name;
+
+    @Schema(description = "Entries currently stored in Redis", example = "42")
+    private long keys;
+
+    @Schema(description = "Estimated Redis memory used by the entries, in bytes", example = "183500")
+    private long memoryBytes;
+
+    @Schema(description = "Reads that found a value since startup on this node", example = "900")
+    private long hits;
+
+    @Schema(description = "Reads that found nothing since startup on this node", example = "100")
+    private long misses;
+
+    @Schema(description = "hits / (hits + misses), 0 without reads", example = "0.9")
+    private double hitRatio;
+
+    @Schema(description = "Most read keys on this node with their read counts")
+    private Map<String, Long> hottestKeys;
+}
@@ -0,0 +1,23 @@
+package com.spring.nuqta.cache.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A cached "not found": the message of the original {@code 404} and the tags whose invalidation must
+ * drop it (see {@code NotFoundCache}).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotFoundDto implements Serializable {
+
+    private String message;
+
+    private List<String> tags = new ArrayList<>();
+}
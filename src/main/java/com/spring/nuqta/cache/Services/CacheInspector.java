@@ -0,0 +1,84 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Dto.CacheReportDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the cache report: key count and memory from Redis, hit/miss counts and hottest keys from the
+ * {@link InstrumentedCache} of this node.
+ * <p>
+ * Keys are counted with SCAN, never KEYS, and memory is estimated from {@code MEMORY USAGE} of the
+ * first {@value #MEMORY_SAMPLE} keys of each cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheInspector {
+
+    static final int MEMORY_SAMPLE = 100;
+    private static final int HOTTEST_KEYS = 10;
+    private static final int SCAN_COUNT = 500;
+    private static final byte[] USAGE = "USAGE".getBytes(StandardCharsets.UTF_8);
+
+    private final InstrumentedCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final CacheProperties cacheProperties;
+
+    public List<CacheReportDto> report() {
+        List<CacheReportDto> reports = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            InstrumentedCache cache = cacheManager.getInstrumentedCache(name);
+            if (cache == null) {
+                continue;
+            }
+            long[] usage = redisTemplate.execute((RedisCallback<long[]>) connection -> scan(connection, name));
+            long hits = cache.hitCount();
+            long misses = cache.missCount();
+            double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+            reports.add(new CacheReportDto(name, usage[0], usage[1], hits, misses, hitRatio,
+                    cache.hottestKeys(HOTTEST_KEYS)));
+        }
+        return reports;
+    }
+
+    /**
+     * @return key count and estimated memory in bytes.
+     */
+    private long[] scan(RedisConnection connection, String name) {
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix(name) + "*").count(SCAN_COUNT).build();
+        long keys = 0;
+        long sampledBytes = 0;
+        int sampled = 0;
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                byte[] key = cursor.next();
+                keys++;
+                if (sampled < MEMORY_SAMPLE && connection.execute("MEMORY", USAGE, key) instanceof Long bytes) {
+                    sampledBytes += bytes;
+                    sampled++;
+                }
+            }
+        }
+        long memory = sampled == 0 ? 0 : sampledBytes * keys / sampled;
+        return new long[]{keys, memory};
+    }
+
+    private String keyPrefix(String name) {
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        if (!redis.isUseKeyPrefix()) {
+            return "";
+        }
+        String prefix = redis.getKeyPrefix() != null ? redis.getKeyPrefix() : "";
+        return prefix + name + "::";
+    }
+}
@@ -0,0 +1,78 @@
+package com.spring.nuqta.cache.Services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcasts L1 invalidations to every node over Redis pub/sub.
+ * <p>
+ * Messages are {@code <node>|<E|C>|<cache>|<key>}: {@code E} drops one key, {@code C} clears the cache.
+ * A node ignores its own messages because it already updated its L1 before publishing. Every subscribed
+ * listener receives each message; per-node in-memory indexes use the same channel under their own name.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "cache-invalidation";
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(EVICT, cacheName, key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(CLEAR, cacheName, "");
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.join("|", nodeId, op, cacheName, key));
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the L1 expiry
+            log.warn("Could not publish cache invalidation for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            if (CLEAR.equals(parts[1])) {
+                listener.onClear(parts[2]);
+            } else if (EVICT.equals(parts[1])) {
+                listener.onEvict(parts[2], parts[3]);
+            }
+        }
+    }
+
+    public interface Listener {
+
+        void onEvict(String cacheName, String key);
+
+        void onClear(String cacheName);
+    }
+}
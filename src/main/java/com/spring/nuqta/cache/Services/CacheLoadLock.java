@@ -0,0 +1,63 @@
+package com.spring.nuqta.cache.Services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis lock that lets one node load a missing cache entry while the other nodes wait for it.
+ * The lock expires on its own after {@code ttl}, so a crashed loader only delays the others.
+ */
+@Slf4j
+public class CacheLoadLock {
+
+    static final String LOCK_PREFIX = "cache-lock::";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public CacheLoadLock(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    /**
+     * @return the owner token, or null when another node holds the lock.
+     */
+    public String tryAcquire(String cacheName, String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, ttl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException e) {
+            // Without Redis there is nothing to coordinate; load locally
+            log.warn("Could not take cache load lock for {}::{}: {}", cacheName, key, e.getMessage());
+            return token;
+        }
+    }
+
+    public void release(String cacheName, String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(lockKey(cacheName, key)), token);
+        } catch (RuntimeException e) {
+            log.warn("Could not release cache load lock for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private static String lockKey(String cacheName, String key) {
+        return LOCK_PREFIX + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,89 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index from invalidation tag to the cache entries carrying it, kept in Redis so it is shared by
+ * every node. Each tag is a set under {@code cache-tag::<tag>} whose members are {@code <cache>::<key>}.
+ * <p>
+ * Tag sets expire a little after the entries they point to. A member whose entry already expired is
+ * harmless: evicting it is a no-op.
+ */
+public class CacheTagIndex {
+
+    static final String TAG_PREFIX = "cache-tag::";
+    static final String SEPARATOR = "::";
+
+    private static final RedisScript<List<String>> DRAIN = new DefaultRedisScript<>(
+            "local members = redis.call('SMEMBERS', KEYS[1]) redis.call('DEL', KEYS[1]) return members",
+            stringList());
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlSeconds;
+
+    public CacheTagIndex(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = Math.max(ttl.toSeconds(), 1);
+    }
+
+    /**
+     * Records that the entry {@code key} of {@code cacheName} carries the given tags.
+     */
+    public void record(String cacheName, Object key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        String member = cacheName + SEPARATOR + key;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String tag : tags) {
+                redis.sAdd(TAG_PREFIX + tag, member);
+                redis.expire(TAG_PREFIX + tag, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Atomically removes the given tags and returns the entries they pointed to, grouped by cache name.
+     */
+    public Map<String, Set<String>> drain(Collection<String> tags) throws DataAccessException {
+        Map<String, Set<String>> keysByCache = new HashMap<>();
+        for (String tag : tags) {
+            List<String> members = redisTemplate.execute(DRAIN, List.of(TAG_PREFIX + tag));
+            if (members == null) {
+                continue;
+            }
+            for (String member : members) {
+                int split = member.indexOf(SEPARATOR);
+                if (split > 0) {
+                    keysByCache.computeIfAbsent(member.substring(0, split), name -> new HashSet<>())
+                            .add(member.substring(split + SEPARATOR.length()));
+                }
+            }
+        }
+        return keysByCache;
+    }
+
+    /**
+     * The result type of {@link #DRAIN}. A class literal cannot carry type arguments, and the SMEMBERS
+     * reply of a {@link StringRedisTemplate} is always a list of strings, so the cast is safe.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Class<List<String>> stringList() {
+        return (Class) List.class;
+    }
+}
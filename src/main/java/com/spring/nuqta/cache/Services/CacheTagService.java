@@ -0,0 +1,94 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.AppCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Evicts exactly the cache entries that contain a changed entity, instead of flushing whole caches.
+ * <p>
+ * Inside a transaction the eviction runs after commit, so a concurrent reader cannot put the old state
+ * back into the cache between the eviction and the commit.
+ * <p>
+ * Metrics: {@code cache.invalidation.keys} (entries evicted per invalidation) and
+ * {@code cache.invalidation.storms} (invalidations that evicted at least
+ * {@code cache.invalidation.storm-threshold} entries).
+ */
+@Slf4j
+@Service
+public class CacheTagService {
+
+    private final CacheManager cacheManager;
+    private final CacheTagIndex tagIndex;
+    private final int stormThreshold;
+    private final DistributionSummary evictedKeys;
+    private final Counter storms;
+
+    public CacheTagService(CacheManager cacheManager, CacheTagIndex tagIndex, MeterRegistry meterRegistry,
+                           AppCacheProperties cacheProperties) {
+        this.cacheManager = cacheManager;
+        this.tagIndex = tagIndex;
+        this.stormThreshold = cacheProperties.getInvalidation().getStormThreshold();
+        this.evictedKeys = DistributionSummary.builder("cache.invalidation.keys")
+                .description("Cache entries evicted by one tag invalidation")
+                .register(meterRegistry);
+        this.storms = Counter.builder("cache.invalidation.storms")
+                .description("Tag invalidations that evicted a large part of a cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Evicts every entry carrying one of the given tags; null tags are ignored.
+     */
+    public void invalidate(String... tags) {
+        List<String> distinct = Arrays.stream(tags).filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(distinct);
+                }
+            });
+        } else {
+            evict(distinct);
+        }
+    }
+
+    private void evict(List<String> tags) {
+        try {
+            Map<String, Set<String>> keysByCache = tagIndex.drain(tags);
+            int evicted = 0;
+            for (Map.Entry<String, Set<String>> entry : keysByCache.entrySet()) {
+                Cache cache = cacheManager.getCache(entry.getKey());
+                if (cache != null) {
+                    entry.getValue().forEach(cache::evict);
+                    evicted += entry.getValue().size();
+                }
+            }
+            evictedKeys.record(evicted);
+            if (evicted >= stormThreshold) {
+                storms.increment();
+                log.warn("Tags {} evicted {} cache entries", tags, evicted);
+            }
+            log.debug("Tags {} evicted {}", tags, keysByCache);
+        } catch (RuntimeException e) {
+            log.error("Failed to invalidate cache tags {}", tags, e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.base.Dto.BaseDto;
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.cache.Dto.NotFoundDto;
+import com.spring.nuqta.donation.Dto.DonDto;
+import com.spring.nuqta.donation.Dto.DonResponseDto;
+import com.spring.nuqta.donation.Dto.DonResponseReqDto;
+import com.spring.nuqta.donation.Dto.DonResponseUserDto;
+import com.spring.nuqta.donation.Dto.DonResponseUserUpdateDto;
+import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.organization.Dto.OrgDto;
+import com.spring.nuqta.organization.Dto.OrgRequestReqDto;
+import com.spring.nuqta.organization.Entity.OrgEntity;
+import com.spring.nuqta.request.Dto.AddReqDto;
+import com.spring.nuqta.request.Dto.ReqDto;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import com.spring.nuqta.usermanagement.Dto.UserDto;
+import com.spring.nuqta.usermanagement.Dto.UserResponseToDonDto;
+import com.spring.nuqta.usermanagement.Dto.UserResponseToReqDto;
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import org.hibernate.Hibernate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Names the invalidation tags of cached values.
+ * <ul>
+ *     <li>{@code request:42}, {@code donation:7}, ...: the value contains that entity somewhere in its graph.</li>
+ *     <li>{@code request:list}, ...: the value is a list (or a {@link CursorPageDto} page) of that entity
+ *     type, so creating or deleting an entity of the type (or moving it to another city) can change its
+ *     membership.</li>
+ *     <li>A {@link NotFoundDto} carries its own tags.</li>
+ * </ul>
+ * Tags are computed by walking the cached value: the DTOs the read services cache, or entities, where
+ * lazy associations that were never loaded are not part of the cached value and are skipped.
+ */
+public final class CacheTags {
+
+    public static final String REQUEST_LIST = "request:list";
+    public static final String DONATION_LIST = "donation:list";
+    public static final String USER_LIST = "user:list";
+    public static final String ORG_LIST = "org:list";
+
+    private CacheTags() {
+    }
+
+    public static String request(Long id) {
+        return id == null ? null : "request:" + id;
+    }
+
+    public static String donation(Long id) {
+        return id == null ? null : "donation:" + id;
+    }
+
+    public static String user(Long id) {
+        return id == null ? null : "user:" + id;
+    }
+
+    public static String org(Long id) {
+        return id == null ? null : "org:" + id;
+    }
+
+    /**
+     * @return every tag of the given cached value, empty for values that hold no tracked entity.
+     */
+    public static Set<String> of(Object value) {
+        if (value == null) {
+            return Collections.emptySet();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (value instanceof CursorPageDto<?> page) {
+            value = page.getItems();
+        }
+        if (value instanceof Collection<?> collection) {
+            for (Object element : collection) {
+                addListTag(element, tags);
+                walk(element, tags, visited);
+            }
+        } else {
+            walk(value, tags, visited);
+        }
+        return tags;
+    }
+
+    private static void addListTag(Object element, Set<String> tags) {
+        if (element instanceof ReqEntity || element instanceof ReqDto || element instanceof AddReqDto) {
+            tags.add(REQUEST_LIST);
+        } else if (element instanceof DonEntity || element instanceof DonDto || element instanceof DonResponseDto) {
+            tags.add(DONATION_LIST);
+        } else if (element instanceof UserEntity || element instanceof UserDto) {
+            tags.add(USER_LIST);
+        } else if (element instanceof OrgEntity || element instanceof OrgDto) {
+            tags.add(ORG_LIST);
+        }
+    }
+
+    private static void walk(Object value, Set<String> tags, Set<Object> visited) {
+        if (value == null || !Hibernate.isInitialized(value) || !visited.add(value)) {
+            return;
+        }
+        if (value instanceof ReqEntity request) {
+            add(tags, request(request.getId()));
+            walk(request.getUser(), tags, visited);
+            walk(request.getOrganization(), tags, visited);
+            walkAll(request.getDonations(), tags, visited);
+        } else if (value instanceof DonEntity donation) {
+            add(tags, donation(donation.getId()));
+            walk(donation.getUser(), tags, visited);
+            walkAll(donation.getAcceptedRequests(), tags, visited);
+        } else if (value instanceof UserEntity user) {
+            add(tags, user(user.getId()));
+            walk(user.getDonation(), tags, visited);
+            walkAll(user.getUploadedRequests(), tags, visited);
+        } else if (value instanceof OrgEntity org) {
+            add(tags, org(org.getId()));
+            walkAll(org.getUploadedRequests(), tags, visited);
+        } else if (value instanceof BaseDto<?> dto) {
+            walkDto(dto, tags, visited);
+        } else if (value instanceof NotFoundDto notFound) {
+            notFound.getTags().forEach(tag -> add(tags, tag));
+        }
+    }
+
+    private static void walkDto(BaseDto<?> value, Set<String> tags, Set<Object> visited) {
+        if (value instanceof ReqDto request) {
+            add(tags, request(request.getId()));
+            walk(request.getUser(), tags, visited);
+            walk(request.getOrganization(), tags, visited);
+            walkAll(request.getDonations(), tags, visited);
+        } else if (value instanceof AddReqDto request) {
+            add(tags, request(request.getId()));
+            add(tags, user(request.getUserId()));
+            add(tags, org(request.getOrgId()));
+        } else if (value instanceof DonDto donation) {
+            add(tags, donation(donation.getId()));
+            walk(donation.getUser(), tags, visited);
+            walkAll(donation.getAcceptedRequests(), tags, visited);
+        } else if (value instanceof DonResponseDto donation) {
+            add(tags, donation(donation.getId()));
+            walk(donation.getUser(), tags, visited);
+            walkAll(donation.getAcceptedRequests(), tags, visited);
+        } else if (value instanceof DonResponseReqDto donation) {
+            add(tags, donation(donation.getId()));
+            walk(donation.getUser(), tags, visited);
+        } else if (value instanceof DonResponseUserDto donation) {
+            add(tags, donation(donation.getId()));
+            walkAll(donation.getAcceptedRequests(), tags, visited);
+        } else if (value instanceof DonResponseUserUpdateDto donation) {
+            add(tags, donation(donation.getId()));
+        } else if (value instanceof UserDto user) {
+            add(tags, user(user.getId()));
+            walk(user.getDonation(), tags, visited);
+            walkAll(user.getUploadedRequests(), tags, visited);
+        } else if (value instanceof UserResponseToReqDto user) {
+            add(tags, user(user.getId()));
+        } else if (value instanceof UserResponseToDonDto user) {
+            add(tags, user(user.getId()));
+        } else if (value instanceof OrgDto org) {
+            add(tags, org(org.getId()));
+            walkAll(org.getUploadedRequests(), tags, visited);
+        } else if (value instanceof OrgRequestReqDto org) {
+            add(tags, org(org.getId()));
+        }
+    }
+
+    private static void walkAll(Collection<?> values, Set<String> tags, Set<Object> visited) {
+        if (values == null || !Hibernate.isInitialized(values)) {
+            return;
+        }
+        for (Object value : values) {
+            walk(value, tags, visited);
+        }
+    }
+
+    private static void add(Set<String> tags, String tag) {
+        if (tag != null) {
+            tags.add(tag);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.AppCacheProperties;
+import com.spring.nuqta.donation.Services.DonReadService;
+import com.spring.nuqta.organization.Services.OrgReadService;
+import com.spring.nuqta.request.Repo.ReqRepo;
+import com.spring.nuqta.request.Services.ReqReadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Preloads the most requested cache regions on startup so the first users after a deploy or a flush do not
+ * pay for the cold queries: the first page of the request and organization lists, and the first request
+ * page and top donations of the {@code cache.warm.cities} cities with the most open requests.
+ * <p>
+ * Warming goes through the cached read services, so on a node started after another one it mostly reads
+ * Redis into L1. A region that cannot be loaded (no data, database or Redis down) is skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheWarmer {
+
+    private final AppCacheProperties cacheProperties;
+    private final ReqRepo reqRepo;
+    private final ReqReadService reqReadService;
+    private final DonReadService donReadService;
+    private final OrgReadService orgReadService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!cacheProperties.getWarm().isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int warmed = 0;
+        if (load("requests", () -> reqReadService.findPage(null, null))) {
+            warmed++;
+        }
+        if (load("organizations", () -> orgReadService.findPage(null, null))) {
+            warmed++;
+        }
+        List<String> cities = busiestCities();
+        for (String city : cities) {
+            if (load("requests of " + city, () -> reqReadService.getRequestsByCity(city, null, null))) {
+                warmed++;
+            }
+            if (load("donations of " + city, () -> donReadService.findTopCity(city))) {
+                warmed++;
+            }
+        }
+        log.info("Cache warmed with {} entries ({} cities) in {} ms",
+                warmed, cities.size(), System.currentTimeMillis() - start);
+    }
+
+    private List<String> busiestCities() {
+        try {
+            return reqRepo.findBusiestOpenCities(cacheProperties.getWarm().getCities());
+        } catch (RuntimeException e) {
+            log.warn("Could not list cities to warm the cache", e);
+            return List.of();
+        }
+    }
+
+    private boolean load(String what, Runnable loader) {
+        try {
+            loader.run();
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Skipped warming {}: {}", what, e.getMessage());
+            return false;
+        }
+    }
+}
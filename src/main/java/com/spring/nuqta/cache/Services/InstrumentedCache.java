@@ -0,0 +1,166 @@
+package com.spring.nuqta.cache.Services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records per-cache metrics around every operation of the wrapped cache:
+ * <ul>
+ *     <li>{@code cache.gets} with {@code result=hit|miss}, {@code cache.puts}, {@code cache.evictions}.</li>
+ *     <li>{@code cache.clears}: whole-cache flushes, each one an eviction storm for the entries it drops.</li>
+ *     <li>{@code cache.load}: time spent in the value loader on a miss.</li>
+ * </ul>
+ * It also counts reads per key in a small frequency-bounded sketch so the hottest keys can be reported.
+ */
+public class InstrumentedCache implements Cache {
+
+    private static final int TRACKED_KEYS = 1000;
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Counter clears;
+    private final Timer loadTimer;
+    private final com.github.benmanes.caffeine.cache.Cache<String, LongAdder> keyReads = Caffeine.newBuilder()
+            .maximumSize(TRACKED_KEYS)
+            .build();
+
+    public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit")
+                .description("Cache reads that found a value")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss")
+                .description("Cache reads that found nothing")
+                .register(meterRegistry);
+        this.puts = Counter.builder("cache.puts").tag("cache", name)
+                .description("Entries written to the cache")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name)
+                .description("Single entries evicted from the cache")
+                .register(meterRegistry);
+        this.clears = Counter.builder("cache.clears").tag("cache", name)
+                .description("Whole-cache flushes")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("cache.load").tag("cache", name)
+                .description("Time spent loading a missing value")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        recordRead(key, wrapper != null);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        recordRead(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            return loadTimer.recordCallable(valueLoader);
+        });
+        recordRead(key, !loaded.get());
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        if (present) {
+            evictions.increment();
+        }
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clears.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = delegate.invalidate();
+        clears.increment();
+        return present;
+    }
+
+    public long hitCount() {
+        return (long) hits.count();
+    }
+
+    public long missCount() {
+        return (long) misses.count();
+    }
+
+    /**
+     * @return up to {@code limit} keys with the most reads since startup, most read first.
+     */
+    public Map<String, Long> hottestKeys(int limit) {
+        Map<String, Long> hottest = new LinkedHashMap<>();
+        keyReads.asMap().entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> hottest.put(entry.getKey(), entry.getValue()));
+        return hottest;
+    }
+
+    private void recordRead(Object key, boolean hit) {
+        (hit ? hits : misses).increment();
+        keyReads.get(String.valueOf(key), k -> new LongAdder()).increment();
+    }
+}
@@ -0,0 +1,22 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Default cache key: the method name and its arguments, e.g. {@code findById(42)} or {@code findAll()}.
+ * Qualifying by method keeps two methods that ever share a region, or an argument value, from
+ * colliding, and the keys stay readable in Redis, the tag index and the cache report.
+ */
+public class MethodKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return method.getName() + Arrays.stream(params)
+                .map(param -> param instanceof Object[] array ? Arrays.deepToString(array) : String.valueOf(param))
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Dto.NotFoundDto;
+import com.spring.nuqta.exception.GlobalException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Negative caching: remembers for a short while (the TTL of the {@value CacheRegions#NOT_FOUND} region)
+ * that a lookup ended in a {@code 404}, so clients polling a missing id or an empty city do not reach
+ * Postgres on every call. Exceptions are never cached by {@code @Cacheable}, so this runs inside the
+ * cached method, after the positive region missed.
+ * <p>
+ * Each entry carries an invalidation tag, normally the list tag of the entity type
+ * ({@link CacheTags#REQUEST_LIST}, ...), which every create invalidates, so a new entity is visible
+ * right away. Entries are per language because the cached message may already be localized.
+ */
+@Service
+public class NotFoundCache {
+
+    private final CacheManager cacheManager;
+
+    public NotFoundCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @param region the positive region the lookup belongs to
+     * @param tag    invalidating this tag drops the negative entry
+     * @throws GlobalException the cached or the fresh {@code NOT_FOUND}
+     */
+    public <T> T load(String region, Object key, String tag, Supplier<T> loader) throws GlobalException {
+        Cache cache = cacheManager.getCache(CacheRegions.NOT_FOUND);
+        if (cache == null) {
+            return loader.get();
+        }
+        String negativeKey = region + ":" + key + ":" + LocaleContextHolder.getLocale().getLanguage();
+        NotFoundDto cached = get(cache, negativeKey);
+        if (cached != null) {
+            throw new GlobalException(cached.getMessage(), HttpStatus.NOT_FOUND);
+        }
+        try {
+            return loader.get();
+        } catch (GlobalException e) {
+            if (e.getStatus() == HttpStatus.NOT_FOUND) {
+                put(cache, negativeKey, new NotFoundDto(e.getMessage(), new ArrayList<>(List.of(tag))));
+            }
+            throw e;
+        }
+    }
+
+    private static NotFoundDto get(Cache cache, String key) {
+        try {
+            return cache.get(key, NotFoundDto.class);
+        } catch (RuntimeException e) {
+            // Negative caching is an optimization: without Redis, just run the query
+            return null;
+        }
+    }
+
+    private static void put(Cache cache, String key, NotFoundDto value) {
+        try {
+            cache.put(key, value);
+        } catch (RuntimeException ignored) {
+            // See get
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.spring.nuqta.cache.Services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads an entry in the background once it has lived {@code refreshFraction} of its TTL and is read
+ * again, so a hot key is replaced before it expires instead of expiring into a miss.
+ * <p>
+ * The reload reuses the loader of the read that found the entry due, i.e. it runs the same
+ * {@code @Cacheable(sync = true)} method. Only entries written by this node (by a load or a put) are
+ * tracked; an entry loaded by another node is refreshed by that node. At most one reload per key runs at
+ * a time, and a reload whose entry was evicted meanwhile is dropped rather than writing back stale data.
+ * <p>
+ * Evictions made on other nodes, e.g. by a tag invalidation, arrive through {@link #onRemoteEvict} and
+ * {@link #onRemoteClear}. Like {@link TwoLevelCache}, a generation counter bumped by every eviction keeps
+ * a reload that raced with one from writing back. The reload runs with the locale of the read that
+ * triggered it, so localized values match what the loader would have produced inline.
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    private static final int TRACKED_KEYS = 10_000;
+
+    private final Cache delegate;
+    private final long refreshAfterMillis;
+    private final Executor executor;
+    // Key -> time of the write this node made
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> writtenAt;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RefreshAheadCache(Cache delegate, Duration ttl, double refreshFraction, Executor executor) {
+        this.delegate = delegate;
+        this.refreshAfterMillis = (long) (ttl.toMillis() * refreshFraction);
+        this.executor = executor;
+        this.writtenAt = Caffeine.newBuilder()
+                .maximumSize(TRACKED_KEYS)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        String trackedKey = String.valueOf(key);
+        if (loaded.get()) {
+            writtenAt.put(trackedKey, System.currentTimeMillis());
+        } else {
+            Long written = writtenAt.getIfPresent(trackedKey);
+            if (written != null && System.currentTimeMillis() - written >= refreshAfterMillis) {
+                refresh(key, trackedKey, written, valueLoader);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        writtenAt.put(String.valueOf(key), System.currentTimeMillis());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            writtenAt.put(String.valueOf(key), System.currentTimeMillis());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        forget(String.valueOf(key));
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        forget(String.valueOf(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        forgetAll();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        forgetAll();
+        return delegate.invalidate();
+    }
+
+    /**
+     * Cancels the write-back of reloads in flight; used for invalidations received from other nodes.
+     */
+    void onRemoteEvict(String key) {
+        forget(key);
+    }
+
+    void onRemoteClear() {
+        forgetAll();
+    }
+
+    boolean isRefreshing(Object key) {
+        return refreshing.contains(String.valueOf(key));
+    }
+
+    private void forget(String trackedKey) {
+        generation.incrementAndGet();
+        writtenAt.invalidate(trackedKey);
+    }
+
+    private void forgetAll() {
+        generation.incrementAndGet();
+        writtenAt.invalidateAll();
+    }
+
+    private void refresh(Object key, String trackedKey, long written, Callable<?> valueLoader) {
+        if (!refreshing.add(trackedKey)) {
+            return;
+        }
+        long seen = generation.get();
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        try {
+            executor.execute(() -> {
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    Object value = valueLoader.call();
+                    // Skip the write if the entry was evicted, here or on another node, or rewritten while we were loading
+                    if (value != null && generation.get() == seen
+                            && writtenAt.asMap().replace(trackedKey, written, System.currentTimeMillis())) {
+                        delegate.put(key, value);
+                    }
+                } catch (Exception e) {
+                    log.warn("Refresh-ahead of {}::{} failed, the entry will expire normally", getName(), key, e);
+                } finally {
+                    LocaleContextHolder.resetLocaleContext();
+                    refreshing.remove(trackedKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(trackedKey);
+            log.debug("Refresh-ahead queue full, skipping {}::{}", getName(), key);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Hands out {@link RefreshAheadCache} views of the caches of the wrapped manager; {@code ttls} gives the
+ * TTL of each cache by name. Invalidations published by other nodes on the {@link CacheInvalidationBus}
+ * cancel the pending write-back of the reloads running here.
+ */
+public class RefreshAheadCacheManager implements CacheManager, CacheInvalidationBus.Listener {
+
+    private final CacheManager delegate;
+    private final Function<String, Duration> ttls;
+    private final double refreshFraction;
+    private final Executor executor;
+    private final ConcurrentMap<String, RefreshAheadCache> caches = new ConcurrentHashMap<>();
+
+    public RefreshAheadCacheManager(CacheManager delegate, Function<String, Duration> ttls,
+                                    double refreshFraction, Executor executor, CacheInvalidationBus bus) {
+        this.delegate = delegate;
+        this.ttls = ttls;
+        this.refreshFraction = refreshFraction;
+        this.executor = executor;
+        bus.subscribe(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        RefreshAheadCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name,
+                key -> new RefreshAheadCache(target, ttls.apply(key), refreshFraction, executor));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void onEvict(String cacheName, String key) {
+        RefreshAheadCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.onRemoteEvict(key);
+        }
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        RefreshAheadCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.onRemoteClear();
+        }
+    }
+}
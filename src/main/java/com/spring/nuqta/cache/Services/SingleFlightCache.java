@@ -0,0 +1,152 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coalesces concurrent loads of the same missing key: the first caller runs the loader, every caller that
+ * arrives while it runs waits for the same future, so a burst of readers after an eviction costs one
+ * query per node.
+ * <p>
+ * With a {@link CacheLoadLock} the leaders of the different nodes also coordinate: only the node holding
+ * the Redis lock loads, the others poll the cache until the value shows up or the lock expires.
+ * Only {@link #get(Object, Callable)} (i.e. {@code @Cacheable(sync = true)}) is coalesced; every other
+ * operation goes straight to the wrapped cache.
+ */
+public class SingleFlightCache implements Cache {
+
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Cache delegate;
+    private final CacheLoadLock loadLock;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param loadLock cross-node lock, or null to coalesce on this node only
+     */
+    public SingleFlightCache(Cache delegate, CacheLoadLock loadLock) {
+        this.delegate = delegate;
+        this.loadLock = loadLock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String flightKey = String.valueOf(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            return (T) await(leader);
+        }
+        try {
+            T value = delegate.get(key, () -> load(key, flightKey, valueLoader));
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Object key, String flightKey, Callable<T> valueLoader) throws Exception {
+        if (loadLock == null) {
+            return valueLoader.call();
+        }
+        long deadline = System.nanoTime() + loadLock.ttl().toNanos();
+        String token;
+        while ((token = loadLock.tryAcquire(getName(), flightKey)) == null) {
+            // Another node is loading: take its value once it lands, or load ourselves if it never does
+            T loaded = (T) delegate.get(key, Object.class);
+            if (loaded != null) {
+                return loaded;
+            }
+            if (System.nanoTime() >= deadline) {
+                return valueLoader.call();
+            }
+            LockSupport.parkNanos(POLL_INTERVAL_NANOS);
+        }
+        try {
+            return valueLoader.call();
+        } finally {
+            loadLock.release(getName(), flightKey, token);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out {@link SingleFlightCache} views of the caches of the wrapped manager.
+ */
+public class SingleFlightCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheLoadLock loadLock;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param loadLock cross-node lock, or null to coalesce loads on each node only
+     */
+    public SingleFlightCacheManager(CacheManager delegate, CacheLoadLock loadLock) {
+        this.delegate = delegate;
+        this.loadLock = loadLock;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new SingleFlightCache(target, loadLock));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,124 @@
+package com.spring.nuqta.cache.Services;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Cache value codec: Jackson Smile (binary JSON with back-references for repeated property names and
+ * short strings) and LZ4 block compression for payloads above {@code compressionThreshold} bytes.
+ * <p>
+ * Every payload starts with one format byte:
+ * <ul>
+ *     <li>{@code 0}: the Smile document follows as is.</li>
+ *     <li>{@code 1}: the uncompressed length follows as a 4-byte int, then the LZ4 block.</li>
+ * </ul>
+ * Type ids are written for every non-final type, like {@code GenericJackson2JsonRedisSerializer} does
+ * for JSON, and only types of this application, {@code java.util}, {@code java.time} and
+ * {@code java.lang} are accepted when reading.
+ */
+public class SmileLz4RedisSerializer implements RedisSerializer<Object> {
+
+    static final byte RAW = 0;
+    static final byte LZ4 = 1;
+    private static final int LZ4_HEADER = 1 + Integer.BYTES;
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public SmileLz4RedisSerializer(int compressionThreshold) {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES));
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.activateDefaultTyping(typeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        this.writer = mapper.writerFor(Object.class);
+        this.reader = mapper.readerFor(Object.class);
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] smile;
+        try {
+            smile = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value of type " + value.getClass().getName(), e);
+        }
+        if (smile.length < compressionThreshold) {
+            return frameRaw(smile);
+        }
+
+        byte[] out = new byte[LZ4_HEADER + compressor.maxCompressedLength(smile.length)];
+        int compressedLength = compressor.compress(smile, 0, smile.length, out, LZ4_HEADER);
+        if (LZ4_HEADER + compressedLength >= 1 + smile.length) {
+            // Incompressible (already dense) payload
+            return frameRaw(smile);
+        }
+        out[0] = LZ4;
+        ByteBuffer.wrap(out, 1, Integer.BYTES).putInt(smile.length);
+        return Arrays.copyOf(out, LZ4_HEADER + compressedLength);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return switch (bytes[0]) {
+                case RAW -> reader.readValue(bytes, 1, bytes.length - 1);
+                case LZ4 -> {
+                    int length = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+                    byte[] smile = new byte[length];
+                    decompressor.decompress(bytes, LZ4_HEADER, smile, 0, length);
+                    yield reader.readValue(smile);
+                }
+                default -> throw new SerializationException("Unknown cache payload format " + bytes[0]);
+            };
+        } catch (IOException | LZ4Exception e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    private static byte[] frameRaw(byte[] smile) {
+        byte[] out = new byte[1 + smile.length];
+        out[0] = RAW;
+        System.arraycopy(smile, 0, out, 1, smile.length);
+        return out;
+    }
+
+    private static PolymorphicTypeValidator typeValidator() {
+        return BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.spring.nuqta.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.spring.nuqta.cache.Services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Decorates a cache so every stored value is registered in the {@link CacheTagIndex} under the tags
+ * returned by {@link CacheTags#of(Object)}. Reads and evictions go straight to the delegate.
+ * <p>
+ * Entries are indexed by {@code String.valueOf(key)}, which is also how the Redis cache renders the
+ * ids, names and {@link org.springframework.cache.interceptor.SimpleKey}s used here, so a key read back
+ * from the index evicts the same entry.
+ */
+@Slf4j
+public class TaggedCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheTagIndex tagIndex;
+
+    public TaggedCache(Cache delegate, CacheTagIndex tagIndex) {
+        this.delegate = delegate;
+        this.tagIndex = tagIndex;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> {
+            T value = valueLoader.call();
+            tag(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        tag(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tag(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void tag(Object key, Object value) {
+        Set<String> tags = CacheTags.of(value);
+        if (tags.isEmpty()) {
+            return;
+        }
+        try {
+            tagIndex.record(getName(), String.valueOf(key), tags);
+        } catch (RuntimeException e) {
+            // Without its tags the entry could outlive a write, so drop it instead
+            log.warn("Could not tag {}::{}, evicting it: {}", getName(), key, e.getMessage());
+            delegate.evict(key);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out {@link TaggedCache} views of the caches of the wrapped manager.
+ */
+public class TaggingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheTagIndex tagIndex;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TaggingCacheManager(CacheManager delegate, CacheTagIndex tagIndex) {
+        this.delegate = delegate;
+        this.tagIndex = tagIndex;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TaggedCache(target, tagIndex));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,152 @@
+package com.spring.nuqta.cache.Services;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A per-node Caffeine L1 in front of the shared Redis L2.
+ * <p>
+ * L1 only ever holds values that were read back from L2, i.e. detached copies produced by
+ * deserialization, never the live objects handed to {@link #put}; a put or a load therefore drops the
+ * local copy and the next read fetches the new value from Redis once. Every put, evict and clear is
+ * broadcast through the {@link CacheInvalidationBus} so the other nodes drop their copy too.
+ * <p>
+ * L1 is keyed by {@code String.valueOf(key)}, the same form the tag index stores, so an eviction by
+ * tag reaches L1 as well. A generation counter keeps a read that raced with an invalidation from
+ * putting the old value into L1.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationBus bus;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote, CacheInvalidationBus bus) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.bus = bus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        long seen = generation.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null && generation.get() == seen) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return remote.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        evictLocal(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            evictLocal(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        evictLocal(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        bus.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        clearLocal();
+        bus.publishClear(name);
+        return present;
+    }
+
+    /**
+     * Drops the local copy of one key; used for invalidations received from other nodes.
+     */
+    void onRemoteEvict(String key) {
+        generation.incrementAndGet();
+        local.invalidate(key);
+    }
+
+    void onRemoteClear() {
+        clearLocal();
+    }
+
+    private void evictLocal(Object key) {
+        String localKey = localKey(key);
+        onRemoteEvict(localKey);
+        bus.publishEvict(name, localKey);
+    }
+
+    private void clearLocal() {
+        generation.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
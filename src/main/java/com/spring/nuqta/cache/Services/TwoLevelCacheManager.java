@@ -0,0 +1,74 @@
+package com.spring.nuqta.cache.Services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Pairs every cache of the remote (Redis) manager with a size- and TTL-bounded Caffeine L1 and
+ * applies the invalidations other nodes publish on the {@link CacheInvalidationBus}.
+ * The bounds of each L1 come from {@code localSpecs}, by cache name.
+ */
+public class TwoLevelCacheManager implements CacheManager, CacheInvalidationBus.Listener {
+
+    private final CacheManager remote;
+    private final CacheInvalidationBus bus;
+    private final Function<String, LocalSpec> localSpecs;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote, CacheInvalidationBus bus, Function<String, LocalSpec> localSpecs) {
+        this.remote = remote;
+        this.bus = bus;
+        this.localSpecs = localSpecs;
+        bus.subscribe(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = remote.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> {
+            LocalSpec spec = localSpecs.apply(key);
+            return new TwoLevelCache(key, Caffeine.newBuilder()
+                    .maximumSize(spec.maximumSize())
+                    .expireAfterWrite(spec.expireAfterWrite())
+                    .build(), target, bus);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    @Override
+    public void onEvict(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.onRemoteEvict(key);
+        }
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.onRemoteClear();
+        }
+    }
+
+    public record LocalSpec(long maximumSize, Duration expireAfterWrite) {
+    }
+}
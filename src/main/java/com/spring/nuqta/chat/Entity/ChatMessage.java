@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Table(name = "chat_messages")
 public class ChatMessage {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_id")
+    @SequenceGenerator(name = "chat_message_id", sequenceName = "chat_messages_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -3,13 +3,10 @@ package com.spring.nuqta.donation.Controller;
 import com.spring.nuqta.donation.Dto.AcceptDonationRequestDto;
 import com.spring.nuqta.donation.Dto.DonDto;
 import com.spring.nuqta.donation.Dto.DonResponseDto;
-import com.spring.nuqta.donation.Entity.DonEntity;
-import com.spring.nuqta.donation.Mapper.DonMapper;
-import com.spring.nuqta.donation.Mapper.DonResponseMapper;
+import com.spring.nuqta.donation.Services.DonReadService;
 import com.spring.nuqta.donation.Services.DonServices;
 import com.spring.nuqta.exception.GlobalException;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
@@ -28,23 +25,20 @@ import java.util.List;
 public class DonController {
 
     private final DonServices donServices;
-    private final DonMapper donMapper;
-    private final DonResponseMapper donResponseMapper;
+    private final DonReadService donReadService;
     private final MessageSource ms;
 
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getDonationById(@PathVariable Long id) {
-        DonResponseDto result = donResponseMapper.map(donServices.findById(id));
+        DonResponseDto result = donReadService.findById(id);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
     @GetMapping("/nearest/conservatism")
     public ResponseEntity<?> getNearestDonations(@RequestParam String conservatism) {
 
-        List<DonEntity> nearestDonations = donServices.findTopConservatism(conservatism);
-
-        List<DonDto> dtos = donMapper.map(nearestDonations);
+        List<DonDto> dtos = donReadService.findTopConservatism(conservatism);
 
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
@@ -52,22 +46,41 @@ public class DonController {
     @GetMapping("/nearest/city")
     public ResponseEntity<?> getNearestDonationsCity(@RequestParam String city) {
 
-        List<DonEntity> nearestDonations = donServices.findTopCity(city);
+        List<DonDto> dtos = donReadService.findTopCity(city);
+
+        return new ResponseEntity<>(dtos, HttpStatus.OK);
+    }
+
+    @GetMapping("/nearest/radius")
+    public ResponseEntity<?> getDonationsWithinRadius(@RequestParam Double latitude,
+                                                      @RequestParam Double longitude,
+                                                      @RequestParam(defaultValue = "10000") Double radius,
+                                                      @RequestParam(required = false) Integer limit) {
+
+        List<DonDto> dtos = donReadService.findWithinRadius(latitude, longitude, radius, limit);
+
+        return new ResponseEntity<>(dtos, HttpStatus.OK);
+    }
+
+    @GetMapping("/nearest/k")
+    public ResponseEntity<?> getNearestDonationsByLocation(@RequestParam Double latitude,
+                                                           @RequestParam Double longitude,
+                                                           @RequestParam(required = false) Integer limit) {
 
-        List<DonDto> dtos = donMapper.map(nearestDonations);
+        List<DonDto> dtos = donReadService.findNearest(latitude, longitude, limit);
 
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
 
     @PostMapping("/acceptRequest")
-    public void acceptDonationRequest(@RequestBody AcceptDonationRequestDto dto) throws MessagingException {
+    public void acceptDonationRequest(@RequestBody AcceptDonationRequestDto dto) {
         donServices.acceptDonationRequest(dto);
         throw new GlobalException("donation.request.accepted.email.sent", HttpStatus.OK);
 
     }
 
     @DeleteMapping("/deleteRequest")
-    public void deleteAcceptedDonationRequest(@RequestBody AcceptDonationRequestDto dto) throws MessagingException {
+    public void deleteAcceptedDonationRequest(@RequestBody AcceptDonationRequestDto dto) {
         donServices.deleteAcceptedDonationRequest(dto);
         throw new GlobalException("success.donation.requestDeleted", HttpStatus.OK);
     }
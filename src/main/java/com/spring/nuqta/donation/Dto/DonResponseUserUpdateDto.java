@@ -48,4 +48,10 @@ public class DonResponseUserUpdateDto extends BaseDto<Long> {
     @Schema(description = "Conservatism level of the donation", example = "Moderate")
     private String conservatism;
 
+    @Schema(description = "Latitude of the donor location", example = "30.0444")
+    private Double latitude;
+
+    @Schema(description = "Longitude of the donor location", example = "31.2357")
+    private Double longitude;
+
 }
@@ -1,7 +1,10 @@
 package com.spring.nuqta.donation.Entity;
 
 import com.spring.nuqta.base.Entity.BaseEntity;
+import com.spring.nuqta.donation.Index.DonorIndexListener;
+import com.spring.nuqta.enums.BloodType;
 import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.location.Entity.LocationEntity;
 import com.spring.nuqta.request.Entity.ReqEntity;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import jakarta.persistence.*;
@@ -9,6 +12,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
@@ -20,10 +24,29 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "donation")
+@Table(name = "donation", indexes = {
+        @Index(name = "idx_donation_match_city", columnList = "status, confirm_Donate, blood_type, city_id"),
+        @Index(name = "idx_donation_match_conservatism", columnList = "status, confirm_Donate, blood_type, conservatism_id")
+})
+@NamedEntityGraph(name = DonEntity.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("acceptedRequests")
+})
+@BatchSize(size = 50)
 @DynamicUpdate
+@EntityListeners(DonorIndexListener.class)
 public class DonEntity extends BaseEntity<Long> {
 
+    /**
+     * Detail view: the donation with its donor and the requests it accepted.
+     */
+    public static final String DETAIL_GRAPH = "Donation.detail";
+
+    /**
+     * Months after a confirmed donation before the donor may be matched again.
+     */
+    public static final int ELIGIBILITY_MONTHS = 3;
+
     @Column(name = "blood_type")
     private String bloodType;
 
@@ -61,16 +84,31 @@ public class DonEntity extends BaseEntity<Long> {
     @Column(name = "conservatism")
     private String conservatism;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "city_id", referencedColumnName = "id")
+    private LocationEntity cityLocation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "conservatism_id", referencedColumnName = "id")
+    private LocationEntity conservatismLocation;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @OneToOne(mappedBy = "donation", cascade = CascadeType.ALL)
     private UserEntity user;
 
-    @ManyToMany(mappedBy = "donations", fetch = FetchType.EAGER, cascade = {CascadeType.MERGE})
+    @ManyToMany(mappedBy = "donations", cascade = {CascadeType.MERGE})
+    @BatchSize(size = 50)
     private Set<ReqEntity> acceptedRequests = new HashSet<>();
 
 
     public boolean isExpired() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime expiryDateTime = this.getDonationDate().plusMonths(3);
+        LocalDateTime expiryDateTime = this.getDonationDate().plusMonths(ELIGIBILITY_MONTHS);
         return now.isAfter(expiryDateTime) || now.isEqual(expiryDateTime);
     }
 
@@ -78,4 +116,11 @@ public class DonEntity extends BaseEntity<Long> {
         this.acceptedRequests.add(request);
         request.getDonations().add(this);
     }
+
+    /**
+     * Stores the canonical label, which the donor match compares exactly.
+     */
+    public void setBloodType(String bloodType) {
+        this.bloodType = BloodType.normalize(bloodType);
+    }
 }
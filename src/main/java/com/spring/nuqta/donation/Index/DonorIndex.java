@@ -0,0 +1,294 @@
+package com.spring.nuqta.donation.Index;
+
+import com.spring.nuqta.donation.Projection.DonorIndexProjection;
+import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.donation.Services.DonationsDeletedEvent;
+import com.spring.nuqta.donation.Services.DonationsReleasedEvent;
+import com.spring.nuqta.enums.BloodType;
+import com.spring.nuqta.enums.DonStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index over all VALID, unconfirmed donations, stored column by column in primitive arrays.
+ * <p>
+ * Matching a request is a single pass over the arrays with no allocation: a blood-type bitmask test,
+ * an integer bounding-box test on the quantized coordinates, the eligibility day and finally an
+ * equirectangular distance check. Enabled with {@code donor.index.enabled=true}; the index is loaded on
+ * startup and kept current by {@link DonorIndexListener} and, for set-based writes, {@link DonationsDeletedEvent}
+ * and {@link DonationsReleasedEvent}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "donor.index.enabled", havingValue = "true")
+public class DonorIndex {
+
+    static final double COORD_SCALE = 1_000_000d;
+    private static final double METERS_PER_DEGREE = 111_320d;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final DonRepo donRepo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] bloodBits = new byte[INITIAL_CAPACITY];
+    private int[] latitudes = new int[INITIAL_CAPACITY];
+    private int[] longitudes = new int[INITIAL_CAPACITY];
+    private int[] eligibleFromDays = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Changes applied while {@link #rebuild()} loads its snapshot; null otherwise. Guarded by {@link #lock}.
+     */
+    private List<Runnable> journal;
+
+    public DonorIndex(DonRepo donRepo) {
+        this.donRepo = donRepo;
+    }
+
+    /**
+     * Reloads the index from the database. Changes made while the snapshot loads are journaled and
+     * replayed on top of it, so a donor written or removed meanwhile is neither lost nor resurrected.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<DonorIndexProjection> donors = null;
+        try {
+            donors = donRepo.findIndexableDonors(DonStatus.VALID);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (donors != null) {
+                    slots.clear();
+                    size = 0;
+                    for (DonorIndexProjection donor : donors) {
+                        upsertLocked(donor.id(), donor.bloodType(), donor.latitude(), donor.longitude(),
+                                donor.startDonation());
+                    }
+                    journal.forEach(Runnable::run);
+                }
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Donor index loaded with {} eligible donors", size);
+    }
+
+    /**
+     * Adds or replaces a donor. Donors without a known blood type or location are not indexed.
+     */
+    public void upsert(long id, String bloodType, Double latitude, Double longitude, LocalDateTime startDonation) {
+        apply(() -> upsertLocked(id, bloodType, latitude, longitude, startDonation));
+    }
+
+    public void remove(long id) {
+        apply(() -> removeLocked(id));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDonationsDeleted(DonationsDeletedEvent event) {
+        List<Long> donationIds = event.donationIds();
+        apply(() -> donationIds.forEach(this::removeLocked));
+    }
+
+    /**
+     * Adds the donations made eligible again by a set-based update, reloading the ones that really were.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDonationsReleased(DonationsReleasedEvent event) {
+        List<DonorIndexProjection> donors = donRepo.findIndexableDonors(event.donationIds(), DonStatus.VALID);
+        apply(() -> donors.forEach(donor ->
+                upsertLocked(donor.id(), donor.bloodType(), donor.latitude(), donor.longitude(), donor.startDonation())));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Convenience wrapper around {@link #search(int, double, double, double, int, long[], double[])}.
+     *
+     * @return ids of compatible, eligible donors within the radius, nearest first.
+     */
+    public List<Long> search(String bloodTypeNeeded, double latitude, double longitude, double radiusMeters, int limit) {
+        BloodType recipient = BloodType.fromLabel(bloodTypeNeeded);
+        if (recipient == null || limit <= 0) {
+            return List.of();
+        }
+        long[] outIds = new long[limit];
+        double[] outDistances = new double[limit];
+        int found = search(recipient.compatibleDonorMask(), latitude, longitude, radiusMeters,
+                (int) LocalDate.now().toEpochDay(), outIds, outDistances);
+        List<Long> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            result.add(outIds[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Allocation-free search. Fills {@code outIds}/{@code outDistances} with up to {@code outIds.length}
+     * matches ordered by distance and returns how many were written.
+     *
+     * @param donorMask  {@link BloodType#compatibleDonorMask()} of the recipient
+     * @param today      current epoch day; donors whose eligibility day is later are skipped
+     */
+    public int search(int donorMask, double latitude, double longitude, double radiusMeters, int today,
+                      long[] outIds, double[] outDistances) {
+        int limit = Math.min(outIds.length, outDistances.length);
+        if (limit == 0) {
+            return 0;
+        }
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double latDegrees = radiusMeters / METERS_PER_DEGREE;
+        double lonDegrees = latDegrees / Math.max(cosLat, 1e-6);
+        int qLat = quantize(latitude);
+        int qLon = quantize(longitude);
+        int minLat = quantize(latitude - latDegrees);
+        int maxLat = quantize(latitude + latDegrees);
+        int minLon = quantize(longitude - lonDegrees);
+        int maxLon = quantize(longitude + lonDegrees);
+        double radiusSquared = radiusMeters * radiusMeters;
+        double scale = METERS_PER_DEGREE / COORD_SCALE;
+
+        int found = 0;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if ((bloodBits[i] & donorMask) == 0) {
+                    continue;
+                }
+                int lat = latitudes[i];
+                int lon = longitudes[i];
+                if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                    continue;
+                }
+                if (eligibleFromDays[i] > today) {
+                    continue;
+                }
+                double dy = (lat - qLat) * scale;
+                double dx = (lon - qLon) * scale * cosLat;
+                double distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared > radiusSquared) {
+                    continue;
+                }
+                if (found == limit && distanceSquared >= outDistances[limit - 1]) {
+                    continue;
+                }
+                // Insertion into the sorted top-N buffer
+                int pos = found < limit ? found++ : limit - 1;
+                while (pos > 0 && outDistances[pos - 1] > distanceSquared) {
+                    outDistances[pos] = outDistances[pos - 1];
+                    outIds[pos] = outIds[pos - 1];
+                    pos--;
+                }
+                outDistances[pos] = distanceSquared;
+                outIds[pos] = ids[i];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (int i = 0; i < found; i++) {
+            outDistances[i] = Math.sqrt(outDistances[i]);
+        }
+        return found;
+    }
+
+    /**
+     * Applies a change under the write lock, and journals it while a rebuild is loading its snapshot.
+     */
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertLocked(Long id, String bloodType, Double latitude, Double longitude, LocalDateTime startDonation) {
+        BloodType type = BloodType.fromLabel(bloodType);
+        if (id == null || type == null || latitude == null || longitude == null) {
+            if (id != null) {
+                removeLocked(id);
+            }
+            return;
+        }
+        Integer slot = slots.get(id);
+        int i;
+        if (slot != null) {
+            i = slot;
+        } else {
+            ensureCapacity(size + 1);
+            i = size++;
+            slots.put(id, i);
+        }
+        ids[i] = id;
+        bloodBits[i] = (byte) type.bit();
+        latitudes[i] = quantize(latitude);
+        longitudes[i] = quantize(longitude);
+        eligibleFromDays[i] = startDonation == null ? Integer.MIN_VALUE : (int) startDonation.toLocalDate().toEpochDay();
+    }
+
+    private void removeLocked(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            bloodBits[slot] = bloodBits[last];
+            latitudes[slot] = latitudes[last];
+            longitudes[slot] = longitudes[last];
+            eligibleFromDays[slot] = eligibleFromDays[last];
+            slots.put(ids[slot], slot);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        bloodBits = Arrays.copyOf(bloodBits, newCapacity);
+        latitudes = Arrays.copyOf(latitudes, newCapacity);
+        longitudes = Arrays.copyOf(longitudes, newCapacity);
+        eligibleFromDays = Arrays.copyOf(eligibleFromDays, newCapacity);
+    }
+
+    static int quantize(double degrees) {
+        return (int) Math.round(degrees * COORD_SCALE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.spring.nuqta.donation.Index;
+
+import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.enums.DonStatus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps {@link DonorIndex} in step with every donation write made through JPA (DonServices, UserServices,
+ * cascades from UserEntity). Changes are applied after commit so a rolled back write never reaches the index.
+ */
+public class DonorIndexListener {
+
+    private final ObjectProvider<DonorIndex> donorIndex;
+
+    public DonorIndexListener(ObjectProvider<DonorIndex> donorIndex) {
+        this.donorIndex = donorIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(DonEntity donation) {
+        DonorIndex index = donorIndex.getIfAvailable();
+        if (index == null || donation.getId() == null) {
+            return;
+        }
+        long id = donation.getId();
+        if (donation.getStatus() != DonStatus.VALID || Boolean.TRUE.equals(donation.getConfirmDonate())) {
+            afterCommit(() -> index.remove(id));
+            return;
+        }
+        String bloodType = donation.getBloodType();
+        Double latitude = donation.getLatitude();
+        Double longitude = donation.getLongitude();
+        LocalDateTime startDonation = donation.getStartDonation();
+        afterCommit(() -> index.upsert(id, bloodType, latitude, longitude, startDonation));
+    }
+
+    @PostRemove
+    public void onRemove(DonEntity donation) {
+        DonorIndex index = donorIndex.getIfAvailable();
+        if (index != null && donation.getId() != null) {
+            long id = donation.getId();
+            afterCommit(() -> index.remove(id));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
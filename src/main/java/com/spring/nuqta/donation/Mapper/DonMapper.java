@@ -37,6 +37,8 @@ public interface DonMapper extends BaseMapper<DonEntity, DonDto> {
         reqDto.setUrgencyLevel(reqEntity.getUrgencyLevel());
         reqDto.setConservatism(reqEntity.getConservatism());
         reqDto.setCity(reqEntity.getCity());
+        reqDto.setLatitude(reqEntity.getLatitude());
+        reqDto.setLongitude(reqEntity.getLongitude());
 
         return reqDto;
     }
@@ -56,6 +58,8 @@ public interface DonMapper extends BaseMapper<DonEntity, DonDto> {
         req.setUrgencyLevel(reqDto.getUrgencyLevel());
         req.setConservatism(reqDto.getConservatism());
         req.setCity(reqDto.getCity());
+        req.setLatitude(reqDto.getLatitude());
+        req.setLongitude(reqDto.getLongitude());
 
         return req;
     }
@@ -0,0 +1,9 @@
+package com.spring.nuqta.donation.Projection;
+
+import java.time.LocalDateTime;
+
+public record DonationExpiryProjection(
+        Long id,
+        LocalDateTime donationDate
+) {
+}
@@ -0,0 +1,12 @@
+package com.spring.nuqta.donation.Projection;
+
+import java.time.LocalDateTime;
+
+public record DonorIndexProjection(
+        Long id,
+        String bloodType,
+        Double latitude,
+        Double longitude,
+        LocalDateTime startDonation
+) {
+}
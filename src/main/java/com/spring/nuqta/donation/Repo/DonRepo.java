@@ -2,19 +2,118 @@ package com.spring.nuqta.donation.Repo;
 
 import com.spring.nuqta.base.Repo.BaseRepo;
 import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.donation.Projection.DonationExpiryProjection;
+import com.spring.nuqta.donation.Projection.DonorIndexProjection;
 import com.spring.nuqta.enums.DonStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DonRepo extends BaseRepo<DonEntity, Long> {
 
-    List<DonEntity> findTopByCityOrConservatism(String city, String conservatism);
+    @EntityGraph(DonEntity.DETAIL_GRAPH)
+    Optional<DonEntity> findDetailById(Long id);
 
-    List<DonEntity> findFirstByCityContainingIgnoreCase(String city);
+    List<DonEntity> findFirstByCityLocationIdIn(Collection<Long> cityIds);
 
-    List<DonEntity> findFirstByConservatismContainingIgnoreCase(String conservatism);
+    List<DonEntity> findFirstByConservatismLocationIdIn(Collection<Long> conservatismIds);
 
-    List<DonEntity> findByStatusAndConfirmDonate(DonStatus status, Boolean confirmDonate);
+    @Query("SELECT new com.spring.nuqta.donation.Projection.DonationExpiryProjection(d.id, d.donationDate) " +
+            "FROM DonEntity d WHERE d.status = :status AND d.confirmDonate = true AND d.donationDate IS NOT NULL")
+    List<DonationExpiryProjection> findPendingExpiries(@Param("status") DonStatus status);
+
+    @Query("SELECT d.id FROM DonEntity d " +
+            "WHERE d.status = :status AND d.confirmDonate = true AND d.donationDate <= :cutoff")
+    List<Long> findReleasableIds(@Param("status") DonStatus status, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Set-based catch-up: makes every confirmed donation whose waiting period ended before {@code cutoff}
+     * eligible again.
+     */
+    @Modifying
+    @Query("UPDATE DonEntity d SET d.status = com.spring.nuqta.enums.DonStatus.VALID, " +
+            "d.confirmDonate = false, d.confirmDonateReqId = 0L " +
+            "WHERE d.status = :status AND d.confirmDonate = true AND d.donationDate <= :cutoff")
+    int releaseExpiredDonations(@Param("status") DonStatus status, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Makes the given donations eligible again if their waiting period ended before {@code cutoff}.
+     */
+    @Modifying
+    @Query("UPDATE DonEntity d SET d.status = com.spring.nuqta.enums.DonStatus.VALID, " +
+            "d.confirmDonate = false, d.confirmDonateReqId = 0L " +
+            "WHERE d.id IN :ids AND d.confirmDonate = true AND d.donationDate <= :cutoff")
+    int releaseExpiredDonations(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Removes the given donations from the requests that accepted them (the owning side is ReqEntity).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM request_donation WHERE donation_id IN (:ids)", nativeQuery = true)
+    int deleteAcceptances(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Clears the donation of the donors holding one of {@code ids}, so the donations can be deleted.
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.donation = null WHERE u.donation.id IN :ids")
+    int unlinkDonors(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.spring.nuqta.donation.Projection.DonorIndexProjection(" +
+            "d.id, d.bloodType, d.latitude, d.longitude, d.startDonation) " +
+            "FROM DonEntity d WHERE d.status = :status AND d.confirmDonate = false")
+    List<DonorIndexProjection> findIndexableDonors(@Param("status") DonStatus status);
+
+    @Query("SELECT new com.spring.nuqta.donation.Projection.DonorIndexProjection(" +
+            "d.id, d.bloodType, d.latitude, d.longitude, d.startDonation) " +
+            "FROM DonEntity d WHERE d.id IN :ids AND d.status = :status AND d.confirmDonate = false")
+    List<DonorIndexProjection> findIndexableDonors(@Param("ids") Collection<Long> ids,
+                                                   @Param("status") DonStatus status);
+
+    /**
+     * Eligible donors whose blood type is in {@code bloodTypes}, ranked same-city first and then
+     * by the longest time since their last donation. Served by the idx_donation_match_* indexes.
+     */
+    @Query("SELECT d FROM DonEntity d LEFT JOIN FETCH d.user " +
+            "WHERE d.bloodType IN :bloodTypes AND d.status = :status AND d.confirmDonate = false " +
+            "AND (d.cityLocation.id = :cityId OR d.conservatismLocation.id = :conservatismId) " +
+            "ORDER BY CASE WHEN d.cityLocation.id = :cityId THEN 0 ELSE 1 END, d.donationDate ASC NULLS FIRST, d.id ASC")
+    List<DonEntity> findCompatibleDonors(@Param("bloodTypes") Collection<String> bloodTypes,
+                                         @Param("status") DonStatus status,
+                                         @Param("cityId") Long cityId,
+                                         @Param("conservatismId") Long conservatismId,
+                                         Pageable pageable);
+
+    /**
+     * Eligible donors within {@code radius} metres of the point, nearest first (GiST index on donation.location).
+     */
+    @Query(value = "SELECT d.* FROM donation d " +
+            "WHERE d.status = 'VALID' AND d.confirm_donate = false " +
+            "AND ST_DWithin(d.location, CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :radius) " +
+            "ORDER BY d.location <-> CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<DonEntity> findWithinRadius(@Param("latitude") double latitude,
+                                     @Param("longitude") double longitude,
+                                     @Param("radius") double radius,
+                                     @Param("limit") int limit);
+
+    /**
+     * The {@code limit} eligible donors closest to the point, using a k-nearest-neighbour index scan.
+     */
+    @Query(value = "SELECT d.* FROM donation d " +
+            "WHERE d.status = 'VALID' AND d.confirm_donate = false AND d.location IS NOT NULL " +
+            "ORDER BY d.location <-> CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<DonEntity> findNearest(@Param("latitude") double latitude,
+                                @Param("longitude") double longitude,
+                                @Param("limit") int limit);
 }
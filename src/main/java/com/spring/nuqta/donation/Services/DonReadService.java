@@ -0,0 +1,63 @@
+package com.spring.nuqta.donation.Services;
+
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Services.CacheTags;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.donation.Dto.DonDto;
+import com.spring.nuqta.donation.Dto.DonResponseDto;
+import com.spring.nuqta.donation.Mapper.DonMapper;
+import com.spring.nuqta.donation.Mapper.DonResponseMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cached read side of the donation endpoints; the {@code donation-*} regions hold DTOs, not entities, and
+ * not-found results go to the {@link NotFoundCache}.
+ * <p>
+ * Associations are lazy, so every DTO is mapped inside the read-only transaction, where the collections are
+ * batch fetched. The geo searches depend on the caller's point and are not cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class DonReadService {
+
+    private final DonServices donServices;
+    private final DonMapper donMapper;
+    private final DonResponseMapper donResponseMapper;
+    private final NotFoundCache notFoundCache;
+
+    @Cacheable(cacheNames = CacheRegions.DONATION_BY_ID, sync = true)
+    @Transactional(readOnly = true)
+    public DonResponseDto findById(Long id) {
+        return notFoundCache.load(CacheRegions.DONATION_BY_ID, id, CacheTags.DONATION_LIST,
+                () -> donResponseMapper.map(donServices.findById(id)));
+    }
+
+    @Cacheable(cacheNames = CacheRegions.DONATION_TOP_CONSERVATISM, sync = true)
+    @Transactional(readOnly = true)
+    public List<DonDto> findTopConservatism(String conservatism) {
+        return notFoundCache.load(CacheRegions.DONATION_TOP_CONSERVATISM, conservatism, CacheTags.DONATION_LIST,
+                () -> donMapper.map(donServices.findTopConservatism(conservatism)));
+    }
+
+    @Cacheable(cacheNames = CacheRegions.DONATION_TOP_CITY, sync = true)
+    @Transactional(readOnly = true)
+    public List<DonDto> findTopCity(String city) {
+        return notFoundCache.load(CacheRegions.DONATION_TOP_CITY, city, CacheTags.DONATION_LIST,
+                () -> donMapper.map(donServices.findTopCity(city)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DonDto> findWithinRadius(Double latitude, Double longitude, Double radius, Integer limit) {
+        return donMapper.map(donServices.findWithinRadius(latitude, longitude, radius, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DonDto> findNearest(Double latitude, Double longitude, Integer limit) {
+        return donMapper.map(donServices.findNearest(latitude, longitude, limit));
+    }
+}
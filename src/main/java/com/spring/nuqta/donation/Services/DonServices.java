@@ -1,24 +1,25 @@
 package com.spring.nuqta.donation.Services;
 
 import com.spring.nuqta.base.Services.BaseServices;
+import com.spring.nuqta.base.Services.GeoSearch;
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.donation.Dto.AcceptDonationRequestDto;
 import com.spring.nuqta.donation.Entity.DonEntity;
 import com.spring.nuqta.donation.Repo.DonRepo;
 import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.enums.LocationType;
 import com.spring.nuqta.enums.Status;
 import com.spring.nuqta.exception.GlobalException;
-import com.spring.nuqta.notifications.Dto.NotificationRequest;
-import com.spring.nuqta.notifications.Services.NotificationService;
+import com.spring.nuqta.location.Services.LocationService;
+import com.spring.nuqta.notifications.Services.NotificationOutboxService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.request.Entity.ReqEntity;
 import com.spring.nuqta.request.Repo.ReqRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
@@ -28,8 +29,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -39,37 +42,51 @@ public class DonServices extends BaseServices<DonEntity, Long> {
     private final DonRepo donRepository;
     private final ReqRepo reqRepository;
     private final SendEmail sendMailToDoner;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutbox;
     private final MessageSource ms;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationService locationService;
+    private final CacheTagService cacheTagService;
 
 
-    @Cacheable(value = "donation")
     public List<DonEntity> findTopConservatism(String conservatism) {
-        List<DonEntity> entities = donRepository.findFirstByConservatismContainingIgnoreCase(conservatism);
+        Set<Long> locationIds = locationService.match(conservatism, LocationType.GOVERNORATE);
+        List<DonEntity> entities = locationIds.isEmpty()
+                ? List.of() : donRepository.findFirstByConservatismLocationIdIn(locationIds);
         if (entities.isEmpty()) {
             throw new GlobalException("error.donation.notFound", HttpStatus.NOT_FOUND);
         }
         return entities;
     }
 
-    @Cacheable(value = "donation")
     public List<DonEntity> findTopCity(String city) {
-        List<DonEntity> entities = donRepository.findFirstByCityContainingIgnoreCase(city);
+        Set<Long> locationIds = locationService.match(city, LocationType.CITY);
+        List<DonEntity> entities = locationIds.isEmpty()
+                ? List.of() : donRepository.findFirstByCityLocationIdIn(locationIds);
         if (entities.isEmpty()) {
             throw new GlobalException("error.donation.notFound", HttpStatus.NOT_FOUND);
         }
         return entities;
     }
 
+    public List<DonEntity> findWithinRadius(Double latitude, Double longitude, Double radius, Integer limit) {
+        GeoSearch.validatePoint(latitude, longitude);
+        return donRepository.findWithinRadius(latitude, longitude, GeoSearch.radius(radius), GeoSearch.limit(limit));
+    }
+
+    public List<DonEntity> findNearest(Double latitude, Double longitude, Integer limit) {
+        GeoSearch.validatePoint(latitude, longitude);
+        return donRepository.findNearest(latitude, longitude, GeoSearch.limit(limit));
+    }
+
     @Override
-    @Cacheable(value = "donation", key = "#id")
     public DonEntity findById(Long id) {
         if (id == null || id <= 0) {
             String msg = messageParam(id, "error.invalid.id");
             throw new GlobalException(msg, HttpStatus.BAD_REQUEST);
         }
 
-        Optional<DonEntity> entity = donRepository.findById(id);
+        Optional<DonEntity> entity = donRepository.findDetailById(id);
         if (entity.isEmpty()) {
             String msg = messageParam(id, "error.donation.notFoundById");
             throw new GlobalException(msg, HttpStatus.NOT_FOUND);
@@ -79,12 +96,7 @@ public class DonServices extends BaseServices<DonEntity, Long> {
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "donation", allEntries = true),
-            @CacheEvict(value = "users", allEntries = true),
-            @CacheEvict(value = "requests", allEntries = true)
-    })
-    public void acceptDonationRequest(AcceptDonationRequestDto dto) throws MessagingException {
+    public void acceptDonationRequest(AcceptDonationRequestDto dto) {
         // Fetch entities with optimistic locking
         DonEntity donation = donRepository.findById(dto.getDonationId())
                 .orElseThrow(() -> new GlobalException("error.don.notFound", HttpStatus.NOT_FOUND));
@@ -119,9 +131,10 @@ public class DonServices extends BaseServices<DonEntity, Long> {
         // Save entities
         donRepository.save(donation);
         reqRepository.save(request);
+        cacheTagService.invalidate(CacheTags.donation(donation.getId()), CacheTags.request(request.getId()));
 
-        // Send notifications
-//        sendNotificationIfApplicable(donation, request);
+        // Queue notifications; delivered by NotificationOutboxWorker after this transaction commits
+        sendNotificationIfApplicable(donation, request);
 
         // Send email if applicable
         sendMailToDoner.sendMail(donation, request);
@@ -129,13 +142,7 @@ public class DonServices extends BaseServices<DonEntity, Long> {
     }
 
     @Transactional
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "donation", allEntries = true),
-                    @CacheEvict(value = "users", allEntries = true),
-                    @CacheEvict(value = "requests", allEntries = true)
-            })
-    public void deleteAcceptedDonationRequest(AcceptDonationRequestDto dto) throws MessagingException {
+    public void deleteAcceptedDonationRequest(AcceptDonationRequestDto dto) {
         if (dto.getDonationId() == null || dto.getRequestId() == null) {
             throw new GlobalException("error.invalid.input", HttpStatus.BAD_REQUEST);
         }
@@ -166,6 +173,7 @@ public class DonServices extends BaseServices<DonEntity, Long> {
 
         donRepository.save(donation);
         reqRepository.save(request);
+        cacheTagService.invalidate(CacheTags.donation(donation.getId()), CacheTags.request(request.getId()));
 
         sendMailToDoner.sendMailRejected(donation, request);
     }
@@ -184,30 +192,21 @@ public class DonServices extends BaseServices<DonEntity, Long> {
 
         String donorName = donor.getUsername();
         String[] msParam = {donorName};
+        String title = ms.getMessage("notification.requestAcceptedTitle", null, LocaleContextHolder.getLocale());
         String message = ms.getMessage("notification.requestAcceptedMessage", msParam, LocaleContextHolder.getLocale());
 
-        // Send notification to the request user (if user exists and has an FCM token)
+        // Notify the request user (if user exists and has an FCM token)
         Optional.ofNullable(request.getUser())
                 .map(UserEntity::getFcmToken)
-                .ifPresent(token -> {
-                    notificationService.sendNotification(new NotificationRequest(token, "notification.requestAcceptedTitle", message));
-                });
+                .ifPresent(token -> notificationOutbox.enqueue(token, title, message));
 
-        // Send notification to the request organization (if organization exists and has an FCM token)
+        // Notify the request organization (if organization exists and has an FCM token)
         Optional.ofNullable(request.getOrganization())
                 .map(OrgEntity::getFcmToken)
-                .ifPresent(token -> {
-                    notificationService.sendNotification(new NotificationRequest(token, "notification.requestAcceptedTitle", message));
-                });
+                .ifPresent(token -> notificationOutbox.enqueue(token, title, message));
     }
 
     @Transactional
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "donation", allEntries = true),
-                    @CacheEvict(value = "users", allEntries = true),
-                    @CacheEvict(value = "requests", allEntries = true)
-            })
     public void markAsAccepted(Long donationId, Long requestId) {
         DonEntity donation = donRepository.findById(donationId)
                 .orElseThrow(() -> new GlobalException("error.donation.notFound", HttpStatus.NOT_FOUND));
@@ -228,55 +227,77 @@ public class DonServices extends BaseServices<DonEntity, Long> {
         }
 
         donRepository.save(donation);
+        cacheTagService.invalidate(CacheTags.donation(donation.getId()), CacheTags.request(request.getId()));
 
+        eventPublisher.publishEvent(new DonationConfirmedEvent(donation.getId(), donation.getDonationDate()));
     }
 
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "users", allEntries = true),
-                    @CacheEvict(value = "donation", allEntries = true),
-                    @CacheEvict(value = "requests", allEntries = true)
-            })
-    @Scheduled(cron = "0 0 0 * * ?") // Run at midnight every day
-    //    @Scheduled(cron = "* * * * * ?") // Run every minute instead of every second
-    public void updateDonationStatuses() {
-        List<DonEntity> donations = donRepository.findByStatusAndConfirmDonate(DonStatus.INVALID, true);
-
-        if (!donations.isEmpty()) {
-            log.info("Found {} donations with INVALID status to process", donations.size());
+    /**
+     * Catch-up pass for donations whose waiting period ended while no expiry timer was armed
+     * (downtime, restarts). A single set-based UPDATE; the ids are read first so only the cache
+     * entries holding those donations are evicted and only they are added back to the donor index.
+     * Exact-instant releases are handled by {@link DonationExpiryScheduler}.
+     */
+    @Transactional
+    @Scheduled(cron = "0 0 0 * * ?") // Safety net, run at midnight every day
+    public int updateDonationStatuses() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(DonEntity.ELIGIBILITY_MONTHS);
+        List<Long> ids = donRepository.findReleasableIds(DonStatus.INVALID, cutoff);
+        int released = donRepository.releaseExpiredDonations(DonStatus.INVALID, cutoff);
+        if (released > 0) {
+            log.info("Released {} donations whose waiting period has ended", released);
+            released(ids);
         } else {
-            log.debug("No donations with INVALID status found");
-            return;
+            log.debug("No expired donations to release");
         }
+        return released;
+    }
 
-        List<DonEntity> expiredDonations = new ArrayList<>();
-
-        for (DonEntity donation : donations) {
-            try {
-                if (donation.isExpired()) {
-                    // Update the donation status and related fields
-//                    donation.setStatus(DonStatus.VALID); // Or should this be EXPIRED?
-                    donation.setConfirmDonate(false);
-                    donation.setConfirmDonateReqId(0L);
-                    expiredDonations.add(donation);
-
-                    log.debug("Marking donation {} as expired for user: {}",
-                            donation.getId(),
-                            donation.getUser() != null ? donation.getUser().getUsername() : "Unknown");
-                }
-            } catch (Exception e) {
-                log.error("Error processing donation with ID: {}", donation.getId(), e);
-            }
+    /**
+     * Releases the given donations if their waiting period has ended. Called by the expiry timer.
+     */
+    @Transactional
+    public int releaseExpiredDonations(Collection<Long> donationIds) {
+        if (donationIds == null || donationIds.isEmpty()) {
+            return 0;
         }
-
-        if (!expiredDonations.isEmpty()) {
-            try {
-                donRepository.saveAll(expiredDonations);
-                log.info("Successfully updated {} expired donations", expiredDonations.size());
-            } catch (Exception e) {
-                log.error("Error saving expired donations", e);
-            }
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(DonEntity.ELIGIBILITY_MONTHS);
+        int released = donRepository.releaseExpiredDonations(donationIds, cutoff);
+        if (released > 0) {
+            released(donationIds);
         }
+        return released;
+    }
+
+    /**
+     * Removes the donations from the requests that accepted them and from their donors. Unlike
+     * {@link #deleteById}, whose cascade also deletes the donor, the donors keep their accounts.
+     */
+    @Override
+    protected void deleteDependents(List<Long> ids) {
+        donRepository.deleteAcceptances(ids);
+        donRepository.unlinkDonors(ids);
+        eventPublisher.publishEvent(new DonationsDeletedEvent(ids));
+    }
+
+    @Override
+    protected void afterBulkWrite(List<Long> ids) {
+        List<String> tags = new ArrayList<>(ids.size() + 1);
+        ids.forEach(id -> tags.add(CacheTags.donation(id)));
+        tags.add(CacheTags.DONATION_LIST);
+        cacheTagService.invalidate(tags.toArray(String[]::new));
+    }
+
+    /**
+     * Released donations are eligible donors again: they re-enter the donor index (the bulk UPDATE bypasses
+     * {@code DonorIndexListener}) and the donation lists, including the busiest-city ones.
+     */
+    private void released(Collection<Long> donationIds) {
+        eventPublisher.publishEvent(new DonationsReleasedEvent(List.copyOf(donationIds)));
+        List<String> tags = new ArrayList<>(donationIds.size() + 1);
+        donationIds.forEach(id -> tags.add(CacheTags.donation(id)));
+        tags.add(CacheTags.DONATION_LIST);
+        cacheTagService.invalidate(tags.toArray(String[]::new));
     }
 
     public String messageParam(Long id, String message) {
@@ -0,0 +1,10 @@
+package com.spring.nuqta.donation.Services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a donor confirms a donation; the donor becomes eligible again
+ * {@link com.spring.nuqta.donation.Entity.DonEntity#ELIGIBILITY_MONTHS} months after {@code donationDate}.
+ */
+public record DonationConfirmedEvent(Long donationId, LocalDateTime donationDate) {
+}
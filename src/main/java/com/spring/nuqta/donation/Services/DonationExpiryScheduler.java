@@ -0,0 +1,122 @@
+package com.spring.nuqta.donation.Services;
+
+import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.donation.Projection.DonationExpiryProjection;
+import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.enums.DonStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases each confirmed donation at the exact instant its waiting period ends, instead of
+ * scanning every confirmed donation once a day.
+ * <p>
+ * On startup a set-based catch-up UPDATE runs first, then one timer per pending donation is armed in a
+ * {@link DelayQueue}. A single worker thread takes due timers, drains whatever else is due and releases
+ * them with one UPDATE. Stale timers (a donation re-confirmed later) are harmless because the UPDATE
+ * re-checks the donation date.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DonationExpiryScheduler {
+
+    private static final int MAX_BATCH = 500;
+    private static final long RETRY_DELAY_MILLIS = 60_000;
+
+    private final DonRepo donRepository;
+    private final DonServices donServices;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        donServices.updateDonationStatuses();
+
+        List<DonationExpiryProjection> pending = donRepository.findPendingExpiries(DonStatus.INVALID);
+        pending.forEach(p -> schedule(p.id(), p.donationDate()));
+        log.info("Armed {} donation expiry timers", pending.size());
+
+        Thread thread = new Thread(this::run, "donation-expiry");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDonationConfirmed(DonationConfirmedEvent event) {
+        schedule(event.donationId(), event.donationDate());
+    }
+
+    public void schedule(Long donationId, LocalDateTime donationDate) {
+        if (donationId == null || donationDate == null) {
+            return;
+        }
+        LocalDateTime expiresAt = donationDate.plusMonths(DonEntity.ELIGIBILITY_MONTHS);
+        queue.put(new Expiry(donationId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Expiry> due = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                due.add(queue.take());
+                queue.drainTo(due, MAX_BATCH - 1);
+                List<Long> ids = due.stream().map(Expiry::donationId).toList();
+                int released = donServices.releaseExpiredDonations(ids);
+                log.debug("Expiry timers fired for {} donations, {} released", ids.size(), released);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error releasing expired donations, retrying in one minute", e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                due.forEach(expiry -> queue.put(new Expiry(expiry.donationId(), retryAt)));
+            } finally {
+                due.clear();
+            }
+        }
+    }
+
+    record Expiry(Long donationId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Expiry expiry) {
+                return Long.compare(expiresAtMillis, expiry.expiresAtMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.spring.nuqta.donation.Services;
+
+import java.util.List;
+
+/**
+ * Published when donations are removed by a set-based delete, which bypasses the JPA entity listeners.
+ */
+public record DonationsDeletedEvent(List<Long> donationIds) {
+}
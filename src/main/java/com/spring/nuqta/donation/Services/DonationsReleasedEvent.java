@@ -0,0 +1,10 @@
+package com.spring.nuqta.donation.Services;
+
+import java.util.List;
+
+/**
+ * Published when donations are made eligible again by a set-based update, which bypasses the JPA entity
+ * listeners. Ids whose waiting period had not ended yet are included; listeners reload the rows.
+ */
+public record DonationsReleasedEvent(List<Long> donationIds) {
+}
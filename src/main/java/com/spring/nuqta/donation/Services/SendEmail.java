@@ -1,12 +1,11 @@
 package com.spring.nuqta.donation.Services;
 
 import com.spring.nuqta.donation.Entity.DonEntity;
-import com.spring.nuqta.mail.Services.EmailService;
+import com.spring.nuqta.mail.Services.MailDispatcher;
 import com.spring.nuqta.mail.template.SendMailToDoner;
 import com.spring.nuqta.mail.template.SendMailToDonerRejected;
 import com.spring.nuqta.request.Entity.ReqEntity;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,12 +14,12 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class SendEmail {
 
-    private final EmailService emailService;
+    private final MailDispatcher mailDispatcher;
 
     @Value("${token.base.url}")
     private String baseUrl;
 
-    void sendMail(DonEntity donation, ReqEntity req) throws MessagingException {
+    void sendMail(DonEntity donation, ReqEntity req) {
 
         UserEntity donor = donation.getUser();
         if (donor == null || donor.getFcmToken() == null) {
@@ -36,11 +35,11 @@ public class SendEmail {
         }
         context.buildVerificationUrl(donor, donation.getId(), req.getId(), baseUrl);
 
-        emailService.sendMail(context);
+        mailDispatcher.dispatch(context);
 
     }
 
-    void sendMailRejected(DonEntity donation, ReqEntity req) throws MessagingException {
+    void sendMailRejected(DonEntity donation, ReqEntity req) {
 
         UserEntity donor = donation.getUser();
         if (donor == null || donor.getFcmToken() == null) {
@@ -55,7 +54,7 @@ public class SendEmail {
         }
         context.buildVerificationUrl(donor);
 
-        emailService.sendMail(context);
+        mailDispatcher.dispatch(context);
 
     }
 
@@ -0,0 +1,102 @@
+package com.spring.nuqta.enums;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * ABO/Rh blood groups as stored in {@code donation.blood_type} and {@code requests.blood_type_needed}.
+ * Each group owns one bit so compatibility can be checked with a single mask test.
+ */
+public enum BloodType {
+    O_NEG("O-"), O_POS("O+"),
+    A_NEG("A-"), A_POS("A+"),
+    B_NEG("B-"), B_POS("B+"),
+    AB_NEG("AB-"), AB_POS("AB+");
+
+    private final String label;
+
+    BloodType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return bitmask of every donor group this recipient group can receive from.
+     */
+    public int compatibleDonorMask() {
+        boolean recipientRhPositive = this.label.endsWith("+");
+        int mask = 0;
+        for (BloodType donor : values()) {
+            boolean donorRhPositive = donor.label.endsWith("+");
+            if (donorRhPositive && !recipientRhPositive) {
+                continue;
+            }
+            if (this.hasAntigen('A') || !donor.hasAntigen('A')) {
+                if (this.hasAntigen('B') || !donor.hasAntigen('B')) {
+                    mask |= donor.bit();
+                }
+            }
+        }
+        return mask;
+    }
+
+    public boolean canReceiveFrom(BloodType donor) {
+        return donor != null && (compatibleDonorMask() & donor.bit()) != 0;
+    }
+
+    private boolean hasAntigen(char antigen) {
+        return label.indexOf(antigen) >= 0;
+    }
+
+    /**
+     * Parses a stored label such as "o+" or "AB-". Returns null for unknown values.
+     */
+    public static BloodType fromLabel(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (BloodType type : values()) {
+            if (type.label.equals(normalized) || type.name().equals(normalized)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the canonical label of a known group ("o+" becomes "O+"), otherwise the value unchanged.
+     */
+    public static String normalize(String value) {
+        BloodType type = fromLabel(value);
+        return type == null ? value : type.label;
+    }
+
+    /**
+     * @return the labels of all donor groups compatible with the given recipient label,
+     * or an empty set when the label is unknown.
+     */
+    public static Set<String> compatibleDonorLabels(String recipient) {
+        BloodType type = fromLabel(recipient);
+        if (type == null) {
+            return Collections.emptySet();
+        }
+        Set<String> labels = new LinkedHashSet<>();
+        int mask = type.compatibleDonorMask();
+        for (BloodType donor : values()) {
+            if ((mask & donor.bit()) != 0) {
+                labels.add(donor.label);
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,5 @@
+package com.spring.nuqta.enums;
+
+public enum OutboxStatus {
+    PENDING, SENT, FAILED;
+}
@@ -0,0 +1,66 @@
+package com.spring.nuqta.export.Controller;
+
+import com.spring.nuqta.export.Services.ExportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * NDJSON exports for mirroring, instead of paging through the list endpoints. {@code since} (ISO date)
+ * limits the export to the rows created or modified on or after that day. Restricted to organizations
+ * (see SecurityConfig).
+ * <p>
+ * An export streams for as long as the table takes, so it runs as a {@link WebAsyncTask} with its own
+ * {@code export.timeout} instead of the servlet-wide async timeout.
+ */
+@Tag(name = "Export", description = "Streaming NDJSON exports")
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+    private final long timeoutMillis;
+
+    public ExportController(ExportService exportService, @Value("${export.timeout:1h}") Duration timeout) {
+        this.exportService = exportService;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @GetMapping("/requests")
+    public WebAsyncTask<Void> exportRequests(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+            HttpServletResponse response) {
+        return stream(response, out -> exportService.exportRequests(since, out));
+    }
+
+    @GetMapping("/donations")
+    public WebAsyncTask<Void> exportDonations(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+            HttpServletResponse response) {
+        return stream(response, out -> exportService.exportDonations(since, out));
+    }
+
+    private WebAsyncTask<Void> stream(HttpServletResponse response, StreamingResponseBody body) {
+        response.setContentType(NDJSON.toString());
+        return new WebAsyncTask<>(timeoutMillis, () -> {
+            OutputStream out = response.getOutputStream();
+            body.writeTo(out);
+            out.flush();
+            return null;
+        });
+    }
+}
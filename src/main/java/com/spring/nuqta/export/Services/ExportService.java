@@ -0,0 +1,150 @@
+package com.spring.nuqta.export.Services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Streams tables as NDJSON, one JSON object per line, for mirroring and analytics.
+ * <p>
+ * Rows come from a forward-only, read-only JDBC cursor with a fixed fetch size and are written straight
+ * through Jackson's streaming generator: no entities, no mapping and no result list, so the heap used does
+ * not grow with the number of rows. The PostgreSQL driver only fetches in batches inside a transaction,
+ * hence {@code @Transactional}.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final String REQUESTS = """
+            SELECT id, blood_type_needed, amount, request_date, urgency_level, status, payment_available,
+                   city, conservatism, latitude, longitude, user_id, org_id, created_date, modified_date
+            FROM requests
+            WHERE COALESCE(modified_date, created_date) >= ?
+            ORDER BY id""";
+
+    private static final String DONATIONS = """
+            SELECT d.id, d.blood_type, d.donation_date, d.start_donation, d.amount, d.payment_offered, d.status,
+                   d.city, d.conservatism, d.latitude, d.longitude, u.id AS user_id, d.created_date, d.modified_date
+            FROM donation d
+            LEFT JOIN users u ON u.donation_id = d.id
+            WHERE COALESCE(d.modified_date, d.created_date) >= ?
+            ORDER BY d.id""";
+
+    /**
+     * Exports everything when no {@code since} is given.
+     */
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    private final int fetchSize;
+
+    public ExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                         @Value("${export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonFactory = objectMapper.getFactory();
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes the requests created or modified on or after {@code since}.
+     *
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportRequests(LocalDate since, OutputStream out) {
+        return export(REQUESTS, since, out);
+    }
+
+    /**
+     * Writes the donations created or modified on or after {@code since}.
+     *
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportDonations(LocalDate since, OutputStream out) {
+        return export(DONATIONS, since, out);
+    }
+
+    private long export(String sql, LocalDate since, OutputStream out) {
+        long start = System.currentTimeMillis();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long rows = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, since != null ? since : EPOCH);
+                return statement;
+            }, resultSet -> {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                long count = 0;
+                while (resultSet.next()) {
+                    writeRow(generator, resultSet, metaData);
+                    count++;
+                }
+                return count;
+            });
+            log.info("Exported {} rows in {} ms", rows, System.currentTimeMillis() - start);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeRow(JsonGenerator generator, ResultSet resultSet, ResultSetMetaData metaData)
+            throws SQLException {
+        try {
+            generator.writeStartObject();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                generator.writeFieldName(metaData.getColumnLabel(column));
+                writeValue(generator, resultSet.getObject(column));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            // The client went away; stop reading the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Date date) {
+            generator.writeString(date.toLocalDate().toString());
+        } else if (value instanceof Timestamp timestamp) {
+            generator.writeString(timestamp.toLocalDateTime().toString());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -4,7 +4,7 @@ import com.spring.nuqta.exception.GlobalException;
 import com.spring.nuqta.forgotPassword.Entity.ResetPasswordEntity;
 import com.spring.nuqta.forgotPassword.Repo.ResetPasswordRepo;
 import com.spring.nuqta.forgotPassword.Services.ResetPasswordService;
-import com.spring.nuqta.mail.Services.EmailService;
+import com.spring.nuqta.mail.Services.MailDispatcher;
 import com.spring.nuqta.mail.template.ForgotPasswordWithOtp;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Projection.OrgAuthProjection;
@@ -12,7 +12,6 @@ import com.spring.nuqta.organization.Repo.OrgRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Projection.UserAuthProjection;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
-import jakarta.mail.MessagingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
@@ -33,7 +32,7 @@ import java.util.Optional;
 public class GeneralReset {
 
     private final ResetPasswordRepo resetPasswordRepo;
-    private final EmailService emailService;
+    private final MailDispatcher mailDispatcher;
     private final ResetPasswordService resetPasswordService;
     private final UserRepo userRepo;
     private final OrgRepo organizationRepo;
@@ -41,8 +40,8 @@ public class GeneralReset {
     private final MessageSource ms;
 
     @Autowired
-    public GeneralReset(EmailService emailService, ResetPasswordService otpVerifyService, UserRepo userRepo, OrgRepo organizationRepo, PasswordEncoder passwordEncoder, ResetPasswordRepo resetPasswordRepo, MessageSource ms) {
-        this.emailService = emailService;
+    public GeneralReset(MailDispatcher mailDispatcher, ResetPasswordService otpVerifyService, UserRepo userRepo, OrgRepo organizationRepo, PasswordEncoder passwordEncoder, ResetPasswordRepo resetPasswordRepo, MessageSource ms) {
+        this.mailDispatcher = mailDispatcher;
         this.resetPasswordService = otpVerifyService;
         this.userRepo = userRepo;
         this.organizationRepo = organizationRepo;
@@ -86,14 +85,12 @@ public class GeneralReset {
             }
             context.buildVerificationOtp(otp);
 
-            try {
-                emailService.sendMail(context);
-                response.put("message", getMS("otp.success"));
-                return ResponseEntity.ok(response);
-            } catch (MessagingException e) {
+            if (!mailDispatcher.dispatch(context)) {
                 response.put("message", getMS("otp.send.error"));
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
             }
+            response.put("message", getMS("otp.success"));
+            return ResponseEntity.ok(response);
         } else {
             log.warn("Email not verified: {}", email);
             response.put("message", getMS("email.not.verified"));
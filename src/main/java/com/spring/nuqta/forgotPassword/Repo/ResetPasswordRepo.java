@@ -2,8 +2,13 @@ package com.spring.nuqta.forgotPassword.Repo;
 
 import com.spring.nuqta.forgotPassword.Entity.ResetPasswordEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface ResetPasswordRepo extends JpaRepository<ResetPasswordEntity, Long> {
 
@@ -12,4 +17,12 @@ public interface ResetPasswordRepo extends JpaRepository<ResetPasswordEntity, Lo
     ResetPasswordEntity findByOrganization_Email(String email);
 
     ResetPasswordEntity findByUser_Email(String email);
+
+    @Modifying
+    @Query("DELETE FROM ResetPasswordEntity r WHERE r.user.id IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("DELETE FROM ResetPasswordEntity r WHERE r.organization.id IN :orgIds")
+    int deleteByOrganizationIds(@Param("orgIds") Collection<Long> orgIds);
 }
@@ -0,0 +1,29 @@
+package com.spring.nuqta.location.Controller;
+
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Dto.LocationSuggestionDto;
+import com.spring.nuqta.location.Services.LocationService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Location", description = "APIs for city and governorate lookup")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/location")
+public class LocationController {
+
+    private final LocationService locationService;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam("q") String query,
+                                     @RequestParam(value = "type", required = false) LocationType type,
+                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        List<LocationSuggestionDto> suggestions = locationService.suggest(query, type, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring.nuqta.location.Dto;
+
+import com.spring.nuqta.enums.LocationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Canonical location matching an autocomplete prefix")
+public class LocationSuggestionDto {
+
+    @Schema(description = "Location ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Canonical name to send back as city/conservatism", example = "Alexandria")
+    private String name;
+
+    @Schema(description = "Location type", example = "GOVERNORATE")
+    private LocationType type;
+}
@@ -0,0 +1,38 @@
+package com.spring.nuqta.location.Entity;
+
+import com.spring.nuqta.base.Entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A spelling of a {@link LocationEntity} in one locale ("ar" or "en"). {@code normalizedAlias} carries a
+ * pg_trgm GIN index (see db/migration/V4__location_dictionary.sql) for fuzzy matching.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "location_alias", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_location_alias", columnNames = {"location_id", "normalized_alias"})
+}, indexes = {
+        @Index(name = "idx_location_alias_normalized", columnList = "normalized_alias")
+})
+public class LocationAliasEntity extends BaseEntity<Long> {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "location_id", referencedColumnName = "id", nullable = false)
+    private LocationEntity location;
+
+    @Column(name = "alias", nullable = false, length = 100)
+    private String alias;
+
+    @Column(name = "normalized_alias", nullable = false, length = 100)
+    private String normalizedAlias;
+
+    @Column(name = "locale", nullable = false, length = 5)
+    private String locale;
+}
@@ -0,0 +1,34 @@
+package com.spring.nuqta.location.Entity;
+
+import com.spring.nuqta.base.Entity.BaseEntity;
+import com.spring.nuqta.enums.LocationType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Canonical city or governorate. Donations, requests and organizations reference it by id so
+ * location filters are integer lookups instead of substring scans over free text.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "location", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_location_type_name", columnNames = {"type", "normalized_name"})
+})
+public class LocationEntity extends BaseEntity<Long> {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private LocationType type;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false, length = 100)
+    private String normalizedName;
+}
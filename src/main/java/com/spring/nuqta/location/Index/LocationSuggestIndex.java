@@ -0,0 +1,127 @@
+package com.spring.nuqta.location.Index;
+
+import com.spring.nuqta.cache.Services.CacheInvalidationBus;
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Dto.LocationSuggestionDto;
+import com.spring.nuqta.location.Projection.LocationAliasProjection;
+import com.spring.nuqta.location.Repo.LocationRepo;
+import com.spring.nuqta.location.Services.LocationCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory autocomplete over every location alias, one {@link LocationTrie} per {@link LocationType}.
+ * Loaded on startup and extended as {@link LocationCreatedEvent}s arrive, so lookups never reach Postgres.
+ * <p>
+ * Every node holds its own copy. A location created here is announced on the {@link CacheInvalidationBus}
+ * under {@link #BUS_NAME}, and the other nodes load its aliases from the database.
+ */
+@Slf4j
+@Component
+public class LocationSuggestIndex implements CacheInvalidationBus.Listener {
+
+    static final String BUS_NAME = "location-suggest";
+
+    private final LocationRepo locationRepo;
+    private final CacheInvalidationBus bus;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<LocationType, LocationTrie<LocationSuggestionDto>> tries = new EnumMap<>(LocationType.class);
+
+    public LocationSuggestIndex(LocationRepo locationRepo, CacheInvalidationBus bus) {
+        this.locationRepo = locationRepo;
+        this.bus = bus;
+        for (LocationType type : LocationType.values()) {
+            tries.put(type, new LocationTrie<>());
+        }
+        bus.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<LocationAliasProjection> aliases = locationRepo.findAllAliases();
+        lock.writeLock().lock();
+        try {
+            tries.values().forEach(LocationTrie::clear);
+            for (LocationAliasProjection alias : aliases) {
+                putLocked(alias.locationId(), alias.name(), alias.type(), alias.normalizedAlias());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Location suggest index loaded with {} aliases", aliases.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLocationCreated(LocationCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            putLocked(event.locationId(), event.name(), event.type(), event.normalizedAlias());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        bus.publishEvict(BUS_NAME, String.valueOf(event.locationId()));
+    }
+
+    /**
+     * A location created on another node; it is committed by the time the message arrives.
+     */
+    @Override
+    public void onEvict(String name, String key) {
+        if (!BUS_NAME.equals(name)) {
+            return;
+        }
+        List<LocationAliasProjection> aliases = locationRepo.findAliases(Long.valueOf(key));
+        lock.writeLock().lock();
+        try {
+            for (LocationAliasProjection alias : aliases) {
+                putLocked(alias.locationId(), alias.name(), alias.type(), alias.normalizedAlias());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onClear(String name) {
+        if (BUS_NAME.equals(name)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @param normalizedPrefix a prefix already folded by {@code LocationNormalizer}
+     * @param type             restricts the search to one type, or null for all types
+     */
+    public List<LocationSuggestionDto> suggest(String normalizedPrefix, LocationType type, int limit) {
+        lock.readLock().lock();
+        try {
+            if (type != null) {
+                return tries.get(type).findByPrefix(normalizedPrefix, limit);
+            }
+            List<LocationSuggestionDto> result = new ArrayList<>();
+            for (LocationTrie<LocationSuggestionDto> trie : tries.values()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.addAll(trie.findByPrefix(normalizedPrefix, limit - result.size()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putLocked(Long id, String name, LocationType type, String normalizedAlias) {
+        tries.get(type).put(normalizedAlias, new LocationSuggestionDto(id, name, type));
+    }
+}
@@ -0,0 +1,117 @@
+package com.spring.nuqta.location.Index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compressed (radix) trie from normalized names to values. Chains of single-child nodes are collapsed
+ * into one edge label, so a lookup touches one node per distinct branch point of the prefix.
+ * <p>
+ * Not thread-safe; callers guard it.
+ */
+public class LocationTrie<V> {
+
+    private static final class Node<V> {
+        private String label;
+        private final Map<Character, Node<V>> children = new TreeMap<>();
+        private final List<V> values = new ArrayList<>(1);
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private Node<V> root = new Node<>("");
+    private int size;
+
+    public void put(String key, V value) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null) {
+                Node<V> leaf = new Node<>(key.substring(i));
+                leaf.values.add(value);
+                node.children.put(key.charAt(i), leaf);
+                size++;
+                return;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge at the point where the key diverges
+                Node<V> split = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                node.children.put(split.label.charAt(0), split);
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+        if (!node.values.contains(value)) {
+            node.values.add(value);
+            size++;
+        }
+    }
+
+    /**
+     * @return up to {@code limit} distinct values whose key starts with {@code prefix}; shorter keys first
+     * at each branch, siblings in key order.
+     */
+    public List<V> findByPrefix(String prefix, int limit) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<V> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common < prefix.length() && common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        Set<V> result = new LinkedHashSet<>();
+        collect(node, result, limit);
+        return new ArrayList<>(result);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root = new Node<>("");
+        size = 0;
+    }
+
+    private void collect(Node<V> node, Set<V> result, int limit) {
+        for (V value : node.values) {
+            if (result.size() >= limit) {
+                return;
+            }
+            result.add(value);
+        }
+        for (Node<V> child : node.children.values()) {
+            if (result.size() >= limit) {
+                return;
+            }
+            collect(child, result, limit);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,11 @@
+package com.spring.nuqta.location.Projection;
+
+import com.spring.nuqta.enums.LocationType;
+
+public record LocationAliasProjection(
+        Long locationId,
+        String name,
+        LocationType type,
+        String normalizedAlias
+) {
+}
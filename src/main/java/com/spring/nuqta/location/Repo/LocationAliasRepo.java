@@ -0,0 +1,22 @@
+package com.spring.nuqta.location.Repo;
+
+import com.spring.nuqta.base.Entity.BaseEntity;
+import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.location.Entity.LocationAliasEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LocationAliasRepo extends BaseRepo<LocationAliasEntity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO location_alias (id, location_id, alias, normalized_alias, locale, created_date, modified_date) " +
+            "VALUES (nextval('" + BaseEntity.ID_SEQUENCE + "'), :locationId, :alias, :normalizedAlias, :locale, CURRENT_DATE, CURRENT_DATE) " +
+            "ON CONFLICT (location_id, normalized_alias) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("locationId") Long locationId,
+                       @Param("alias") String alias,
+                       @Param("normalizedAlias") String normalizedAlias,
+                       @Param("locale") String locale);
+}
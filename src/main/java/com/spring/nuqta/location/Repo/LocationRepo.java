@@ -0,0 +1,54 @@
+package com.spring.nuqta.location.Repo;
+
+import com.spring.nuqta.base.Entity.BaseEntity;
+import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Entity.LocationEntity;
+import com.spring.nuqta.location.Projection.LocationAliasProjection;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LocationRepo extends BaseRepo<LocationEntity, Long> {
+
+    @Query("SELECT new com.spring.nuqta.location.Projection.LocationAliasProjection(" +
+            "l.id, l.name, l.type, a.normalizedAlias) FROM LocationAliasEntity a JOIN a.location l")
+    List<LocationAliasProjection> findAllAliases();
+
+    @Query("SELECT new com.spring.nuqta.location.Projection.LocationAliasProjection(" +
+            "l.id, l.name, l.type, a.normalizedAlias) FROM LocationAliasEntity a JOIN a.location l " +
+            "WHERE l.id = :locationId")
+    List<LocationAliasProjection> findAliases(@Param("locationId") Long locationId);
+
+    Optional<LocationEntity> findByTypeAndNormalizedName(LocationType type, String normalizedName);
+
+    @Query("SELECT a.location.id FROM LocationAliasEntity a " +
+            "WHERE a.location.type = :type AND a.normalizedAlias = :alias ORDER BY a.location.id")
+    List<Long> findIdsByAlias(@Param("type") LocationType type, @Param("alias") String alias);
+
+    /**
+     * Race-free insert; concurrent writers resolving the same new name end up with the same row.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO location (id, type, name, normalized_name, created_date, modified_date) " +
+            "VALUES (nextval('" + BaseEntity.ID_SEQUENCE + "'), :type, :name, :normalizedName, CURRENT_DATE, CURRENT_DATE) " +
+            "ON CONFLICT (type, normalized_name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("type") String type,
+                       @Param("name") String name,
+                       @Param("normalizedName") String normalizedName);
+
+    /**
+     * Locations of the given type with an alias equal to, containing or trigram-similar to {@code query}.
+     * Both the LIKE and the {@code %} operator are served by idx_location_alias_trgm.
+     */
+    @Query(value = "SELECT DISTINCT a.location_id FROM location_alias a " +
+            "JOIN location l ON l.id = a.location_id " +
+            "WHERE l.type = :type AND (a.normalized_alias LIKE CONCAT('%', :query, '%') OR a.normalized_alias % :query)",
+            nativeQuery = true)
+    List<Long> findIdsMatching(@Param("type") String type, @Param("query") String query);
+}
@@ -0,0 +1,60 @@
+package com.spring.nuqta.location.Services;
+
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Entity.LocationEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Links rows written before the location dictionary existed. Works per distinct text value, so once
+ * every row is linked a restart costs one empty SELECT per column.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationBackfill {
+
+    private record Target(String table, String textColumn, String idColumn, LocationType type) {
+    }
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("donation", "city", "city_id", LocationType.CITY),
+            new Target("donation", "conservatism", "conservatism_id", LocationType.GOVERNORATE),
+            new Target("requests", "city", "city_id", LocationType.CITY),
+            new Target("requests", "conservatism", "conservatism_id", LocationType.GOVERNORATE),
+            new Target("organization", "city", "city_id", LocationType.CITY),
+            new Target("organization", "conservatism", "conservatism_id", LocationType.GOVERNORATE)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocationService locationService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (Target target : TARGETS) {
+            List<String> values = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT " + target.textColumn() + " FROM " + target.table() +
+                            " WHERE " + target.idColumn() + " IS NULL AND " + target.textColumn() + " IS NOT NULL",
+                    String.class);
+            int linked = 0;
+            for (String value : values) {
+                LocationEntity location = locationService.resolve(value, target.type());
+                if (location != null) {
+                    linked += jdbcTemplate.update(
+                            "UPDATE " + target.table() + " SET " + target.idColumn() + " = ?" +
+                                    " WHERE " + target.idColumn() + " IS NULL AND " + target.textColumn() + " = ?",
+                            location.getId(), value);
+                }
+            }
+            if (linked > 0) {
+                log.info("Linked {} {}.{} values to locations", linked, target.table(), target.textColumn());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.spring.nuqta.location.Services;
+
+import com.spring.nuqta.enums.LocationType;
+
+/**
+ * Published by {@link LocationService} when a previously unknown name is interned.
+ */
+public record LocationCreatedEvent(Long locationId, String name, LocationType type, String normalizedAlias) {
+}
@@ -0,0 +1,74 @@
+package com.spring.nuqta.location.Services;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Folds the many ways a city or governorate gets typed ("محافظة الإسكندرية", "الاسكندريه", " Alexandria ")
+ * into one lookup key: lower case, Arabic diacritics and tatweel removed, alef/yeh/teh-marbuta variants
+ * unified, punctuation collapsed and the word "governorate" dropped.
+ * <p>
+ * db/migration/V4__location_dictionary.sql stores its seed aliases already normalized with these rules;
+ * keep them in sync.
+ */
+public final class LocationNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("[\\u064B-\\u065F\\u0670\\u0640]");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> NOISE_WORDS = Set.of("محافظه", "governorate");
+
+    private LocationNormalizer() {
+    }
+
+    /**
+     * @return the normalized key, or null when nothing meaningful is left.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        folded = DIACRITICS.matcher(folded).replaceAll("");
+
+        StringBuilder unified = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            unified.append(unify(folded.charAt(i)));
+        }
+
+        StringJoiner words = new StringJoiner(" ");
+        for (String word : SEPARATORS.split(unified)) {
+            if (!word.isEmpty() && !NOISE_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        String result = words.toString();
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * @return "ar" when the value contains Arabic letters, otherwise "en".
+     */
+    public static String locale(String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                if (Character.UnicodeBlock.of(value.charAt(i)) == Character.UnicodeBlock.ARABIC) {
+                    return "ar";
+                }
+            }
+        }
+        return "en";
+    }
+
+    private static char unify(char c) {
+        return switch (c) {
+            case 'أ', 'إ', 'آ', 'ٱ' -> 'ا';
+            case 'ة' -> 'ه';
+            case 'ى', 'ئ' -> 'ي';
+            case 'ؤ' -> 'و';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.nuqta.location.Services;
+
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Dto.LocationSuggestionDto;
+import com.spring.nuqta.location.Entity.LocationEntity;
+import com.spring.nuqta.location.Index.LocationSuggestIndex;
+import com.spring.nuqta.location.Repo.LocationAliasRepo;
+import com.spring.nuqta.location.Repo.LocationRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns free-text city/governorate names into {@link LocationEntity} rows and translates search
+ * terms into location ids.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationService {
+
+    public static final int DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int MAX_SUGGEST_LIMIT = 20;
+
+    private final LocationRepo locationRepo;
+    private final LocationAliasRepo aliasRepo;
+    private final LocationSuggestIndex suggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // "TYPE:normalized" -> location id. Locations are never deleted, so entries never go stale.
+    private final Map<String, Long> interned = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the location for {@code name}, creating it (and its alias) on first use.
+     *
+     * @return a reference to the location, or null when the name is blank.
+     */
+    @Transactional
+    public LocationEntity resolve(String name, LocationType type) {
+        String normalized = LocationNormalizer.normalize(name);
+        if (normalized == null) {
+            return null;
+        }
+        String key = type.name() + ":" + normalized;
+        Long id = interned.get(key);
+        if (id == null) {
+            List<Long> byAlias = locationRepo.findIdsByAlias(type, normalized);
+            if (byAlias.isEmpty()) {
+                // Not interned until a later lookup finds it committed, in case this transaction rolls back
+                return create(name.trim(), normalized, type);
+            }
+            id = byAlias.get(0);
+            interned.put(key, id);
+        }
+        return locationRepo.getReferenceById(id);
+    }
+
+    /**
+     * @return ids of every location of {@code type} whose name or alias matches {@code query}.
+     */
+    public Set<Long> match(String query, LocationType type) {
+        String normalized = LocationNormalizer.normalize(query);
+        if (normalized == null) {
+            return Collections.emptySet();
+        }
+        return new LinkedHashSet<>(locationRepo.findIdsMatching(type.name(), normalized));
+    }
+
+    /**
+     * Autocomplete from the in-memory index; never queries the database.
+     *
+     * @param type restricts suggestions to one type, or null for all
+     */
+    public List<LocationSuggestionDto> suggest(String query, LocationType type, Integer limit) {
+        String normalized = LocationNormalizer.normalize(query);
+        if (normalized == null) {
+            return Collections.emptyList();
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_SUGGEST_LIMIT : Math.min(limit, MAX_SUGGEST_LIMIT);
+        return suggestIndex.suggest(normalized, type, max);
+    }
+
+    private LocationEntity create(String name, String normalized, LocationType type) {
+        locationRepo.insertIfAbsent(type.name(), name, normalized);
+        LocationEntity location = locationRepo.findByTypeAndNormalizedName(type, normalized)
+                .orElseThrow(() -> new IllegalStateException("Location " + normalized + " was not created"));
+        aliasRepo.insertIfAbsent(location.getId(), name, normalized, LocationNormalizer.locale(name));
+        eventPublisher.publishEvent(new LocationCreatedEvent(location.getId(), location.getName(), type, normalized));
+        log.debug("Created {} '{}' as location {}", type, name, location.getId());
+        return location;
+    }
+}
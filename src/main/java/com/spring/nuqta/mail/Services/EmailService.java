@@ -1,13 +1,13 @@
 package com.spring.nuqta.mail.Services;
 
 import com.spring.nuqta.mail.template.AbstractEmailContext;
+import jakarta.activation.DataSource;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -23,15 +23,36 @@ public class EmailService {
     private final JavaMailSender emailSender;
     private final SpringTemplateEngine templateEngine;
     private final MessageSource ms;
+    private final MailRenderCache renderCache;
 
     @Autowired
-    public EmailService(JavaMailSender emailSender, SpringTemplateEngine templateEngine, MessageSource ms) {
+    public EmailService(JavaMailSender emailSender, SpringTemplateEngine templateEngine, MessageSource ms,
+                        MailRenderCache renderCache) {
         this.emailSender = emailSender;
         this.templateEngine = templateEngine;
         this.ms = ms;
+        this.renderCache = renderCache;
     }
 
     public void sendMail(AbstractEmailContext email) throws MessagingException {
+        MimeMessage message = createMessage(email);
+        emailSender.send(message);
+        log.info("Email sent successfully to {}", email.getTo());
+    }
+
+    /**
+     * Sends already rendered messages over a single SMTP connection.
+     */
+    public void send(MimeMessage... messages) {
+        if (messages.length > 0) {
+            emailSender.send(messages);
+        }
+    }
+
+    /**
+     * Renders the template of the given context into a ready-to-send message.
+     */
+    public MimeMessage createMessage(AbstractEmailContext email) throws MessagingException {
         try {
             MimeMessage message = emailSender.createMimeMessage();
             MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(message,
@@ -48,15 +69,13 @@ public class EmailService {
             mimeMessageHelper.setText(emailContent, true);
 
             // Attach optional logo if exists
-            ClassPathResource resource = new ClassPathResource("static/nuqta.png");
-            if (resource.exists()) {
-                mimeMessageHelper.addInline("nuqtaLogo", resource);
+            DataSource logo = renderCache.logo();
+            if (logo != null) {
+                mimeMessageHelper.addInline(MailRenderCache.LOGO_CONTENT_ID, logo);
             }
-
-            emailSender.send(message);
-            log.info("Email sent successfully to {}", email.getTo());
+            return message;
         } catch (MessagingException e) {
-            log.error("Failed to send email to {}: {}", email.getTo(), e.getMessage());
+            log.error("Failed to build email to {}: {}", email.getTo(), e.getMessage());
             String[] obj = {email.getTo()};
             String msg = ms.getMessage("mail.failed.send", obj, LocaleContextHolder.getLocale());
             throw new MessagingException(msg);
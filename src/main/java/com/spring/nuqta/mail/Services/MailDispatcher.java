@@ -0,0 +1,282 @@
+package com.spring.nuqta.mail.Services;
+
+import com.spring.nuqta.mail.template.AbstractEmailContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues outgoing mail so rendering and SMTP round trips never run inside a database transaction or on an
+ * HTTP request thread.
+ * <p>
+ * {@link #dispatch(AbstractEmailContext)} reserves a slot in the bounded queue right away, so a full queue is
+ * reported to the caller even inside a transaction, and defers the hand-off until the transaction commits
+ * (a rolled back registration sends nothing and frees its slot). A small pool of worker threads drains the
+ * queue in batches and sends every batch through one
+ * {@link org.springframework.mail.javamail.JavaMailSender#send(MimeMessage...)} call, which authenticates
+ * once and reuses the same SMTP transport for the whole batch.
+ * <p>
+ * Emails the SMTP server did not accept are retried with exponential backoff, up to
+ * {@code mail.dispatcher.max-attempts} sends; an email keeps its slot until it is sent or given up.
+ * <p>
+ * Metrics: {@code mail.dispatcher.queue.size}, {@code mail.dispatcher.send} (SMTP time per batch),
+ * {@code mail.dispatcher.latency} (enqueue to hand-off), {@code mail.dispatcher.rejected},
+ * {@code mail.dispatcher.retried} and {@code mail.dispatcher.failed}.
+ */
+@Slf4j
+@Service
+public class MailDispatcher {
+
+    private final EmailService emailService;
+    private final BlockingQueue<Queued> queue;
+    // Emails waiting for their next attempt, in due order
+    private final DelayQueue<Queued> retries = new DelayQueue<>();
+    // One permit per queue slot, held from dispatch until the email is sent or given up
+    private final Semaphore slots;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseSeconds;
+    private final long backoffMaxSeconds;
+    private final Timer sendTimer;
+    private final Timer latencyTimer;
+    private final Counter rejectedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final List<Thread> threads = new ArrayList<>();
+
+    public MailDispatcher(EmailService emailService, MeterRegistry meterRegistry,
+                          @Value("${mail.dispatcher.workers:2}") int workers,
+                          @Value("${mail.dispatcher.queue-capacity:1000}") int queueCapacity,
+                          @Value("${mail.dispatcher.batch-size:20}") int batchSize,
+                          @Value("${mail.dispatcher.max-attempts:3}") int maxAttempts,
+                          @Value("${mail.dispatcher.backoff-base-seconds:5}") long backoffBaseSeconds,
+                          @Value("${mail.dispatcher.backoff-max-seconds:300}") long backoffMaxSeconds) {
+        this.emailService = emailService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.slots = new Semaphore(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+        this.backoffMaxSeconds = backoffMaxSeconds;
+        Gauge.builder("mail.dispatcher.queue.size", this, MailDispatcher::pending)
+                .description("Emails waiting to be sent, including retries")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.dispatcher.send")
+                .description("SMTP time per batch")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("mail.dispatcher.latency")
+                .description("Time from enqueue until the email is handed to SMTP")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("mail.dispatcher.rejected")
+                .description("Emails dropped because the queue was full")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.dispatcher.retried")
+                .description("Sends rescheduled after the SMTP server did not accept them")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.dispatcher.failed")
+                .description("Emails that could not be rendered, or sent within the attempt limit")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!threads.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::run, "mail-dispatcher-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Mail dispatcher started with {} workers", workers);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    /**
+     * Queues the email. Inside a transaction the email is queued only after a successful commit, but its
+     * queue slot is reserved now.
+     *
+     * @return false when the email was rejected because the queue is full.
+     */
+    public boolean dispatch(AbstractEmailContext email) {
+        if (!slots.tryAcquire()) {
+            rejectedCounter.increment();
+            log.error("Mail queue full ({} pending), dropping email to {}", pending(), email.getTo());
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(email);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        slots.release();
+                    }
+                }
+            });
+        } else {
+            enqueue(email);
+        }
+        return true;
+    }
+
+    public int pending() {
+        return queue.size() + retries.size();
+    }
+
+    private void enqueue(AbstractEmailContext email) {
+        // Cannot fail: the reserved slot guarantees room
+        queue.add(new Queued(email, System.nanoTime(), 0, 0));
+    }
+
+    /**
+     * Sends the next batch, waiting up to the given time for the first email.
+     *
+     * @return number of emails taken from the queue.
+     */
+    int drain(long timeout, TimeUnit unit) throws InterruptedException {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        // Only retries that are due leave the delay queue
+        retries.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            Queued first = queue.poll(timeout, unit);
+            if (first == null) {
+                return 0;
+            }
+            batch.add(first);
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+        deliver(batch);
+        return batch.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                drain(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Unexpected error in mail dispatcher", e);
+            }
+        }
+    }
+
+    private void deliver(List<Queued> batch) {
+        // MimeMessage keeps identity equality, so the failed messages of a MailSendException map back here
+        Map<MimeMessage, Queued> messages = new LinkedHashMap<>();
+        for (Queued queued : batch) {
+            try {
+                messages.put(emailService.createMessage(queued.email()), queued);
+            } catch (Exception e) {
+                // A template error fails the same way on every attempt, so it is not retried
+                failedCounter.increment();
+                slots.release();
+                log.error("Failed to render email to {}: {}", queued.email().getTo(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        messages.values().forEach(queued -> latencyTimer.record(now - queued.enqueuedNanos(), TimeUnit.NANOSECONDS));
+
+        List<Queued> failed = new ArrayList<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            emailService.send(messages.keySet().toArray(MimeMessage[]::new));
+            log.info("Sent {} emails", messages.size());
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(messages.values());
+            } else {
+                e.getFailedMessages().keySet().forEach(message -> {
+                    Queued queued = messages.get(message);
+                    if (queued != null) {
+                        failed.add(queued);
+                    }
+                });
+            }
+            log.warn("Failed to send {} of {} emails: {}", failed.size(), messages.size(), e.getMessage());
+        } catch (Exception e) {
+            failed.addAll(messages.values());
+            log.warn("Failed to send {} emails: {}", messages.size(), e.getMessage());
+        } finally {
+            sample.stop(sendTimer);
+        }
+        slots.release(messages.size() - failed.size());
+        failed.forEach(this::retry);
+    }
+
+    private void retry(Queued queued) {
+        int attempts = queued.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            failedCounter.increment();
+            slots.release();
+            log.error("Giving up on email to {} after {} attempts", queued.email().getTo(), attempts);
+            return;
+        }
+        retriedCounter.increment();
+        retries.add(new Queued(queued.email(), queued.enqueuedNanos(), attempts,
+                System.nanoTime() + backoff(attempts).toNanos()));
+    }
+
+    Duration backoff(int attempts) {
+        long exponential = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        return Duration.ofSeconds(Math.min(exponential, backoffMaxSeconds));
+    }
+
+    /**
+     * An email waiting to be sent; {@code attempts} counts the failed sends, {@code dueNanos} is when a
+     * retry may go out.
+     */
+    private record Queued(AbstractEmailContext email, long enqueuedNanos, int attempts, long dueNanos)
+            implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.nuqta.mail.Services;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.util.ByteArrayDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Everything an outgoing email needs that does not change between messages.
+ * <ul>
+ *     <li>The mail templates are parsed once on startup, so the first email after a deploy does not pay
+ *     for resolving and parsing them (requires {@code spring.thymeleaf.cache=true}).</li>
+ *     <li>The inline logo is read from the classpath once and shared as an immutable in-memory
+ *     {@link DataSource}; each message only streams the bytes when it is written.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class MailRenderCache {
+
+    public static final List<String> TEMPLATES = List.of(
+            "mail", "mailForgotPassword", "mailOtp", "requestAccepted", "requestRejected");
+    public static final String LOGO_CONTENT_ID = "nuqtaLogo";
+    static final String LOGO_LOCATION = "static/nuqta.png";
+
+    private final SpringTemplateEngine templateEngine;
+    private final DataSource logo;
+
+    public MailRenderCache(SpringTemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+        this.logo = loadLogo();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int parsed = 0;
+        for (String template : TEMPLATES) {
+            try {
+                templateEngine.process(template, new Context());
+                parsed++;
+            } catch (Exception e) {
+                log.warn("Could not pre-parse mail template {}: {}", template, e.getMessage());
+            }
+        }
+        log.info("Pre-parsed {} of {} mail templates", parsed, TEMPLATES.size());
+    }
+
+    /**
+     * @return the shared logo, or null when it is not on the classpath.
+     */
+    public DataSource logo() {
+        return logo;
+    }
+
+    private static DataSource loadLogo() {
+        ClassPathResource resource = new ClassPathResource(LOGO_LOCATION);
+        if (!resource.exists()) {
+            log.warn("Mail logo {} not found, emails are sent without it", LOGO_LOCATION);
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            ByteArrayDataSource dataSource = new ByteArrayDataSource(in.readAllBytes(), "image/png");
+            dataSource.setName(resource.getFilename());
+            return dataSource;
+        } catch (IOException e) {
+            log.warn("Could not read mail logo {}: {}", LOGO_LOCATION, e.getMessage());
+            return null;
+        }
+    }
+}
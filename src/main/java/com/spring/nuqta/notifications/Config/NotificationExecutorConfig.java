@@ -0,0 +1,61 @@
+package com.spring.nuqta.notifications.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded pools for push delivery so FCM round trips never run on an HTTP request thread.
+ * <ul>
+ *     <li>{@value #NOTIFICATION_EXECUTOR}: fire-and-forget fan-out; when its queue is full a new fan-out is
+ *     rejected with a {@link TaskRejectedException} rather than blocking the caller, so the {@code @Async}
+ *     call fails instead of returning a future that never completes.</li>
+ *     <li>{@value #OUTBOX_EXECUTOR}: outbox workers; when saturated the polling thread sends the batch
+ *     itself, which naturally slows down claiming.</li>
+ * </ul>
+ */
+@Configuration
+@EnableAsync
+public class NotificationExecutorConfig {
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String OUTBOX_EXECUTOR = "outboxExecutor";
+
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${notification.executor.pool-size:4}") int poolSize,
+            @Value("${notification.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("fcm-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            throw new TaskRejectedException("Notification queue full (" + pool.getQueue().size()
+                    + " pending), rejecting push fan-out");
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = OUTBOX_EXECUTOR)
+    public ThreadPoolTaskExecutor outboxExecutor(@Value("${notification.outbox.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 4);
+        executor.setThreadNamePrefix("outbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
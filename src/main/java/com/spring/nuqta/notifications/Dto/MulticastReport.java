@@ -0,0 +1,18 @@
+package com.spring.nuqta.notifications.Dto;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+
+import java.util.List;
+
+/**
+ * Outcome of a multicast fan-out, one entry per token that was not delivered.
+ */
+public record MulticastReport(int successCount, List<TokenFailure> failures) {
+
+    public record TokenFailure(String token, MessagingErrorCode errorCode) {
+    }
+
+    public int failureCount() {
+        return failures.size();
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring.nuqta.notifications.Entity;
+
+import com.spring.nuqta.base.Entity.BaseEntity;
+import com.spring.nuqta.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A push notification waiting to be delivered. Rows are inserted in the same transaction as the domain
+ * change that triggers them and delivered later by {@code NotificationOutboxWorker}.
+ * <p>
+ * {@code nextAttemptAt} doubles as a lease: claiming a row pushes it forward, so a row whose worker died
+ * becomes claimable again once the lease runs out.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at")
+})
+public class NotificationOutboxEntity extends BaseEntity<Long> {
+
+    @Column(name = "token", nullable = false, length = 4096)
+    private String token;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "body", nullable = false, length = 1024)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(name = "last_error")
+    private String lastError;
+}
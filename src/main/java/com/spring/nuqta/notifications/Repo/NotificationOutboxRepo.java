@@ -0,0 +1,40 @@
+package com.spring.nuqta.notifications.Repo;
+
+import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.notifications.Entity.NotificationOutboxEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepo extends BaseRepo<NotificationOutboxEntity, Long> {
+
+    /**
+     * Locks up to {@code limit} due rows. Rows already locked by another worker or node are skipped rather
+     * than waited on, so concurrent pollers never block each other or claim the same row.
+     */
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutboxEntity> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity n SET n.nextAttemptAt = :leaseUntil WHERE n.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity n SET n.status = com.spring.nuqta.enums.OutboxStatus.SENT, " +
+            "n.attempts = n.attempts + 1, n.lastError = null, n.modifiedDate = CURRENT_DATE WHERE n.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEntity n WHERE n.status = com.spring.nuqta.enums.OutboxStatus.SENT " +
+            "AND n.modifiedDate < :before")
+    int purgeSent(@Param("before") LocalDate before);
+}
@@ -0,0 +1,122 @@
+package com.spring.nuqta.notifications.Services;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.spring.nuqta.enums.OutboxStatus;
+import com.spring.nuqta.notifications.Entity.NotificationOutboxEntity;
+import com.spring.nuqta.notifications.Repo.NotificationOutboxRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox for push notifications: enqueue inside the domain transaction, deliver later.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+    private static final Set<MessagingErrorCode> PERMANENT_ERRORS = Set.of(
+            MessagingErrorCode.UNREGISTERED,
+            MessagingErrorCode.INVALID_ARGUMENT,
+            MessagingErrorCode.SENDER_ID_MISMATCH);
+
+    private final NotificationOutboxRepo outboxRepo;
+
+    @Value("${notification.outbox.lease-seconds:60}")
+    private long leaseSeconds = 60;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${notification.outbox.backoff-base-seconds:5}")
+    private long backoffBaseSeconds = 5;
+
+    @Value("${notification.outbox.backoff-max-seconds:1800}")
+    private long backoffMaxSeconds = 1800;
+
+    /**
+     * Queues a notification. Must run inside the caller's transaction so the row commits or rolls back
+     * together with the change it announces.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String token, String title, String body) {
+        NotificationOutboxEntity entry = new NotificationOutboxEntity();
+        entry.setToken(token);
+        entry.setTitle(title);
+        entry.setBody(body);
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        outboxRepo.save(entry);
+    }
+
+    /**
+     * Claims up to {@code limit} due notifications for this worker and leases them for
+     * {@code notification.outbox.lease-seconds}.
+     */
+    @Transactional
+    public List<NotificationOutboxEntity> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutboxEntity> due = outboxRepo.lockDue(now, limit);
+        if (!due.isEmpty()) {
+            outboxRepo.lease(due.stream().map(NotificationOutboxEntity::getId).toList(), now.plusSeconds(leaseSeconds));
+        }
+        return due;
+    }
+
+    /**
+     * Marks delivered rows as sent and reschedules failed ones with exponential backoff. Rows whose token
+     * FCM reports as permanently invalid, or that ran out of attempts, are marked failed.
+     *
+     * @param failures error code per failed row id; the code may be null when FCM gave none
+     */
+    @Transactional
+    public void complete(Collection<Long> sentIds, Map<Long, MessagingErrorCode> failures) {
+        if (!sentIds.isEmpty()) {
+            outboxRepo.markSent(sentIds);
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutboxEntity> failed = outboxRepo.findAllById(failures.keySet());
+        for (NotificationOutboxEntity entry : failed) {
+            MessagingErrorCode code = failures.get(entry.getId());
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setLastError(code != null ? code.name() : "UNKNOWN");
+            if ((code != null && PERMANENT_ERRORS.contains(code)) || entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(OutboxStatus.FAILED);
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+            }
+        }
+        outboxRepo.saveAll(failed);
+    }
+
+    @Transactional
+    public int purgeSent(LocalDate before) {
+        return outboxRepo.purgeSent(before);
+    }
+
+    /**
+     * base * 2^(attempts - 1), capped, plus up to 20% jitter so retries from many rows do not align.
+     */
+    Duration backoff(int attempts) {
+        long exponential = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        long seconds = Math.min(exponential, backoffMaxSeconds);
+        long jitterMillis = ThreadLocalRandom.current().nextLong(seconds * 200 + 1);
+        return Duration.ofSeconds(seconds).plusMillis(jitterMillis);
+    }
+}
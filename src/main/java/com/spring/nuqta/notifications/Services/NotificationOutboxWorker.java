@@ -0,0 +1,122 @@
+package com.spring.nuqta.notifications.Services;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.spring.nuqta.notifications.Config.NotificationExecutorConfig;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
+import com.spring.nuqta.notifications.Entity.NotificationOutboxEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Drains the notification outbox. Each poll claims a batch (FOR UPDATE SKIP LOCKED, so any number of
+ * nodes can poll at once), groups rows with identical content into multicast calls, sends the groups in
+ * parallel on the outbox pool and records the per-token outcome.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxWorker {
+
+    private static final int MAX_ROUNDS_PER_POLL = 10;
+
+    private final NotificationOutboxService outboxService;
+    private final NotificationService notificationService;
+    private final Executor outboxExecutor;
+
+    @Value("${notification.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${notification.outbox.retention-days:7}")
+    private int retentionDays = 7;
+
+    public NotificationOutboxWorker(NotificationOutboxService outboxService,
+                                    NotificationService notificationService,
+                                    @Qualifier(NotificationExecutorConfig.OUTBOX_EXECUTOR) Executor outboxExecutor) {
+        this.outboxService = outboxService;
+        this.notificationService = notificationService;
+        this.outboxExecutor = outboxExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        for (int round = 0; round < MAX_ROUNDS_PER_POLL; round++) {
+            List<NotificationOutboxEntity> claimed = outboxService.claim(batchSize);
+            if (!claimed.isEmpty()) {
+                deliver(claimed);
+            }
+            if (claimed.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        int purged = outboxService.purgeSent(LocalDate.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} delivered notifications from the outbox", purged);
+        }
+    }
+
+    void deliver(List<NotificationOutboxEntity> claimed) {
+        Map<List<String>, List<NotificationOutboxEntity>> groups = new LinkedHashMap<>();
+        for (NotificationOutboxEntity entry : claimed) {
+            groups.computeIfAbsent(List.of(entry.getTitle(), entry.getBody()), k -> new ArrayList<>()).add(entry);
+        }
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        List<Long> sent = new ArrayList<>();
+        Map<Long, MessagingErrorCode> failed = new HashMap<>();
+        for (List<NotificationOutboxEntity> group : groups.values()) {
+            sends.add(CompletableFuture
+                    .supplyAsync(() -> send(group), outboxExecutor)
+                    .handle((report, error) -> {
+                        synchronized (failed) {
+                            collect(group, report, sent, failed);
+                        }
+                        if (error != null) {
+                            log.error("Outbox multicast failed for {} notifications", group.size(), error);
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+
+        outboxService.complete(sent, failed);
+        log.debug("Outbox batch done: {} sent, {} failed", sent.size(), failed.size());
+    }
+
+    private MulticastReport send(List<NotificationOutboxEntity> group) {
+        NotificationOutboxEntity first = group.get(0);
+        List<String> tokens = group.stream().map(NotificationOutboxEntity::getToken).toList();
+        return notificationService.sendMulticast(tokens, first.getTitle(), first.getBody());
+    }
+
+    private static void collect(List<NotificationOutboxEntity> group, MulticastReport report,
+                                List<Long> sent, Map<Long, MessagingErrorCode> failed) {
+        Map<String, MessagingErrorCode> failedTokens = new HashMap<>();
+        if (report != null) {
+            report.failures().forEach(f -> failedTokens.put(f.token(), f.errorCode()));
+        }
+        for (NotificationOutboxEntity entry : group) {
+            if (report == null) {
+                failed.put(entry.getId(), null);
+            } else if (failedTokens.containsKey(entry.getToken())) {
+                failed.put(entry.getId(), failedTokens.get(entry.getToken()));
+            } else {
+                sent.add(entry.getId());
+            }
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package com.spring.nuqta.notifications.Services;
 
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.*;
 import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.notifications.Config.NotificationExecutorConfig;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
 import com.spring.nuqta.notifications.Dto.NotificationRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Slf4j
 public class NotificationService {
 
+    /**
+     * FCM limit on tokens per multicast call.
+     */
+    public static final int MAX_MULTICAST_TOKENS = 500;
+
     private final FirebaseMessaging firebaseMessaging;
 
     public NotificationService(FirebaseMessaging firebaseMessaging) {
@@ -47,4 +58,65 @@ public class NotificationService {
             throw new GlobalException("notification.failed.send", HttpStatus.BAD_REQUEST);
         }
     }
+
+    /**
+     * Runs {@link #sendMulticast} on the bounded notification executor and returns immediately.
+     */
+    @Async(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
+    public CompletableFuture<MulticastReport> sendMulticastAsync(Collection<String> tokens, String title, String body) {
+        return CompletableFuture.completedFuture(sendMulticast(tokens, title, body));
+    }
+
+    /**
+     * Sends one notification to every token, {@link #MAX_MULTICAST_TOKENS} tokens per FCM call.
+     * A failed batch is recorded against each of its tokens instead of aborting the remaining batches.
+     */
+    public MulticastReport sendMulticast(Collection<String> tokens, String title, String body) {
+        if (title == null || title.isEmpty()) {
+            throw new GlobalException("notification.title.empty", HttpStatus.BAD_REQUEST);
+        }
+        if (body == null || body.isEmpty()) {
+            throw new GlobalException("notification.message.empty", HttpStatus.BAD_REQUEST);
+        }
+
+        List<String> targets = tokens.stream()
+                .filter(Objects::nonNull)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+        Notification notification = Notification.builder()
+                .setTitle(title)
+                .setBody(body)
+                .build();
+
+        int success = 0;
+        List<MulticastReport.TokenFailure> failures = new ArrayList<>();
+        for (int from = 0; from < targets.size(); from += MAX_MULTICAST_TOKENS) {
+            List<String> batch = targets.subList(from, Math.min(from + MAX_MULTICAST_TOKENS, targets.size()));
+            MulticastMessage message = MulticastMessage.builder()
+                    .addAllTokens(batch)
+                    .setNotification(notification)
+                    .build();
+            try {
+                List<SendResponse> responses = firebaseMessaging.sendEachForMulticast(message).getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    SendResponse response = responses.get(i);
+                    if (response.isSuccessful()) {
+                        success++;
+                    } else {
+                        failures.add(new MulticastReport.TokenFailure(batch.get(i),
+                                response.getException() != null ? response.getException().getMessagingErrorCode() : null));
+                    }
+                }
+            } catch (FirebaseMessagingException e) {
+                log.error("Failed to send multicast batch of {} tokens: {}", batch.size(), e.getMessage());
+                for (String token : batch) {
+                    failures.add(new MulticastReport.TokenFailure(token, e.getMessagingErrorCode()));
+                }
+            }
+        }
+
+        log.info("Push fan-out finished: {} delivered, {} failed", success, failures.size());
+        return new MulticastReport(success, failures);
+    }
 }
@@ -1,12 +1,13 @@
 package com.spring.nuqta.organization.Controller;
 
+import com.spring.nuqta.base.Dto.CursorPageDto;
 import com.spring.nuqta.organization.Dto.AddOrgDto;
 import com.spring.nuqta.organization.Dto.OrgDto;
 import com.spring.nuqta.organization.Dto.OrgRequestDto;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Mapper.AddOrgMapper;
-import com.spring.nuqta.organization.Mapper.OrgMapper;
 import com.spring.nuqta.organization.Mapper.OrgRequestMapper;
+import com.spring.nuqta.organization.Services.OrgReadService;
 import com.spring.nuqta.organization.Services.OrgServices;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +18,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Tag(name = "Organization", description = "APIs for managing organizations")
@@ -27,20 +27,21 @@ import java.util.Map;
 public class OrgController {
 
     private final OrgServices orgServices;
-    private final OrgMapper orgMapper;
+    private final OrgReadService orgReadService;
     private final AddOrgMapper addOrgMapper;
     private final OrgRequestMapper orgRequestMapper;
     private final MessageSource ms;
 
     @GetMapping("")
-    public ResponseEntity<List<OrgDto>> getAllOrg() {
-        List<OrgDto> dtos = orgMapper.map(orgServices.findAll());
-        return new ResponseEntity<>(dtos, HttpStatus.OK);
+    public ResponseEntity<CursorPageDto<OrgDto>> getAllOrg(@RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "limit", required = false) Integer limit) {
+        CursorPageDto<OrgDto> page = orgReadService.findPage(cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrgDto> getOrgById(@PathVariable Long id) {
-        OrgDto dto = orgMapper.map(orgServices.findById(id));
+        OrgDto dto = orgReadService.findById(id);
         return new ResponseEntity<>(dto, HttpStatus.OK);
     }
 
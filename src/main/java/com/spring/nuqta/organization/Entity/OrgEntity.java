@@ -3,6 +3,7 @@ package com.spring.nuqta.organization.Entity;
 import com.spring.nuqta.base.Entity.BaseEntity;
 import com.spring.nuqta.enums.Scope;
 import com.spring.nuqta.forgotPassword.Entity.ResetPasswordEntity;
+import com.spring.nuqta.location.Entity.LocationEntity;
 import com.spring.nuqta.request.Entity.ReqEntity;
 import com.spring.nuqta.verificationToken.Entity.VerificationToken;
 import jakarta.persistence.*;
@@ -14,6 +15,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Set;
@@ -23,10 +25,19 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "organization")
+@Table(name = "organization", indexes = {
+        @Index(name = "idx_organization_created_date_id", columnList = "created_date, id")
+})
+@NamedEntityGraph(name = OrgEntity.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("uploadedRequests"))
+@BatchSize(size = 50)
 @DynamicUpdate
 public class OrgEntity extends BaseEntity<Long> {
 
+    /**
+     * Detail view: the organization with its uploaded requests.
+     */
+    public static final String DETAIL_GRAPH = "Org.detail";
+
     @NotBlank(message = "Organization name cannot be blank")
     @Size(max = 100, message = "Organization name cannot exceed 100 characters")
     @Column(unique = true, nullable = false, length = 50)
@@ -49,6 +60,14 @@ public class OrgEntity extends BaseEntity<Long> {
     @Size(max = 50, message = "Conservatism level cannot exceed 50 characters")
     private String conservatism;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "city_id", referencedColumnName = "id")
+    private LocationEntity cityLocation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "conservatism_id", referencedColumnName = "id")
+    private LocationEntity conservatismLocation;
+
     @NotBlank(message = "Phone number cannot be blank")
     @Size(max = 15, message = "Phone number cannot exceed 15 characters")
     private String phoneNumber;
@@ -64,10 +83,11 @@ public class OrgEntity extends BaseEntity<Long> {
 
     private boolean enabled = false;
 
-    @Column(name = "fcm_token", nullable = false)
+    @Column(name = "fcm_token")
     private String fcmToken;
 
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private Set<ReqEntity> uploadedRequests;
 
     @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL)
@@ -1,23 +1,33 @@
 package com.spring.nuqta.organization.Repo;
 
 import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.base.Repo.KeysetRepo;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Projection.OrgAuthProjection;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrgRepo extends BaseRepo<OrgEntity, Long> {
+public interface OrgRepo extends BaseRepo<OrgEntity, Long>, KeysetRepo<OrgEntity, Long> {
 
     List<OrgEntity> findAllByEnabledTrue();
 
     Optional<OrgEntity> findByIdAndEnabledTrue(Long id);
 
+    @EntityGraph(OrgEntity.DETAIL_GRAPH)
+    Optional<OrgEntity> findDetailByIdAndEnabledTrue(Long id);
+
     Optional<OrgEntity> findByEmail(String email);
 
     Optional<OrgEntity> findByLicenseNumberOrEmail(@NotBlank(message = "License number cannot be blank") @Size(max = 50, message = "License number cannot exceed 50 characters") String licenseNumber, @NotBlank(message = "Email cannot be blank") @Email(message = "Email should be valid") String email);
@@ -32,4 +42,12 @@ public interface OrgRepo extends BaseRepo<OrgEntity, Long> {
 
     boolean existsByOrgNameAndIdNot(@NotBlank(message = "Organization name cannot be blank") @Size(max = 100, message = "Organization name cannot exceed 100 characters") String orgName, Long id);
 
+    /**
+     * Forgets FCM tokens that Firebase no longer accepts, so later fan-outs skip them.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrgEntity o SET o.fcmToken = null WHERE o.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
 }
@@ -0,0 +1,57 @@
+package com.spring.nuqta.organization.Services;
+
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Services.CacheTags;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.organization.Dto.OrgDto;
+import com.spring.nuqta.organization.Entity.OrgEntity;
+import com.spring.nuqta.organization.Mapper.OrgMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cached read side of the organization endpoints; the {@code org-*} regions hold {@link OrgDto}s, not entities, and
+ * not-found results go to the {@link NotFoundCache}. The organization list is served in keyset pages
+ * ({@link Keyset}).
+ */
+@Service
+@RequiredArgsConstructor
+public class OrgReadService {
+
+    private final OrgServices orgServices;
+    private final OrgMapper orgMapper;
+    private final NotFoundCache notFoundCache;
+
+    @Cacheable(cacheNames = CacheRegions.ORG_PAGE, sync = true)
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrgDto> findPage(String cursor, Integer limit) throws GlobalException {
+        Keyset.Cursor from = Keyset.decode(cursor);
+        int size = Keyset.limit(limit);
+        return notFoundCache.load(CacheRegions.ORG_PAGE, "first", CacheTags.ORG_LIST, () -> {
+            List<OrgEntity> rows = orgServices.findPage(from, size);
+            if (rows.isEmpty() && from.isFirst()) {
+                throw new GlobalException("org.no.organizations", HttpStatus.NOT_FOUND);
+            }
+            return page(rows, size);
+        });
+    }
+
+    @Cacheable(cacheNames = CacheRegions.ORG_BY_ID, sync = true)
+    @Transactional(readOnly = true)
+    public OrgDto findById(Long id) throws GlobalException {
+        return notFoundCache.load(CacheRegions.ORG_BY_ID, id, CacheTags.ORG_LIST,
+                () -> orgMapper.map(orgServices.findById(id)));
+    }
+
+    private CursorPageDto<OrgDto> page(List<OrgEntity> rows, int size) {
+        return Keyset.page(rows, size, orgMapper::map);
+    }
+}
@@ -1,17 +1,22 @@
 package com.spring.nuqta.organization.Services;
 
-import com.spring.nuqta.base.Services.BaseServices;
+import com.spring.nuqta.base.Services.KeysetServices;
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
+import com.spring.nuqta.enums.LocationType;
 import com.spring.nuqta.enums.Scope;
 import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.forgotPassword.Repo.ResetPasswordRepo;
+import com.spring.nuqta.location.Services.LocationService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
+import com.spring.nuqta.request.Repo.ReqRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
 import com.spring.nuqta.verificationToken.General.GeneralVerification;
+import com.spring.nuqta.verificationToken.Repo.VerificationTokenRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
@@ -24,30 +29,34 @@ import java.util.*;
 
 /**
  * Service class for handling Organization-related operations.
- * Extends BaseServices to provide basic CRUD functionality.
+ * Extends KeysetServices to provide basic CRUD functionality and keyset paging.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class OrgServices extends BaseServices<OrgEntity, Long> {
+public class OrgServices extends KeysetServices<OrgEntity> {
 
     private final OrgRepo organizationRepository;
     private final PasswordEncoder passwordEncoder;
     private final GeneralVerification generalVerification;
     private final UserRepo userRepo;
+    private final ReqRepo reqRepo;
+    private final VerificationTokenRepo verificationTokenRepo;
+    private final ResetPasswordRepo resetPasswordRepo;
+    private final LocationService locationService;
+    private final CacheTagService cacheTagService;
 
     private final MessageSource ms;
 
 
     /**
      * Retrieves all organizations from the database.
-     * Uses caching to optimize retrieval performance.
+     * Cached as DTOs by {@link OrgReadService}.
      *
      * @return List of all organizations.
      * @throws GlobalException if no organizations are found.
      */
     @Override
-    @Cacheable(value = "org", key = "'allOrg'")
     public List<OrgEntity> findAll() throws GlobalException {
         List<OrgEntity> organizations = organizationRepository.findAllByEnabledTrue();
         if (organizations.isEmpty()) {
@@ -58,16 +67,15 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
 
     /**
      * Retrieves an organization by its ID.
-     * Uses caching to improve performance.
+     * Cached as a DTO by {@link OrgReadService}.
      *
      * @param id Organization ID.
      * @return The organization entity.
      * @throws GlobalException if the organization is not found.
      */
     @Override
-    @Cacheable(value = "org", key = "#id")
     public OrgEntity findById(Long id) throws GlobalException {
-        Optional<OrgEntity> organization = organizationRepository.findByIdAndEnabledTrue(id);
+        Optional<OrgEntity> organization = organizationRepository.findDetailByIdAndEnabledTrue(id);
         if (organization.isEmpty()) {
             String msg = messageParam(id, "org.not.found");
             throw new GlobalException(msg, HttpStatus.NOT_FOUND);
@@ -77,14 +85,13 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
 
     /**
      * Updates an existing organization.
-     * Uses caching to store the updated entity.
+     * Evicts the cached entries that contain the organization.
      *
      * @param entity Organization entity with updated details.
      * @return The updated organization.
      * @throws GlobalException if the entity or its ID is null, or if the organization is not found.
      */
     @Override
-    @CacheEvict(value = "org", allEntries = true) // Clear all cached users
     public OrgEntity update(OrgEntity entity) throws GlobalException {
         if (entity == null || entity.getId() == null) {
             throw new GlobalException("org.id.null", HttpStatus.BAD_REQUEST);
@@ -107,23 +114,25 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
         existingOrganization.setOrgName(entity.getOrgName());
         existingOrganization.setCity(entity.getCity());
         existingOrganization.setConservatism(entity.getConservatism());
+        assignLocations(existingOrganization);
         existingOrganization.setPhoneNumber(entity.getPhoneNumber());
 
         existingOrganization.setModifiedDate(LocalDate.now());
         existingOrganization.setModifiedUser(entity.getOrgName());
 
-        return organizationRepository.save(existingOrganization);
+        OrgEntity saved = organizationRepository.save(existingOrganization);
+        cacheTagService.invalidate(CacheTags.org(entity.getId()));
+        return saved;
     }
 
     /**
      * Deletes an organization by its ID.
-     * Removes the entity from the cache upon deletion.
+     * Evicts the cached entries that contain the organization.
      *
      * @param id Organization ID.
      * @throws GlobalException if the organization is not found.
      */
     @Override
-    @CacheEvict(value = "org", key = "'allOrg'", allEntries = true)
     public void deleteById(Long id) throws GlobalException {
         boolean organization = organizationRepository.existsById(id);
         if (!organization) {
@@ -132,16 +141,36 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
             throw new GlobalException(msg, HttpStatus.NOT_FOUND);
         }
         organizationRepository.deleteById(id);
+        cacheTagService.invalidate(CacheTags.org(id), CacheTags.ORG_LIST);
+    }
+
+    /**
+     * Deletes the requests, verification tokens and password resets of the organizations, which
+     * {@link #deleteById} removes through the entity cascades.
+     */
+    @Override
+    protected void deleteDependents(List<Long> ids) {
+        reqRepo.deleteByOrganizationIds(ids);
+        verificationTokenRepo.deleteByOrganizationIds(ids);
+        resetPasswordRepo.deleteByOrganizationIds(ids);
+    }
+
+    @Override
+    protected void afterBulkWrite(List<Long> ids) {
+        List<String> tags = new ArrayList<>(ids.size() + 2);
+        ids.forEach(id -> tags.add(CacheTags.org(id)));
+        tags.add(CacheTags.ORG_LIST);
+        tags.add(CacheTags.REQUEST_LIST);
+        cacheTagService.invalidate(tags.toArray(String[]::new));
     }
 
     /**
      * Creates and saves a new organization.
-     * Clears the organization cache to ensure fresh data is retrieved.
+     * Evicts the cached organization lists.
      *
      * @param params Organization entity containing new organization details.
      * @throws GlobalException if validation fails or the email/license number already exists.
      */
-    @CacheEvict(value = "org", allEntries = true)
     public void saveOrg(OrgEntity params) {
         validateOrganizationFields(params);
 
@@ -160,6 +189,7 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
         organizationCreation.setEmail(params.getEmail());
         organizationCreation.setCity(params.getCity());
         organizationCreation.setConservatism(params.getConservatism());
+        assignLocations(organizationCreation);
         organizationCreation.setPhoneNumber(params.getPhoneNumber());
         organizationCreation.setScope(params.getScope());
         organizationCreation.setPassword(passwordEncoder.encode(params.getPassword()));
@@ -171,11 +201,17 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
         organizationCreation.setCreatedUser(params.getOrgName());
 
         organizationCreation = organizationRepository.save(organizationCreation);
+        cacheTagService.invalidate(CacheTags.ORG_LIST);
 
         // Sending OTP verification email
         generalVerification.sendOtpEmail(organizationCreation);
     }
 
+    private void assignLocations(OrgEntity organization) {
+        organization.setCityLocation(locationService.resolve(organization.getCity(), LocationType.CITY));
+        organization.setConservatismLocation(locationService.resolve(organization.getConservatism(), LocationType.GOVERNORATE));
+    }
+
     /**
      * Changes the password of an organization.
      * Uses cache eviction to remove outdated password data.
@@ -185,7 +221,6 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
      * @param newPassword New password.
      * @throws GlobalException if the organization is not found or the old password is incorrect.
      */
-    @CacheEvict(value = "org", key = "#orgId", allEntries = true)
     public void changeOrgPassword(Long orgId, String oldPassword, String newPassword) {
         Optional<OrgEntity> org = organizationRepository.findById(orgId);
 
@@ -202,6 +237,7 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
         // Update and encode the new password
         org.get().setPassword(passwordEncoder.encode(newPassword));
         organizationRepository.save(org.get());
+        cacheTagService.invalidate(CacheTags.org(orgId));
     }
 
     /**
@@ -211,7 +247,6 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
      * @param fcmToken New FCM token.
      * @return ResponseEntity with success or failure message.
      */
-    @CacheEvict(value = "org", key = "#id", allEntries = true)
     public ResponseEntity<?> updateFcmToken(Long id, String fcmToken) {
         Optional<OrgEntity> orgOptional = organizationRepository.findById(id);
         Map<String, String> response = new HashMap<>();
@@ -220,6 +255,7 @@ public class OrgServices extends BaseServices<OrgEntity, Long> {
             OrgEntity org = orgOptional.get();
             org.setFcmToken(fcmToken);
             organizationRepository.save(org);
+            cacheTagService.invalidate(CacheTags.org(id));
             response.put("message", getMS("error.user.fcmToken.update"));
             return new ResponseEntity<>(response, HttpStatus.OK);
         } else {
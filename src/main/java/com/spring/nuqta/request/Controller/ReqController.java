@@ -1,12 +1,13 @@
 package com.spring.nuqta.request.Controller;
 
 import com.google.firebase.messaging.FirebaseMessagingException;
+import com.spring.nuqta.base.Dto.CursorPageDto;
 import com.spring.nuqta.exception.GlobalException;
 import com.spring.nuqta.request.Dto.AddReqDto;
 import com.spring.nuqta.request.Dto.ReqDto;
 import com.spring.nuqta.request.Entity.ReqEntity;
 import com.spring.nuqta.request.Mapper.AddReqMapper;
-import com.spring.nuqta.request.Mapper.ReqMapper;
+import com.spring.nuqta.request.Services.ReqReadService;
 import com.spring.nuqta.request.Services.ReqServices;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -29,19 +30,20 @@ import java.util.Map;
 public class ReqController {
 
     private final ReqServices reqServices;
-    private final ReqMapper reqMapper;
+    private final ReqReadService reqReadService;
     private final AddReqMapper addReqMapper;
     private final MessageSource ms;
 
     @GetMapping()
-    public ResponseEntity<?> getAllReq() {
-        List<ReqDto> dto = reqMapper.map(reqServices.findAll());
-        return new ResponseEntity<>(dto, HttpStatus.OK);
+    public ResponseEntity<?> getAllReq(@RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        CursorPageDto<ReqDto> page = reqReadService.findPage(cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getReqById(@PathVariable Long id) {
-        ReqDto reqDto = reqMapper.map(reqServices.findById(id));
+        ReqDto reqDto = reqReadService.findById(id);
         return new ResponseEntity<>(reqDto, HttpStatus.OK);
     }
 
@@ -109,14 +111,35 @@ public class ReqController {
     }
 
     @GetMapping("nearest/city")
-    public ResponseEntity<?> getNearestRequestsCity(@RequestParam("city") String city) {
-        List<ReqDto> dto = reqMapper.map(reqServices.getRequestsByCity(city));
+    public ResponseEntity<?> getNearestRequestsCity(@RequestParam("city") String city,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "limit", required = false) Integer limit) {
+        CursorPageDto<ReqDto> page = reqReadService.getRequestsByCity(city, cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("nearest/radius")
+    public ResponseEntity<?> getRequestsWithinRadius(@RequestParam("latitude") Double latitude,
+                                                     @RequestParam("longitude") Double longitude,
+                                                     @RequestParam(value = "radius", defaultValue = "10000") Double radius,
+                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        List<ReqDto> dto = reqReadService.getRequestsWithinRadius(latitude, longitude, radius, limit);
         return new ResponseEntity<>(dto, HttpStatus.OK);
     }
 
-    @GetMapping("nearest/conservatism")
-    public ResponseEntity<?> getNearestRequestsConservatism(@RequestParam("conservatism") String conservatism) {
-        List<ReqDto> dto = reqMapper.map(reqServices.getRequestsByConservatism(conservatism));
+    @GetMapping("nearest/k")
+    public ResponseEntity<?> getNearestRequestsByLocation(@RequestParam("latitude") Double latitude,
+                                                          @RequestParam("longitude") Double longitude,
+                                                          @RequestParam(value = "limit", required = false) Integer limit) {
+        List<ReqDto> dto = reqReadService.getNearestRequests(latitude, longitude, limit);
         return new ResponseEntity<>(dto, HttpStatus.OK);
     }
+
+    @GetMapping("nearest/conservatism")
+    public ResponseEntity<?> getNearestRequestsConservatism(@RequestParam("conservatism") String conservatism,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "limit", required = false) Integer limit) {
+        CursorPageDto<ReqDto> page = reqReadService.getRequestsByConservatism(conservatism, cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
@@ -48,6 +48,14 @@ public class AddReqDto extends BaseDto<Long> {
     @JsonProperty("conservatism")
     private String conservatism;
 
+    @Schema(description = "Latitude where the request is made", example = "30.0444")
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @Schema(description = "Longitude where the request is made", example = "31.2357")
+    @JsonProperty("longitude")
+    private Double longitude;
+
     @Schema(description = "User ID (only for input)", example = "1")
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // Accept in request, hide in response
     private Long userId;
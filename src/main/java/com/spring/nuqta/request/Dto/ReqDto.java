@@ -52,6 +52,14 @@ public class ReqDto extends BaseDto<Long> {
     @JsonProperty("conservatism")
     private String conservatism;
 
+    @Schema(description = "Latitude where the request is made", example = "30.0444")
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @Schema(description = "Longitude where the request is made", example = "31.2357")
+    @JsonProperty("longitude")
+    private Double longitude;
+
     @Schema(description = "User details", example = "{}")
     private UserResponseToReqDto user;
 
@@ -4,6 +4,7 @@ import com.spring.nuqta.base.Entity.BaseEntity;
 import com.spring.nuqta.donation.Entity.DonEntity;
 import com.spring.nuqta.enums.Level;
 import com.spring.nuqta.enums.Status;
+import com.spring.nuqta.location.Entity.LocationEntity;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import jakarta.persistence.*;
@@ -12,6 +13,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
@@ -23,10 +25,25 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = {
+        @Index(name = "idx_requests_created_date_id", columnList = "created_date, id"),
+        @Index(name = "idx_requests_city_created_date_id", columnList = "city_id, created_date, id"),
+        @Index(name = "idx_requests_conservatism_created_date_id", columnList = "conservatism_id, created_date, id")
+})
+@NamedEntityGraph(name = ReqEntity.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("organization"),
+        @NamedAttributeNode(value = "donations", subgraph = "donation")
+}, subgraphs = @NamedSubgraph(name = "donation", attributeNodes = @NamedAttributeNode("user")))
+@BatchSize(size = 50)
 @DynamicUpdate
 public class ReqEntity extends BaseEntity<Long> {
 
+    /**
+     * Detail view: the request with its owner and the accepting donations and their donors.
+     */
+    public static final String DETAIL_GRAPH = "Request.detail";
+
     @NotNull(message = "Blood type is required.")
     @Column(name = "blood_type_needed", nullable = false)
     private String bloodTypeNeeded;
@@ -54,6 +71,20 @@ public class ReqEntity extends BaseEntity<Long> {
     @Column(name = "conservatism", nullable = false)
     private String conservatism;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "city_id", referencedColumnName = "id")
+    private LocationEntity cityLocation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "conservatism_id", referencedColumnName = "id")
+    private LocationEntity conservatismLocation;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @ManyToOne()
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private UserEntity user;
@@ -62,7 +93,8 @@ public class ReqEntity extends BaseEntity<Long> {
     @JoinColumn(name = "org_id", referencedColumnName = "id")
     private OrgEntity organization;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE})
+    @ManyToMany(cascade = {CascadeType.MERGE})
+    @BatchSize(size = 50)
     @JoinTable(
             name = "request_donation",
             joinColumns = @JoinColumn(name = "request_id"),
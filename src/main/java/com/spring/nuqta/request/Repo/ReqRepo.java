@@ -1,27 +1,101 @@
 package com.spring.nuqta.request.Repo;
 
 import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.base.Repo.KeysetRepo;
 import com.spring.nuqta.request.Entity.ReqEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 @Repository
-public interface ReqRepo extends BaseRepo<ReqEntity, Long> {
+public interface ReqRepo extends BaseRepo<ReqEntity, Long>, KeysetRepo<ReqEntity, Long> {
 
     @Modifying
     @Query("DELETE FROM ReqEntity r WHERE r.id = :id")
     void hardDeleteById(@Param("id") Long id);
 
+    /**
+     * Deletes the requests uploaded by the given users, with their request_donation rows.
+     */
+    @Modifying
+    @Query("DELETE FROM ReqEntity r WHERE r.user.id IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Deletes the requests uploaded by the given organizations, with their request_donation rows.
+     */
+    @Modifying
+    @Query("DELETE FROM ReqEntity r WHERE r.organization.id IN :orgIds")
+    int deleteByOrganizationIds(@Param("orgIds") Collection<Long> orgIds);
+
+    @EntityGraph(ReqEntity.DETAIL_GRAPH)
+    Optional<ReqEntity> findDetailById(Long id);
+
     List<ReqEntity> findByUserId(Long user_id);
 
     List<ReqEntity> findByOrganizationId(Long organization_id);
 
-    List<ReqEntity> findAllByCityContainingIgnoreCase(String city);
+    /**
+     * Keyset page of the requests in the given cities (index on {@code (city_id, created_date, id)}).
+     */
+    @Query("SELECT r FROM ReqEntity r " +
+            "WHERE r.cityLocation.id IN :cityIds AND (r.createdDate, r.id) < (:createdDate, :id) " +
+            "ORDER BY r.createdDate DESC, r.id DESC")
+    List<ReqEntity> findPageByCityLocationIdIn(@Param("cityIds") Collection<Long> cityIds,
+                                               @Param("createdDate") LocalDate createdDate,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    /**
+     * Keyset page of the requests in the given governorates (index on {@code (conservatism_id, created_date, id)}).
+     */
+    @Query("SELECT r FROM ReqEntity r " +
+            "WHERE r.conservatismLocation.id IN :conservatismIds AND (r.createdDate, r.id) < (:createdDate, :id) " +
+            "ORDER BY r.createdDate DESC, r.id DESC")
+    List<ReqEntity> findPageByConservatismLocationIdIn(@Param("conservatismIds") Collection<Long> conservatismIds,
+                                                       @Param("createdDate") LocalDate createdDate,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
+
+    /**
+     * Open requests within {@code radius} metres of the point, nearest first (GiST index on requests.location).
+     */
+    @Query(value = "SELECT r.* FROM requests r " +
+            "WHERE r.status = 'OPEN' " +
+            "AND ST_DWithin(r.location, CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :radius) " +
+            "ORDER BY r.location <-> CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ReqEntity> findWithinRadius(@Param("latitude") double latitude,
+                                     @Param("longitude") double longitude,
+                                     @Param("radius") double radius,
+                                     @Param("limit") int limit);
+
+    /**
+     * The {@code limit} open requests closest to the point, using a k-nearest-neighbour index scan.
+     */
+    @Query(value = "SELECT r.* FROM requests r " +
+            "WHERE r.status = 'OPEN' AND r.location IS NOT NULL " +
+            "ORDER BY r.location <-> CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ReqEntity> findNearest(@Param("latitude") double latitude,
+                                @Param("longitude") double longitude,
+                                @Param("limit") int limit);
 
-    List<ReqEntity> findAllByConservatismContainingIgnoreCase(String conservatism);
+    /**
+     * Cities with the most open requests, busiest first.
+     */
+    @Query(value = "SELECT r.city FROM requests r " +
+            "WHERE r.status = 'OPEN' AND r.city IS NOT NULL " +
+            "GROUP BY r.city ORDER BY COUNT(*) DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<String> findBusiestOpenCities(@Param("limit") int limit);
 }
@@ -0,0 +1,92 @@
+package com.spring.nuqta.request.Services;
+
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Services.CacheTags;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.request.Dto.ReqDto;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import com.spring.nuqta.request.Mapper.ReqMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cached read side of the request endpoints.
+ * <p>
+ * The {@code request-*} regions hold the mapped {@link ReqDto}s, not the JPA entities, so a hit is a single
+ * small deserialization with no mapping and no entity graph behind it. Not-found results go to the
+ * {@link NotFoundCache} until a request is created.
+ * <p>
+ * Lists are keyset pages ({@link Keyset}), cached per cursor and limit.
+ * <p>
+ * Associations are lazy, so every DTO is mapped inside the read-only transaction, where the collections are
+ * batch fetched. The geo searches depend on the caller's point and are not cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReqReadService {
+
+    private final ReqServices reqServices;
+    private final ReqMapper reqMapper;
+    private final NotFoundCache notFoundCache;
+
+    @Cacheable(cacheNames = CacheRegions.REQUEST_PAGE, sync = true)
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReqDto> findPage(String cursor, Integer limit) throws GlobalException {
+        Keyset.Cursor from = Keyset.decode(cursor);
+        int size = Keyset.limit(limit);
+        return notFoundCache.load(CacheRegions.REQUEST_PAGE, "first", CacheTags.REQUEST_LIST, () -> {
+            List<ReqEntity> rows = reqServices.findPage(from, size);
+            if (rows.isEmpty() && from.isFirst()) {
+                throw new GlobalException("error.request.no_requests", HttpStatus.NOT_FOUND);
+            }
+            return page(rows, size);
+        });
+    }
+
+    @Cacheable(cacheNames = CacheRegions.REQUEST_BY_ID, sync = true)
+    @Transactional(readOnly = true)
+    public ReqDto findById(Long id) throws GlobalException {
+        return notFoundCache.load(CacheRegions.REQUEST_BY_ID, id, CacheTags.REQUEST_LIST,
+                () -> reqMapper.map(reqServices.findById(id)));
+    }
+
+    @Cacheable(cacheNames = CacheRegions.REQUEST_BY_CITY, sync = true)
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReqDto> getRequestsByCity(String city, String cursor, Integer limit) {
+        Keyset.Cursor from = Keyset.decode(cursor);
+        int size = Keyset.limit(limit);
+        return notFoundCache.load(CacheRegions.REQUEST_BY_CITY, city, CacheTags.REQUEST_LIST,
+                () -> page(reqServices.getRequestsByCity(city, from, size), size));
+    }
+
+    @Cacheable(cacheNames = CacheRegions.REQUEST_BY_CONSERVATISM, sync = true)
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReqDto> getRequestsByConservatism(String conservatism, String cursor, Integer limit) {
+        Keyset.Cursor from = Keyset.decode(cursor);
+        int size = Keyset.limit(limit);
+        return notFoundCache.load(CacheRegions.REQUEST_BY_CONSERVATISM, conservatism, CacheTags.REQUEST_LIST,
+                () -> page(reqServices.getRequestsByConservatism(conservatism, from, size), size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReqDto> getRequestsWithinRadius(Double latitude, Double longitude, Double radius, Integer limit) {
+        return reqMapper.map(reqServices.getRequestsWithinRadius(latitude, longitude, radius, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReqDto> getNearestRequests(Double latitude, Double longitude, Integer limit) {
+        return reqMapper.map(reqServices.getNearestRequests(latitude, longitude, limit));
+    }
+
+    private CursorPageDto<ReqDto> page(List<ReqEntity> rows, int size) {
+        return Keyset.page(rows, size, reqMapper::map);
+    }
+}
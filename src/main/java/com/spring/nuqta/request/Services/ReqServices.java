@@ -1,11 +1,22 @@
 package com.spring.nuqta.request.Services;
 
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.spring.nuqta.base.Services.BaseServices;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.spring.nuqta.base.Services.GeoSearch;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.base.Services.KeysetServices;
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.donation.Index.DonorIndex;
 import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.enums.BloodType;
+import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.enums.LocationType;
 import com.spring.nuqta.exception.GlobalException;
-import com.spring.nuqta.notifications.Dto.NotificationRequest;
+import com.spring.nuqta.location.Entity.LocationEntity;
+import com.spring.nuqta.location.Services.LocationService;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
 import com.spring.nuqta.notifications.Services.NotificationService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
@@ -15,40 +26,49 @@ import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service class to handle CRUD operations for blood donation requests.
- * Extends BaseServices to inherit common service functionalities.
+ * Extends KeysetServices to inherit common service functionalities and keyset paging.
  */
 @Slf4j
 @Service
 @AllArgsConstructor
-public class ReqServices extends BaseServices<ReqEntity, Long> {
+public class ReqServices extends KeysetServices<ReqEntity> {
+
+    private static final int DONOR_MATCH_LIMIT = 50;
+    private static final double DONOR_INDEX_RADIUS_METERS = 25_000;
 
     private final ReqRepo reqRepo;
     private final UserRepo userRepo;
     private final OrgRepo orgRepo;
     private final NotificationService notificationService;
     private final DonRepo donRepo;
-    private final CacheManager cacheManager;
+    private final CacheTagService cacheTagService;
     private final MessageSource ms;
+    private final ObjectProvider<DonorIndex> donorIndex;
+    private final LocationService locationService;
 
     @Override
-    @Cacheable(value = "requests")
     public List<ReqEntity> findAll() throws GlobalException {
         List<ReqEntity> requests = reqRepo.findAll();
         if (requests.isEmpty()) {
@@ -58,11 +78,10 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
     }
 
     @Override
-    @Cacheable(value = "requests", key = "#id")
     public ReqEntity findById(Long id) throws GlobalException {
         validId(id);
         String msg = messageParam(id, "error.request.notfound");
-        return reqRepo.findById(id)
+        return reqRepo.findDetailById(id)
                 .orElseThrow(() -> new GlobalException(msg, HttpStatus.NOT_FOUND));
     }
 
@@ -76,24 +95,43 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
         return reqRepo.findByOrganizationId(orgId);
     }
 
-    @Cacheable(value = "requests")
-    public List<ReqEntity> getRequestsByCity(String city) {
-        List<ReqEntity> requests = reqRepo.findAllByCityContainingIgnoreCase(city);
-        if (requests.isEmpty()) {
+    /**
+     * Keyset page of the requests in the city, {@code limit + 1} rows (see {@link Keyset#page}).
+     */
+    public List<ReqEntity> getRequestsByCity(String city, Keyset.Cursor cursor, int limit) {
+        Set<Long> locationIds = locationService.match(city, LocationType.CITY);
+        List<ReqEntity> requests = locationIds.isEmpty() ? List.of()
+                : reqRepo.findPageByCityLocationIdIn(locationIds, cursor.createdDate(), cursor.id(), Limit.of(limit + 1));
+        if (requests.isEmpty() && cursor.isFirst()) {
             throw new GlobalException("error.request.no_requests", HttpStatus.NOT_FOUND);
         }
         return requests;
     }
 
-    @Cacheable(value = "requests")
-    public List<ReqEntity> getRequestsByConservatism(String conservatism) {
-        List<ReqEntity> requests = reqRepo.findAllByConservatismContainingIgnoreCase(conservatism);
-        if (requests.isEmpty()) {
+    /**
+     * Keyset page of the requests in the governorate, {@code limit + 1} rows (see {@link Keyset#page}).
+     */
+    public List<ReqEntity> getRequestsByConservatism(String conservatism, Keyset.Cursor cursor, int limit) {
+        Set<Long> locationIds = locationService.match(conservatism, LocationType.GOVERNORATE);
+        List<ReqEntity> requests = locationIds.isEmpty() ? List.of()
+                : reqRepo.findPageByConservatismLocationIdIn(locationIds, cursor.createdDate(), cursor.id(),
+                Limit.of(limit + 1));
+        if (requests.isEmpty() && cursor.isFirst()) {
             throw new GlobalException("error.request.no_requests", HttpStatus.NOT_FOUND);
         }
         return requests;
     }
 
+    public List<ReqEntity> getRequestsWithinRadius(Double latitude, Double longitude, Double radius, Integer limit) {
+        GeoSearch.validatePoint(latitude, longitude);
+        return reqRepo.findWithinRadius(latitude, longitude, GeoSearch.radius(radius), GeoSearch.limit(limit));
+    }
+
+    public List<ReqEntity> getNearestRequests(Double latitude, Double longitude, Integer limit) {
+        GeoSearch.validatePoint(latitude, longitude);
+        return reqRepo.findNearest(latitude, longitude, GeoSearch.limit(limit));
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) throws GlobalException {
@@ -105,16 +143,19 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
         }
         reqRepo.hardDeleteById(id);
 
-        // Invalidate caches
-        if (cacheManager != null) {
-            Cache requestsCache = cacheManager.getCache("requests");
-            Cache usersCache = cacheManager.getCache("users");
-            Cache orgCache = cacheManager.getCache("org");
+        // Evict the request and every cached user, org or list that contains it
+        cacheTagService.invalidate(CacheTags.request(id), CacheTags.REQUEST_LIST);
+    }
 
-            if (requestsCache != null) requestsCache.clear();
-            if (usersCache != null) usersCache.clear();
-            if (orgCache != null) orgCache.clear();
-        }
+    /**
+     * The request_donation rows of deleted requests are removed by Hibernate with the set-based delete.
+     */
+    @Override
+    protected void afterBulkWrite(List<Long> ids) {
+        List<String> tags = new ArrayList<>(ids.size() + 1);
+        ids.forEach(id -> tags.add(CacheTags.request(id)));
+        tags.add(CacheTags.REQUEST_LIST);
+        cacheTagService.invalidate(tags.toArray(String[]::new));
     }
 
     public void ReCache(Long id) throws GlobalException {
@@ -130,16 +171,6 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
         reqRepo.save(request);
     }
 
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "requests", allEntries = true),
-                    @CacheEvict(value = "users", allEntries = true, condition = "!#isOrg"),
-                    @CacheEvict(value = "org", allEntries = true, condition = "#isOrg")
-            },
-            put = {
-                    @CachePut(value = "requests", key = "#result.id")
-            }
-    )
     public ReqEntity addRequest(ReqEntity reqEntity, Long id, boolean isOrg)
             throws GlobalException, FirebaseMessagingException {
 
@@ -153,11 +184,20 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
         } else {
             handleUserRequest(reqEntity, id);
         }
+        assignLocations(reqEntity);
+
+        ReqEntity saved = reqRepo.save(reqEntity);
+        cacheTagService.invalidate(CacheTags.REQUEST_LIST, isOrg ? CacheTags.org(id) : CacheTags.user(id));
 
-        // Common notification logic
-        // this.SendNotification(reqEntity);
+        // Common notification logic; the push fan-out itself runs asynchronously
+        this.SendNotification(reqEntity);
+
+        return saved;
+    }
 
-        return reqRepo.save(reqEntity);
+    private void assignLocations(ReqEntity reqEntity) {
+        reqEntity.setCityLocation(locationService.resolve(reqEntity.getCity(), LocationType.CITY));
+        reqEntity.setConservatismLocation(locationService.resolve(reqEntity.getConservatism(), LocationType.GOVERNORATE));
     }
 
     private void handleOrgRequest(ReqEntity reqEntity, Long orgId) throws GlobalException {
@@ -179,16 +219,6 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
     }
 
     @Override
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "requests", allEntries = true),
-                    @CacheEvict(value = "users", allEntries = true),
-                    @CacheEvict(value = "org", allEntries = true)
-            },
-            put = {
-                    @CachePut(value = "requests", key = "#result.id")
-            }
-    )
     public ReqEntity update(ReqEntity entity) throws GlobalException {
         if (entity == null || entity.getId() == null) {
             throw new GlobalException("error.request.id.null", HttpStatus.BAD_REQUEST);
@@ -200,11 +230,18 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
         ReqEntity existingEntity = reqRepo.findById(entity.getId())
                 .orElseThrow(() -> new GlobalException(msg, HttpStatus.NOT_FOUND));
 
+        // A new city or governorate moves the request between cached lists
+        boolean moved = !Objects.equals(existingEntity.getCity(), entity.getCity())
+                || !Objects.equals(existingEntity.getConservatism(), entity.getConservatism());
+
         // Update request details (excluding relationships)
         existingEntity.setBloodTypeNeeded(entity.getBloodTypeNeeded());
         existingEntity.setAmount(entity.getAmount());
         existingEntity.setCity(entity.getCity());
         existingEntity.setConservatism(entity.getConservatism());
+        assignLocations(existingEntity);
+        existingEntity.setLatitude(entity.getLatitude());
+        existingEntity.setLongitude(entity.getLongitude());
         existingEntity.setRequestDate(entity.getRequestDate());
         existingEntity.setStatus(entity.getStatus());
         existingEntity.setUrgencyLevel(entity.getUrgencyLevel());
@@ -221,8 +258,9 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
             existingEntity.setModifiedUser("Unknown"); // Or handle it appropriately
         }
 
-
-        return reqRepo.save(existingEntity);
+        ReqEntity saved = reqRepo.save(existingEntity);
+        cacheTagService.invalidate(CacheTags.request(entity.getId()), moved ? CacheTags.REQUEST_LIST : null);
+        return saved;
     }
 
     public void SendNotification(ReqEntity reqEntity) throws GlobalException, FirebaseMessagingException {
@@ -231,30 +269,117 @@ public class ReqServices extends BaseServices<ReqEntity, Long> {
             throw new GlobalException("error.request.no_user_or_org", HttpStatus.BAD_REQUEST);
         }
 
-        // Find nearby donors
-        List<DonEntity> nearbyDonors = findNearbyDonors(reqEntity.getCity(), reqEntity.getConservatism());
+        // Collect the FCM tokens of nearby donors
+        List<String> tokens = new ArrayList<>();
+        for (DonEntity donor : findNearbyDonors(reqEntity)) {
+            if (donor.getUser() != null && donor.getUser().getFcmToken() != null) {
+                tokens.add(donor.getUser().getFcmToken());
+            }
+        }
+        if (tokens.isEmpty()) {
+            return;
+        }
 
         // Get sender name
         String senderName = (reqEntity.getUser() != null)
                 ? reqEntity.getUser().getUsername()
                 : reqEntity.getOrganization().getOrgName();
 
-        // Send notifications to nearby donors
-        for (DonEntity donor : nearbyDonors) {
-            if (donor.getUser().getFcmToken() != null) {
-                String[] msParam = {senderName};
-                String msg = ms.getMessage("notification.bloodRequest.message", msParam, LocaleContextHolder.getLocale());
+        // Resolve the message once and hand the whole fan-out to the notification executor
+        String[] msParam = {senderName};
+        String title = ms.getMessage("notification.bloodRequest.title", null, LocaleContextHolder.getLocale());
+        String msg = ms.getMessage("notification.bloodRequest.message", msParam, LocaleContextHolder.getLocale());
+        fanOut(tokens, title, msg);
+    }
+
+    /**
+     * Hands the multicast to the notification executor. A full executor rejects the call; the rejection
+     * completes the returned future exceptionally, like a failed send, instead of failing the request.
+     */
+    CompletableFuture<MulticastReport> fanOut(List<String> tokens, String title, String body) {
+        CompletableFuture<MulticastReport> sent;
+        try {
+            sent = notificationService.sendMulticastAsync(tokens, title, body);
+        } catch (TaskRejectedException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        return sent.whenComplete(this::onFanOut);
+    }
+
+    /**
+     * Logs the outcome of a push fan-out and clears the tokens Firebase reports as unregistered, from
+     * users and from organizations registered on the same device. Runs on the notification executor,
+     * where an exception would be dropped with the future, so a failed cleanup is logged here.
+     */
+    void onFanOut(MulticastReport report, Throwable error) {
+        if (error != null) {
+            log.error("Blood request notification fan-out failed", error);
+            return;
+        }
+        if (report.failureCount() == 0) {
+            return;
+        }
+        log.warn("Blood request notification not delivered to {} of {} donors",
+                report.failureCount(), report.successCount() + report.failureCount());
+
+        List<String> unregistered = report.failures().stream()
+                .filter(failure -> failure.errorCode() == MessagingErrorCode.UNREGISTERED)
+                .map(MulticastReport.TokenFailure::token)
+                .toList();
+        if (unregistered.isEmpty()) {
+            return;
+        }
+        try {
+            int cleared = userRepo.clearFcmTokens(unregistered) + orgRepo.clearFcmTokens(unregistered);
+            log.info("Cleared {} unregistered FCM tokens", cleared);
+        } catch (RuntimeException e) {
+            log.error("Failed to clear {} unregistered FCM tokens", unregistered.size(), e);
+        }
+    }
+
+    /**
+     * Uses the in-memory {@link DonorIndex} when it is enabled and the request has coordinates. Falls back
+     * to the city/governorate query otherwise, and when no indexed donor is within the radius.
+     */
+    public List<DonEntity> findNearbyDonors(ReqEntity reqEntity) {
+        DonorIndex index = donorIndex.getIfAvailable();
+        List<Long> ids = index == null || reqEntity.getLatitude() == null || reqEntity.getLongitude() == null
+                ? List.of()
+                : index.search(reqEntity.getBloodTypeNeeded(), reqEntity.getLatitude(), reqEntity.getLongitude(),
+                DONOR_INDEX_RADIUS_METERS, DONOR_MATCH_LIMIT);
+        if (ids.isEmpty()) {
+            return findNearbyDonors(reqEntity.getBloodTypeNeeded(),
+                    locationId(reqEntity.getCityLocation()), locationId(reqEntity.getConservatismLocation()));
+        }
 
-                notificationService.sendNotification(new NotificationRequest(
-                        donor.getUser().getFcmToken(),
-                        "notification.bloodRequest.title", msg
-                ));
+        Map<Long, DonEntity> byId = new HashMap<>();
+        donRepo.findAllById(ids).forEach(donor -> byId.put(donor.getId(), donor));
+
+        List<DonEntity> donors = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            DonEntity donor = byId.get(id);
+            if (donor != null) {
+                donors.add(donor);
             }
         }
+        return donors;
+    }
+
+    /**
+     * Returns up to {@link #DONOR_MATCH_LIMIT} eligible donors able to give to {@code bloodTypeNeeded}
+     * in the same city or governorate, best matches first.
+     */
+    public List<DonEntity> findNearbyDonors(String bloodTypeNeeded, Long cityId, Long conservatismId) {
+        Set<String> compatibleTypes = BloodType.compatibleDonorLabels(bloodTypeNeeded);
+        if (compatibleTypes.isEmpty() || (cityId == null && conservatismId == null)) {
+            return Collections.emptyList();
+        }
+        return donRepo.findCompatibleDonors(compatibleTypes, DonStatus.VALID, cityId, conservatismId,
+                PageRequest.of(0, DONOR_MATCH_LIMIT));
     }
 
-    public List<DonEntity> findNearbyDonors(String city, String conservatism) {
-        return donRepo.findTopByCityOrConservatism(city, conservatism);
+    private static Long locationId(LocationEntity location) {
+        return location != null ? location.getId() : null;
     }
 
     public void validId(Long id) {
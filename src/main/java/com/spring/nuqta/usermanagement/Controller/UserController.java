@@ -1,10 +1,12 @@
 package com.spring.nuqta.usermanagement.Controller;
 
+import com.spring.nuqta.base.Dto.CursorPageDto;
 import com.spring.nuqta.usermanagement.Dto.UserDto;
 import com.spring.nuqta.usermanagement.Dto.UserInsertDto;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Mapper.UserInsertMapper;
 import com.spring.nuqta.usermanagement.Mapper.UserMapper;
+import com.spring.nuqta.usermanagement.Services.UserReadService;
 import com.spring.nuqta.usermanagement.Services.UserServices;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +18,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -27,19 +28,21 @@ import java.util.Map;
 public class UserController {
 
     private final UserServices userServices;
+    private final UserReadService userReadService;
     private final UserMapper userMapper;
     private final UserInsertMapper userInsertMapper;
     private final MessageSource ms;
 
     @GetMapping("")
-    public ResponseEntity<?> getAllUsers() {
-        List<UserDto> dtos = userMapper.map(userServices.findAll());
-        return new ResponseEntity<>(dtos, HttpStatus.OK);
+    public ResponseEntity<?> getAllUsers(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "limit", required = false) Integer limit) {
+        CursorPageDto<UserDto> page = userReadService.findPage(cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
-        UserDto dto = userMapper.map(userServices.findById(id));
+        UserDto dto = userReadService.findById(id);
         return new ResponseEntity<>(dto, HttpStatus.OK);
     }
 
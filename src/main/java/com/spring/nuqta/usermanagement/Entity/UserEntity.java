@@ -12,6 +12,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
@@ -22,10 +23,22 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "Users")
+@Table(name = "Users", indexes = {
+        @Index(name = "idx_users_created_date_id", columnList = "created_date, id")
+})
+@NamedEntityGraph(name = UserEntity.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("uploadedRequests"),
+        @NamedAttributeNode(value = "donation", subgraph = "donation")
+}, subgraphs = @NamedSubgraph(name = "donation", attributeNodes = @NamedAttributeNode("acceptedRequests")))
+@BatchSize(size = 50)
 @DynamicUpdate
 public class UserEntity extends BaseEntity<Long> {
 
+    /**
+     * Detail view: the user with the uploaded requests, the donation and its accepted requests.
+     */
+    public static final String DETAIL_GRAPH = "User.detail";
+
     @Column(unique = true, nullable = false, length = 50)
     private String username;
 
@@ -51,10 +64,11 @@ public class UserEntity extends BaseEntity<Long> {
 
     private boolean enabled = false;
 
-    @Column(name = "fcm_token", nullable = false)
+    @Column(name = "fcm_token")
     private String fcmToken;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private Set<ReqEntity> uploadedRequests;
 
     @OneToOne(cascade = CascadeType.ALL)
@@ -1,21 +1,34 @@
 package com.spring.nuqta.usermanagement.Repo;
 
 import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.base.Repo.KeysetRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Projection.UserAuthProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
-public interface UserRepo extends BaseRepo<UserEntity, Long> {
+public interface UserRepo extends BaseRepo<UserEntity, Long>, KeysetRepo<UserEntity, Long> {
 
     List<UserEntity> findAllByEnabledTrue();
 
     Optional<UserEntity> findByIdAndEnabledTrue(Long id);
 
+    @EntityGraph(UserEntity.DETAIL_GRAPH)
+    Optional<UserEntity> findDetailById(Long id);
+
+    @EntityGraph(UserEntity.DETAIL_GRAPH)
+    Optional<UserEntity> findDetailByIdAndEnabledTrue(Long id);
+
     Optional<UserEntity> findByEmail(String email);
 
     Optional<UserEntity> findByUsernameOrEmail(String username, String email);
@@ -30,4 +43,15 @@ public interface UserRepo extends BaseRepo<UserEntity, Long> {
 
     boolean existsByUsernameAndIdNot(String username, Long id);
 
+    @Query("SELECT u.donation.id FROM UserEntity u WHERE u.id IN :ids AND u.donation IS NOT NULL")
+    List<Long> findDonationIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Forgets FCM tokens that Firebase no longer accepts, so later fan-outs skip them.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.fcmToken = null WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
 }
@@ -0,0 +1,56 @@
+package com.spring.nuqta.usermanagement.Services;
+
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Services.CacheTags;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.usermanagement.Dto.UserDto;
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import com.spring.nuqta.usermanagement.Mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cached read side of the user endpoints; the {@code user-*} regions hold {@link UserDto}s, not entities, and
+ * not-found results go to the {@link NotFoundCache}. The user list is served in keyset pages ({@link Keyset}).
+ */
+@Service
+@RequiredArgsConstructor
+public class UserReadService {
+
+    private final UserServices userServices;
+    private final UserMapper userMapper;
+    private final NotFoundCache notFoundCache;
+
+    @Cacheable(cacheNames = CacheRegions.USER_PAGE, sync = true)
+    @Transactional(readOnly = true)
+    public CursorPageDto<UserDto> findPage(String cursor, Integer limit) throws GlobalException {
+        Keyset.Cursor from = Keyset.decode(cursor);
+        int size = Keyset.limit(limit);
+        return notFoundCache.load(CacheRegions.USER_PAGE, "first", CacheTags.USER_LIST, () -> {
+            List<UserEntity> rows = userServices.findPage(from, size);
+            if (rows.isEmpty() && from.isFirst()) {
+                throw new GlobalException("error.user.notFound", HttpStatus.NOT_FOUND);
+            }
+            return page(rows, size);
+        });
+    }
+
+    @Cacheable(cacheNames = CacheRegions.USER_BY_ID, sync = true)
+    @Transactional(readOnly = true)
+    public UserDto findById(Long id) throws GlobalException {
+        return notFoundCache.load(CacheRegions.USER_BY_ID, id, CacheTags.USER_LIST,
+                () -> userMapper.map(userServices.findById(id)));
+    }
+
+    private CursorPageDto<UserDto> page(List<UserEntity> rows, int size) {
+        return Keyset.page(rows, size, userMapper::map);
+    }
+}
@@ -1,20 +1,26 @@
 package com.spring.nuqta.usermanagement.Services;
 
-import com.spring.nuqta.base.Services.BaseServices;
+import com.spring.nuqta.base.Services.KeysetServices;
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.donation.Entity.DonEntity;
 import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.donation.Services.DonationsDeletedEvent;
+import com.spring.nuqta.enums.LocationType;
 import com.spring.nuqta.enums.Scope;
 import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.forgotPassword.Repo.ResetPasswordRepo;
+import com.spring.nuqta.location.Services.LocationService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
+import com.spring.nuqta.request.Repo.ReqRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
 import com.spring.nuqta.verificationToken.General.GeneralVerification;
+import com.spring.nuqta.verificationToken.Repo.VerificationTokenRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
@@ -29,13 +35,19 @@ import java.util.*;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserServices extends BaseServices<UserEntity, Long> {
+public class UserServices extends KeysetServices<UserEntity> {
 
     private final UserRepo userRepository;
     private final DonRepo donRepo;
+    private final ReqRepo reqRepo;
+    private final VerificationTokenRepo verificationTokenRepo;
+    private final ResetPasswordRepo resetPasswordRepo;
+    private final ApplicationEventPublisher eventPublisher;
     private final OrgRepo organizationRepository;
     private final PasswordEncoder passwordEncoder;
     private final GeneralVerification generalVerification;
+    private final LocationService locationService;
+    private final CacheTagService cacheTagService;
 
     private final MessageSource ms;
 
@@ -89,13 +101,12 @@ public class UserServices extends BaseServices<UserEntity, Long> {
 
     /**
      * Retrieves all users from the database.
-     * Caches the result for future requests.
+     * Cached as DTOs by {@link UserReadService}.
      *
      * @return A list of all UserEntity objects.
      * @throws GlobalException If no users are found.
      */
     @Override
-    @Cacheable(value = "users", key = "'allUsers'")
     public List<UserEntity> findAll() throws GlobalException {
         List<UserEntity> users = userRepository.findAllByEnabledTrue();
         if (users.isEmpty()) {
@@ -106,18 +117,17 @@ public class UserServices extends BaseServices<UserEntity, Long> {
 
     /**
      * Retrieves a user by their ID.
-     * Caches the result for future requests.
+     * Cached as a DTO by {@link UserReadService}.
      *
      * @param id The ID of the user to retrieve.
      * @return The UserEntity object.
      * @throws GlobalException If the user is not found.
      */
     @Override
-    @Cacheable(value = "users", key = "#id")
     public UserEntity findById(Long id) throws GlobalException {
         validId(id);
 
-        Optional<UserEntity> user = userRepository.findByIdAndEnabledTrue(id);
+        Optional<UserEntity> user = userRepository.findDetailByIdAndEnabledTrue(id);
         if (user.isEmpty()) {
             String msg = messageParam(id, "error.user.notFound.id");
             throw new GlobalException(msg, HttpStatus.NOT_FOUND);
@@ -127,19 +137,13 @@ public class UserServices extends BaseServices<UserEntity, Long> {
 
     /**
      * Updates an existing user in the database.
-     * Updates the cache with the modified user.
+     * Evicts the cached entries that contain the user or its donation.
      *
      * @param entity The UserEntity with updated fields.
      * @return The updated UserEntity object.
      * @throws GlobalException If the user ID is null or the user is not found.
      */
     @Override
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "users", key = "#entity.id"),
-                    @CacheEvict(value = "users", allEntries = true)
-            }
-    )
     @Transactional
     public UserEntity update(UserEntity entity) throws GlobalException {
         // Validate user ID
@@ -147,7 +151,8 @@ public class UserServices extends BaseServices<UserEntity, Long> {
             throw new GlobalException("error.user.id.null", HttpStatus.BAD_REQUEST);
         }
 
-        UserEntity existingUser = userRepository.findById(entity.getId())
+        // The caller maps the result after the transaction, so load the whole detail view now
+        UserEntity existingUser = userRepository.findDetailById(entity.getId())
                 .orElseThrow(() -> {
                     String msg = messageParam(entity.getId(), "error.user.notFound.id");
                     return new GlobalException(msg, HttpStatus.NOT_FOUND);
@@ -162,13 +167,16 @@ public class UserServices extends BaseServices<UserEntity, Long> {
         }
 
         DonEntity existingDonation = existingUser.getDonation();
+        boolean moved = false;
 
         if (entity.getDonation().getId() == null) {
             if (entity.getDonation().getConfirmDonate() == null) {
                 entity.getDonation().setConfirmDonate(false);
             }
+            assignLocations(entity.getDonation());
             DonEntity savedDonation = donRepo.save(entity.getDonation());
             entity.setDonation(savedDonation);
+            cacheTagService.invalidate(CacheTags.DONATION_LIST);
         } else {
             if (existingUser.getDonation() == null ||
                     !existingUser.getDonation().getId().equals(entity.getDonation().getId())) {
@@ -176,17 +184,27 @@ public class UserServices extends BaseServices<UserEntity, Long> {
                 throw new GlobalException(msg, HttpStatus.NOT_FOUND);
             }
 
+            // A new city, governorate, status or blood type moves the donation between cached lists
+            DonEntity update = entity.getDonation();
+            moved = changes(existingDonation.getCity(), update.getCity())
+                    || changes(existingDonation.getConservatism(), update.getConservatism())
+                    || changes(existingDonation.getStatus(), update.getStatus())
+                    || changes(existingDonation.getBloodType(), update.getBloodType());
+
             existingDonation.setConfirmDonateReqId(entity.getDonation().getConfirmDonateReqId() != null ? entity.getDonation().getConfirmDonateReqId() : existingDonation.getConfirmDonateReqId());
             existingDonation.setConfirmDonate(entity.getDonation().getConfirmDonate() != null ? entity.getDonation().getConfirmDonate() : existingDonation.getConfirmDonate());
             existingDonation.setAmount(entity.getDonation().getAmount() != null ? entity.getDonation().getAmount() : existingDonation.getAmount());
             existingDonation.setBloodType(entity.getDonation().getBloodType() != null ? entity.getDonation().getBloodType() : existingDonation.getBloodType());
             existingDonation.setCity(entity.getDonation().getCity() != null ? entity.getDonation().getCity() : existingDonation.getCity());
             existingDonation.setConservatism(entity.getDonation().getConservatism() != null ? entity.getDonation().getConservatism() : existingDonation.getConservatism());
+            existingDonation.setLatitude(entity.getDonation().getLatitude() != null ? entity.getDonation().getLatitude() : existingDonation.getLatitude());
+            existingDonation.setLongitude(entity.getDonation().getLongitude() != null ? entity.getDonation().getLongitude() : existingDonation.getLongitude());
             existingDonation.setStartDonation(entity.getDonation().getStartDonation() != null ? entity.getDonation().getStartDonation() : existingDonation.getStartDonation());
             existingDonation.setDonationDate(entity.getDonation().getDonationDate() != null ? entity.getDonation().getDonationDate() : existingDonation.getDonationDate());
             existingDonation.setLastQuizDate(entity.getDonation().getLastQuizDate() != null ? entity.getDonation().getLastQuizDate() : existingDonation.getLastQuizDate());
             existingDonation.setStatus(entity.getDonation().getStatus() != null ? entity.getDonation().getStatus() : existingDonation.getStatus());
             existingDonation.setWeight(entity.getDonation().getWeight() != null ? entity.getDonation().getWeight() : existingDonation.getWeight());
+            assignLocations(existingDonation);
             donRepo.save(existingDonation);
         }
 
@@ -196,18 +214,27 @@ public class UserServices extends BaseServices<UserEntity, Long> {
         existingUser.setDonation(existingDonation);
         existingUser.setModifiedDate(LocalDate.now());
         existingUser.setModifiedUser(entity.getUsername());
+        cacheTagService.invalidate(CacheTags.user(existingUser.getId()),
+                existingDonation != null ? CacheTags.donation(existingDonation.getId()) : null,
+                moved ? CacheTags.DONATION_LIST : null);
         return userRepository.save(existingUser);
     }
 
+    /**
+     * Whether a partial update sets a field to a new value; null keeps the current one.
+     */
+    private static boolean changes(Object current, Object update) {
+        return update != null && !update.equals(current);
+    }
+
     /**
      * Deletes a user by their ID.
-     * Evicts the user from the cache.
+     * Evicts the cached entries that contain the user.
      *
      * @param id The ID of the user to delete.
      * @throws GlobalException If the user is not found.
      */
     @Override
-    @CacheEvict(value = "users", key = "'allUsers'")
     public void deleteById(Long id) throws GlobalException {
         validId(id);
         boolean user = userRepository.existsById(id);
@@ -216,16 +243,46 @@ public class UserServices extends BaseServices<UserEntity, Long> {
             throw new GlobalException(msg, HttpStatus.NOT_FOUND);
         }
         userRepository.deleteById(id);
+        cacheTagService.invalidate(CacheTags.user(id), CacheTags.USER_LIST);
+    }
+
+    /**
+     * Deletes the requests, verification tokens, password resets and donations of the users, which
+     * {@link #deleteById} removes through the entity cascades.
+     */
+    @Override
+    protected void deleteDependents(List<Long> ids) {
+        reqRepo.deleteByUserIds(ids);
+        verificationTokenRepo.deleteByUserIds(ids);
+        resetPasswordRepo.deleteByUserIds(ids);
+
+        List<Long> donationIds = userRepository.findDonationIds(ids);
+        if (!donationIds.isEmpty()) {
+            donRepo.unlinkDonors(donationIds);
+            donRepo.deleteAcceptances(donationIds);
+            donRepo.deleteAllByIdInBatch(donationIds);
+            eventPublisher.publishEvent(new DonationsDeletedEvent(donationIds));
+            cacheTagService.invalidate(donationIds.stream().map(CacheTags::donation).toArray(String[]::new));
+        }
+    }
+
+    @Override
+    protected void afterBulkWrite(List<Long> ids) {
+        List<String> tags = new ArrayList<>(ids.size() + 3);
+        ids.forEach(id -> tags.add(CacheTags.user(id)));
+        tags.add(CacheTags.USER_LIST);
+        tags.add(CacheTags.DONATION_LIST);
+        tags.add(CacheTags.REQUEST_LIST);
+        cacheTagService.invalidate(tags.toArray(String[]::new));
     }
 
     /**
      * Saves a new user to the database.
      * Validates the user fields and checks for existing users or organizations with the same email or username.
-     * Evicts all entries from the cache.
+     * Evicts the cached user and donation lists.
      *
      * @param entity The UserEntity to save.
      */
-    @CacheEvict(value = "users", allEntries = true)
     public void saveUser(UserEntity entity) {
         validateUserFields(entity);
 
@@ -245,6 +302,7 @@ public class UserServices extends BaseServices<UserEntity, Long> {
             donationEntity = entity.getDonation();
             donationEntity.setConfirmDonate(false);
             donationEntity.setConfirmDonateReqId(0L);
+            assignLocations(donationEntity);
         } else {
             donationEntity = new DonEntity();
             donationEntity.setConfirmDonate(false);
@@ -264,10 +322,16 @@ public class UserServices extends BaseServices<UserEntity, Long> {
         userCreation.setFcmToken(entity.getFcmToken());
 
         userCreation = userRepository.save(userCreation);
+        cacheTagService.invalidate(CacheTags.USER_LIST, CacheTags.DONATION_LIST);
 
         generalVerification.sendOtpEmail(userCreation);
     }
 
+    private void assignLocations(DonEntity donation) {
+        donation.setCityLocation(locationService.resolve(donation.getCity(), LocationType.CITY));
+        donation.setConservatismLocation(locationService.resolve(donation.getConservatism(), LocationType.GOVERNORATE));
+    }
+
     /**
      * Changes the password of an existing user.
      * Verifies the old password before updating to the new password.
@@ -278,7 +342,6 @@ public class UserServices extends BaseServices<UserEntity, Long> {
      * @param newPassword The new password to set.
      * @throws GlobalException If the user is not found or the old password is incorrect.
      */
-    @CacheEvict(value = "users", key = "#userId")
     public void changeUserPassword(Long userId, String oldPassword, String newPassword) {
         validId(userId);
         Optional<UserEntity> user = userRepository.findByIdAndEnabledTrue(userId);
@@ -296,17 +359,17 @@ public class UserServices extends BaseServices<UserEntity, Long> {
         // Encode and update new password
         user.get().setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user.get());
+        cacheTagService.invalidate(CacheTags.user(userId));
     }
 
     /**
      * Updates the FCM token for a user.
-     * Updates the cache with the modified user.
+     * Evicts the cached entries that contain the user.
      *
      * @param id       The ID of the user.
      * @param fcmToken The new FCM token to set.
      * @return A ResponseEntity indicating success or failure.
      */
-    @CacheEvict(value = "users", key = "#id")
     public ResponseEntity<?> updateFcmToken(Long id, String fcmToken) {
         validId(id);
         Optional<UserEntity> userOptional = userRepository.findByIdAndEnabledTrue(id);
@@ -316,6 +379,7 @@ public class UserServices extends BaseServices<UserEntity, Long> {
             UserEntity user = userOptional.get();
             user.setFcmToken(fcmToken);
             userRepository.save(user);
+            cacheTagService.invalidate(CacheTags.user(id));
             response.put("message", getMS("error.user.fcmToken.update"));
             return new ResponseEntity<>(response, HttpStatus.OK);
         } else {
@@ -1,7 +1,9 @@
 package com.spring.nuqta.verificationToken.General;
 
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.exception.GlobalException;
-import com.spring.nuqta.mail.Services.EmailService;
+import com.spring.nuqta.mail.Services.MailDispatcher;
 import com.spring.nuqta.mail.template.AccountVerificationEmailContext;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
@@ -9,7 +11,6 @@ import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
 import com.spring.nuqta.verificationToken.Entity.VerificationToken;
 import com.spring.nuqta.verificationToken.Services.VerificationTokenService;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,10 +25,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class GeneralVerification {
 
-    private final EmailService emailService;
+    private final MailDispatcher mailDispatcher;
     private final VerificationTokenService verificationTokenService;
     private final OrgRepo orgRepo;
     private final UserRepo userRepo;
+    private final CacheTagService cacheTagService;
 
     @Value("${token.base.url}")
     private String baseUrl;
@@ -53,11 +55,8 @@ public class GeneralVerification {
         String email = (entity instanceof UserEntity user) ? user.getEmail() : ((OrgEntity) entity).getEmail();
         context.buildVerificationUrl(baseUrl, token.getToken(), email);
 
-        try {
-            emailService.sendMail(context);
-            log.info("OTP email sent to {}", email);
-        } catch (MessagingException e) {
-            log.error("Failed to send OTP email to {}: {}", email, e.getMessage(), e);
+        if (mailDispatcher.dispatch(context)) {
+            log.info("OTP email queued for {}", email);
         }
     }
 
@@ -104,6 +103,8 @@ public class GeneralVerification {
 
         user.setEnabled(true);
         userRepo.save(user);
+        // Lookups of the disabled account cached a 404, and the cached lists leave it out
+        cacheTagService.invalidate(CacheTags.user(user.getId()), CacheTags.USER_LIST);
         verificationTokenService.removeToken(token);
         log.info("User {} successfully verified", email);
         return true;
@@ -120,6 +121,7 @@ public class GeneralVerification {
 
         org.setEnabled(true);
         orgRepo.save(org);
+        cacheTagService.invalidate(CacheTags.org(org.getId()), CacheTags.ORG_LIST);
         verificationTokenService.removeToken(token);
         log.info("Organization {} successfully verified", email);
         return true;
@@ -2,11 +2,24 @@ package com.spring.nuqta.verificationToken.Repo;
 
 import com.spring.nuqta.base.Repo.BaseRepo;
 import com.spring.nuqta.verificationToken.Entity.VerificationToken;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface VerificationTokenRepo extends BaseRepo<VerificationToken, Long> {
 
     VerificationToken findByToken(String token);
 
+    @Modifying
+    @Query("DELETE FROM VerificationToken t WHERE t.user.id IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("DELETE FROM VerificationToken t WHERE t.organization.id IN :orgIds")
+    int deleteByOrganizationIds(@Param("orgIds") Collection<Long> orgIds);
+
 }
@@ -0,0 +1,178 @@
+-- Tables as mapped by the entities; Hibernate only validates them (ddl-auto=validate).
+-- Idempotent: databases created by the former ddl-auto=update already have these tables and are
+-- baselined at version 0, so this script runs on them too and only creates what is missing.
+-- Query indexes are in V5.
+
+CREATE TABLE IF NOT EXISTS location
+(
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    created_date    DATE,
+    created_user    VARCHAR(255),
+    modified_date   DATE,
+    modified_user   VARCHAR(255),
+    type            VARCHAR(20)  NOT NULL,
+    name            VARCHAR(100) NOT NULL,
+    normalized_name VARCHAR(100) NOT NULL,
+    CONSTRAINT uk_location_type_name UNIQUE (type, normalized_name)
+);
+
+CREATE TABLE IF NOT EXISTS location_alias
+(
+    id               BIGINT       NOT NULL PRIMARY KEY,
+    created_date     DATE,
+    created_user     VARCHAR(255),
+    modified_date    DATE,
+    modified_user    VARCHAR(255),
+    location_id      BIGINT       NOT NULL REFERENCES location (id),
+    alias            VARCHAR(100) NOT NULL,
+    normalized_alias VARCHAR(100) NOT NULL,
+    locale           VARCHAR(5)   NOT NULL,
+    CONSTRAINT uk_location_alias UNIQUE (location_id, normalized_alias)
+);
+
+CREATE TABLE IF NOT EXISTS donation
+(
+    id                    BIGINT NOT NULL PRIMARY KEY,
+    created_date          DATE,
+    created_user          VARCHAR(255),
+    modified_date         DATE,
+    modified_user         VARCHAR(255),
+    blood_type            VARCHAR(255),
+    donation_date         TIMESTAMP(6),
+    last_quiz_date        TIMESTAMP(6),
+    start_donation        TIMESTAMP(6),
+    amount                DOUBLE PRECISION,
+    payment_offered       BOOLEAN,
+    confirm_donate        BOOLEAN,
+    confirm_donate_req_id BIGINT,
+    status                VARCHAR(255),
+    weight                DOUBLE PRECISION,
+    city                  VARCHAR(255),
+    conservatism          VARCHAR(255),
+    city_id               BIGINT REFERENCES location (id),
+    conservatism_id       BIGINT REFERENCES location (id),
+    latitude              DOUBLE PRECISION,
+    longitude             DOUBLE PRECISION
+);
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    created_date  DATE,
+    created_user  VARCHAR(255),
+    modified_date DATE,
+    modified_user VARCHAR(255),
+    username      VARCHAR(50)  NOT NULL,
+    email         VARCHAR(100) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    birth_date    DATE         NOT NULL,
+    phone_number  VARCHAR(15)  NOT NULL,
+    gender        VARCHAR(255) NOT NULL,
+    scope         VARCHAR(255) NOT NULL,
+    enabled       BOOLEAN      NOT NULL,
+    fcm_token     VARCHAR(255) NOT NULL,
+    donation_id   BIGINT REFERENCES donation (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_donation UNIQUE (donation_id)
+);
+
+CREATE TABLE IF NOT EXISTS organization
+(
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    created_date    DATE,
+    created_user    VARCHAR(255),
+    modified_date   DATE,
+    modified_user   VARCHAR(255),
+    org_name        VARCHAR(50)  NOT NULL,
+    email           VARCHAR(100) NOT NULL,
+    password        VARCHAR(255),
+    city            VARCHAR(255),
+    conservatism    VARCHAR(255),
+    city_id         BIGINT REFERENCES location (id),
+    conservatism_id BIGINT REFERENCES location (id),
+    phone_number    VARCHAR(255),
+    license_number  VARCHAR(100) NOT NULL,
+    scope           VARCHAR(255),
+    enabled         BOOLEAN      NOT NULL,
+    fcm_token       VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_organization_org_name UNIQUE (org_name),
+    CONSTRAINT uk_organization_email UNIQUE (email),
+    CONSTRAINT uk_organization_license_number UNIQUE (license_number)
+);
+
+CREATE TABLE IF NOT EXISTS requests
+(
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    created_date      DATE,
+    created_user      VARCHAR(255),
+    modified_date     DATE,
+    modified_user     VARCHAR(255),
+    blood_type_needed VARCHAR(255) NOT NULL,
+    amount            DOUBLE PRECISION,
+    request_date      DATE         NOT NULL,
+    urgency_level     VARCHAR(255) NOT NULL,
+    status            VARCHAR(255) NOT NULL,
+    payment_available BOOLEAN,
+    city              VARCHAR(255) NOT NULL,
+    conservatism      VARCHAR(255) NOT NULL,
+    city_id           BIGINT REFERENCES location (id),
+    conservatism_id   BIGINT REFERENCES location (id),
+    latitude          DOUBLE PRECISION,
+    longitude         DOUBLE PRECISION,
+    user_id           BIGINT REFERENCES users (id),
+    org_id            BIGINT REFERENCES organization (id)
+);
+
+CREATE TABLE IF NOT EXISTS request_donation
+(
+    request_id  BIGINT NOT NULL REFERENCES requests (id),
+    donation_id BIGINT NOT NULL REFERENCES donation (id),
+    PRIMARY KEY (request_id, donation_id)
+);
+
+CREATE TABLE IF NOT EXISTS token
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token      VARCHAR(255),
+    expired_at TIMESTAMP(6) NOT NULL,
+    user_id    BIGINT REFERENCES users (id),
+    org_id     BIGINT REFERENCES organization (id),
+    CONSTRAINT uk_token_token UNIQUE (token)
+);
+
+CREATE TABLE IF NOT EXISTS reset_passwords
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    otp        VARCHAR(255),
+    expired_at TIMESTAMP(6) NOT NULL,
+    user_id    BIGINT REFERENCES users (id),
+    org_id     BIGINT REFERENCES organization (id),
+    CONSTRAINT uk_reset_passwords_otp UNIQUE (otp)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages
+(
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    sender_id   VARCHAR(255) NOT NULL,
+    receiver_id VARCHAR(255) NOT NULL,
+    content     TEXT         NOT NULL,
+    timestamp   TIMESTAMP(6) NOT NULL,
+    read        BOOLEAN      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS notification_outbox
+(
+    id              BIGINT        NOT NULL PRIMARY KEY,
+    created_date    DATE,
+    created_user    VARCHAR(255),
+    modified_date   DATE,
+    modified_user   VARCHAR(255),
+    token           VARCHAR(4096) NOT NULL,
+    title           VARCHAR(255)  NOT NULL,
+    body            VARCHAR(1024) NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(255)
+);
@@ -0,0 +1,22 @@
+-- Id sequences of BaseEntity (entity_id_seq, shared by every table) and ChatMessage. Hibernate takes
+-- blocks of 50 ids with the pooled-lo optimizer, so the increment must match the allocationSize.
+-- Both restart above the ids already used, including a block a running node may still hold.
+CREATE SEQUENCE IF NOT EXISTS entity_id_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE entity_id_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS chat_messages_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE chat_messages_seq INCREMENT BY 50;
+
+SELECT setval('entity_id_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM location),
+        (SELECT COALESCE(MAX(id), 0) FROM location_alias),
+        (SELECT COALESCE(MAX(id), 0) FROM donation),
+        (SELECT COALESCE(MAX(id), 0) FROM users),
+        (SELECT COALESCE(MAX(id), 0) FROM organization),
+        (SELECT COALESCE(MAX(id), 0) FROM requests),
+        (SELECT COALESCE(MAX(id), 0) FROM notification_outbox),
+        (SELECT last_value + 49 FROM entity_id_seq WHERE is_called)) + 1, false);
+
+SELECT setval('chat_messages_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM chat_messages),
+        (SELECT last_value + 49 FROM chat_messages_seq WHERE is_called)) + 1, false);
@@ -0,0 +1,17 @@
+-- Spatial columns derived from latitude/longitude. Idempotent: databases created before the migrations
+-- (ddl-auto=update plus spring.sql.init) already have them.
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+ALTER TABLE donation ADD COLUMN IF NOT EXISTS location geography(Point, 4326)
+    GENERATED ALWAYS AS (CASE
+        WHEN latitude IS NULL OR longitude IS NULL THEN NULL
+        ELSE CAST(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326) AS geography) END) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_donation_location ON donation USING GIST (location);
+
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS location geography(Point, 4326)
+    GENERATED ALWAYS AS (CASE
+        WHEN latitude IS NULL OR longitude IS NULL THEN NULL
+        ELSE CAST(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326) AS geography) END) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_requests_location ON requests USING GIST (location);
@@ -0,0 +1,124 @@
+-- Location dictionary support. Idempotent: databases created before the migrations
+-- (ddl-auto=update plus spring.sql.init) already have the extension, the index and the seed rows.
+-- normalized_* values follow LocationNormalizer: lower case, no diacritics, alef/yeh/teh-marbuta unified.
+-- Ids come from entity_id_seq like the rows Hibernate inserts (see BaseEntity).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_location_alias_trgm ON location_alias USING GIN (normalized_alias gin_trgm_ops);
+
+-- Egyptian governorates
+INSERT INTO location (id, type, name, normalized_name, created_date, modified_date)
+VALUES
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Cairo', 'cairo', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Giza', 'giza', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Alexandria', 'alexandria', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Qalyubia', 'qalyubia', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Sharqia', 'sharqia', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Dakahlia', 'dakahlia', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Gharbia', 'gharbia', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Monufia', 'monufia', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Beheira', 'beheira', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Kafr El Sheikh', 'kafr el sheikh', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Damietta', 'damietta', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Port Said', 'port said', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Ismailia', 'ismailia', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Suez', 'suez', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'North Sinai', 'north sinai', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'South Sinai', 'south sinai', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Faiyum', 'faiyum', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Beni Suef', 'beni suef', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Minya', 'minya', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Asyut', 'asyut', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Sohag', 'sohag', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Qena', 'qena', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Luxor', 'luxor', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Aswan', 'aswan', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Red Sea', 'red sea', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'New Valley', 'new valley', CURRENT_DATE, CURRENT_DATE),
+    (nextval('entity_id_seq'), 'GOVERNORATE', 'Matrouh', 'matrouh', CURRENT_DATE, CURRENT_DATE)
+ON CONFLICT (type, normalized_name) DO NOTHING;
+
+INSERT INTO location_alias (id, location_id, alias, normalized_alias, locale, created_date, modified_date)
+SELECT nextval('entity_id_seq'), l.id, v.alias, v.normalized_alias, v.locale, CURRENT_DATE, CURRENT_DATE
+FROM (VALUES
+    ('cairo', 'Cairo', 'cairo', 'en'),
+    ('cairo', 'القاهرة', 'القاهره', 'ar'),
+    ('giza', 'Giza', 'giza', 'en'),
+    ('giza', 'الجيزة', 'الجيزه', 'ar'),
+    ('alexandria', 'Alexandria', 'alexandria', 'en'),
+    ('alexandria', 'الإسكندرية', 'الاسكندريه', 'ar'),
+    ('alexandria', 'Alex', 'alex', 'en'),
+    ('qalyubia', 'Qalyubia', 'qalyubia', 'en'),
+    ('qalyubia', 'القليوبية', 'القليوبيه', 'ar'),
+    ('qalyubia', 'Qalyubiya', 'qalyubiya', 'en'),
+    ('qalyubia', 'Kalyubia', 'kalyubia', 'en'),
+    ('sharqia', 'Sharqia', 'sharqia', 'en'),
+    ('sharqia', 'الشرقية', 'الشرقيه', 'ar'),
+    ('sharqia', 'Sharkia', 'sharkia', 'en'),
+    ('sharqia', 'Al Sharqia', 'al sharqia', 'en'),
+    ('dakahlia', 'Dakahlia', 'dakahlia', 'en'),
+    ('dakahlia', 'الدقهلية', 'الدقهليه', 'ar'),
+    ('dakahlia', 'Dakahleya', 'dakahleya', 'en'),
+    ('gharbia', 'Gharbia', 'gharbia', 'en'),
+    ('gharbia', 'الغربية', 'الغربيه', 'ar'),
+    ('gharbia', 'Gharbiya', 'gharbiya', 'en'),
+    ('monufia', 'Monufia', 'monufia', 'en'),
+    ('monufia', 'المنوفية', 'المنوفيه', 'ar'),
+    ('monufia', 'Menofia', 'menofia', 'en'),
+    ('monufia', 'Menoufia', 'menoufia', 'en'),
+    ('beheira', 'Beheira', 'beheira', 'en'),
+    ('beheira', 'البحيرة', 'البحيره', 'ar'),
+    ('beheira', 'Behera', 'behera', 'en'),
+    ('kafr el sheikh', 'Kafr El Sheikh', 'kafr el sheikh', 'en'),
+    ('kafr el sheikh', 'كفر الشيخ', 'كفر الشيخ', 'ar'),
+    ('kafr el sheikh', 'Kafr Elsheikh', 'kafr elsheikh', 'en'),
+    ('damietta', 'Damietta', 'damietta', 'en'),
+    ('damietta', 'دمياط', 'دمياط', 'ar'),
+    ('damietta', 'Dumyat', 'dumyat', 'en'),
+    ('port said', 'Port Said', 'port said', 'en'),
+    ('port said', 'بورسعيد', 'بورسعيد', 'ar'),
+    ('port said', 'Portsaid', 'portsaid', 'en'),
+    ('port said', 'بور سعيد', 'بور سعيد', 'ar'),
+    ('ismailia', 'Ismailia', 'ismailia', 'en'),
+    ('ismailia', 'الإسماعيلية', 'الاسماعيليه', 'ar'),
+    ('suez', 'Suez', 'suez', 'en'),
+    ('suez', 'السويس', 'السويس', 'ar'),
+    ('north sinai', 'North Sinai', 'north sinai', 'en'),
+    ('north sinai', 'شمال سيناء', 'شمال سيناء', 'ar'),
+    ('south sinai', 'South Sinai', 'south sinai', 'en'),
+    ('south sinai', 'جنوب سيناء', 'جنوب سيناء', 'ar'),
+    ('faiyum', 'Faiyum', 'faiyum', 'en'),
+    ('faiyum', 'الفيوم', 'الفيوم', 'ar'),
+    ('faiyum', 'Fayoum', 'fayoum', 'en'),
+    ('faiyum', 'Fayum', 'fayum', 'en'),
+    ('beni suef', 'Beni Suef', 'beni suef', 'en'),
+    ('beni suef', 'بني سويف', 'بني سويف', 'ar'),
+    ('beni suef', 'Bani Sweif', 'bani sweif', 'en'),
+    ('minya', 'Minya', 'minya', 'en'),
+    ('minya', 'المنيا', 'المنيا', 'ar'),
+    ('minya', 'Menya', 'menya', 'en'),
+    ('minya', 'El Minya', 'el minya', 'en'),
+    ('asyut', 'Asyut', 'asyut', 'en'),
+    ('asyut', 'أسيوط', 'اسيوط', 'ar'),
+    ('asyut', 'Assiut', 'assiut', 'en'),
+    ('sohag', 'Sohag', 'sohag', 'en'),
+    ('sohag', 'سوهاج', 'سوهاج', 'ar'),
+    ('sohag', 'Suhag', 'suhag', 'en'),
+    ('qena', 'Qena', 'qena', 'en'),
+    ('qena', 'قنا', 'قنا', 'ar'),
+    ('qena', 'Kena', 'kena', 'en'),
+    ('luxor', 'Luxor', 'luxor', 'en'),
+    ('luxor', 'الأقصر', 'الاقصر', 'ar'),
+    ('aswan', 'Aswan', 'aswan', 'en'),
+    ('aswan', 'أسوان', 'اسوان', 'ar'),
+    ('red sea', 'Red Sea', 'red sea', 'en'),
+    ('red sea', 'البحر الأحمر', 'البحر الاحمر', 'ar'),
+    ('new valley', 'New Valley', 'new valley', 'en'),
+    ('new valley', 'الوادي الجديد', 'الوادي الجديد', 'ar'),
+    ('matrouh', 'Matrouh', 'matrouh', 'en'),
+    ('matrouh', 'مطروح', 'مطروح', 'ar'),
+    ('matrouh', 'Matruh', 'matruh', 'en'),
+    ('matrouh', 'Marsa Matrouh', 'marsa matrouh', 'en')
+) AS v(location_name, alias, normalized_alias, locale)
+JOIN location l ON l.type = 'GOVERNORATE' AND l.normalized_name = v.location_name
+ON CONFLICT (location_id, normalized_alias) DO NOTHING;
@@ -0,0 +1,45 @@
+-- Indexes for the repository queries. QueryPlanTest explains every query of the main repositories
+-- against seeded data and fails when one of them has to scan a large table.
+-- IF NOT EXISTS: the indexes declared with @Index were created by ddl-auto=update on older databases.
+
+-- Keyset pages (KeysetRepo.findPage and the per-location request pages)
+CREATE INDEX IF NOT EXISTS idx_users_created_date_id ON users (created_date, id);
+CREATE INDEX IF NOT EXISTS idx_organization_created_date_id ON organization (created_date, id);
+CREATE INDEX IF NOT EXISTS idx_requests_created_date_id ON requests (created_date, id);
+CREATE INDEX IF NOT EXISTS idx_requests_city_created_date_id ON requests (city_id, created_date, id);
+CREATE INDEX IF NOT EXISTS idx_requests_conservatism_created_date_id ON requests (conservatism_id, created_date, id);
+
+-- Requests of a user or an organization (findByUserId, detail views, bulk deletes)
+CREATE INDEX IF NOT EXISTS idx_requests_user_id ON requests (user_id);
+CREATE INDEX IF NOT EXISTS idx_requests_org_id ON requests (org_id);
+
+-- Open requests grouped by city (findBusiestOpenCities)
+CREATE INDEX IF NOT EXISTS idx_requests_status_city ON requests (status, city);
+
+-- Requests accepted by a donation; the primary key only serves request_id lookups
+CREATE INDEX IF NOT EXISTS idx_request_donation_donation_id ON request_donation (donation_id);
+
+-- Donor matching (findCompatibleDonors)
+CREATE INDEX IF NOT EXISTS idx_donation_match_city ON donation (status, confirm_donate, blood_type, city_id);
+CREATE INDEX IF NOT EXISTS idx_donation_match_conservatism ON donation (status, confirm_donate, blood_type, conservatism_id);
+
+-- Confirmed donations by donation date (expiry timers, catch-up release, donor index load)
+CREATE INDEX IF NOT EXISTS idx_donation_status_confirm_date ON donation (status, confirm_donate, donation_date);
+
+-- Donations in a city or governorate (findFirstByCityLocationIdIn, findFirstByConservatismLocationIdIn)
+CREATE INDEX IF NOT EXISTS idx_donation_city_id ON donation (city_id);
+CREATE INDEX IF NOT EXISTS idx_donation_conservatism_id ON donation (conservatism_id);
+
+-- Conversation between two users and unread messages of a receiver
+CREATE INDEX IF NOT EXISTS idx_chat_messages_sender_receiver ON chat_messages (sender_id, receiver_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_chat_messages_receiver_read ON chat_messages (receiver_id, read, timestamp);
+
+-- Tokens and password resets of a user or an organization
+CREATE INDEX IF NOT EXISTS idx_token_user_id ON token (user_id);
+CREATE INDEX IF NOT EXISTS idx_token_org_id ON token (org_id);
+CREATE INDEX IF NOT EXISTS idx_reset_passwords_user_id ON reset_passwords (user_id);
+CREATE INDEX IF NOT EXISTS idx_reset_passwords_org_id ON reset_passwords (org_id);
+
+-- Location dictionary and notification outbox
+CREATE INDEX IF NOT EXISTS idx_location_alias_normalized ON location_alias (normalized_alias);
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_due ON notification_outbox (status, next_attempt_at);
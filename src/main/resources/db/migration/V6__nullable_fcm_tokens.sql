@@ -0,0 +1,4 @@
+-- A push token Firebase reports as unregistered is cleared, so the account is skipped by later
+-- notifications until the app registers a new token.
+ALTER TABLE users ALTER COLUMN fcm_token DROP NOT NULL;
+ALTER TABLE organization ALTER COLUMN fcm_token DROP NOT NULL;
@@ -0,0 +1,11 @@
+-- Donor matching compares donation.blood_type with the canonical labels ("O-", "AB+", ...). Labels
+-- written before DonEntity normalized them ("o-", " a+", "O_NEG") are rewritten to the canonical form.
+UPDATE donation d
+SET blood_type = canonical.label
+FROM (VALUES ('O-', 'O-'), ('O+', 'O+'), ('A-', 'A-'), ('A+', 'A+'),
+             ('B-', 'B-'), ('B+', 'B+'), ('AB-', 'AB-'), ('AB+', 'AB+'),
+             ('O_NEG', 'O-'), ('O_POS', 'O+'), ('A_NEG', 'A-'), ('A_POS', 'A+'),
+             ('B_NEG', 'B-'), ('B_POS', 'B+'), ('AB_NEG', 'AB-'), ('AB_POS', 'AB+'))
+         AS canonical (raw, label)
+WHERE upper(trim(d.blood_type)) = canonical.raw
+  AND d.blood_type <> canonical.label;
@@ -0,0 +1,88 @@
+package com.spring.nuqta;
+
+import com.spring.nuqta.enums.Gender;
+import com.spring.nuqta.enums.Scope;
+import com.spring.nuqta.organization.Entity.OrgEntity;
+import com.spring.nuqta.organization.Repo.OrgRepo;
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import com.spring.nuqta.usermanagement.Repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clears unregistered FCM tokens on the schema built by the Flyway migrations, where the token columns
+ * must accept the null the cleanup writes.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class FcmTokenCleanupTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private OrgRepo orgRepo;
+
+    @Test
+    void clearFcmTokens_ClearsOnlyTheUnregisteredTokens() {
+        UserEntity stale = user(1, "stale-token");
+        UserEntity fresh = user(2, "fresh-token");
+        OrgEntity staleOrg = org(3, "stale-token");
+
+        assertEquals(1, userRepo.clearFcmTokens(List.of("stale-token", "unknown-token")));
+        assertEquals(1, orgRepo.clearFcmTokens(List.of("stale-token", "unknown-token")));
+        entityManager.clear();
+
+        assertNull(entityManager.find(UserEntity.class, stale.getId()).getFcmToken());
+        assertEquals("fresh-token", entityManager.find(UserEntity.class, fresh.getId()).getFcmToken());
+        assertNull(entityManager.find(OrgEntity.class, staleOrg.getId()).getFcmToken());
+    }
+
+    private UserEntity user(int n, String token) {
+        UserEntity user = new UserEntity();
+        user.setUsername("user" + n);
+        user.setEmail("user" + n + "@example.com");
+        user.setPassword("password");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setPhoneNumber("+20100000" + n);
+        user.setGender(Gender.MALE);
+        user.setScope(Scope.USER);
+        user.setEnabled(true);
+        user.setFcmToken(token);
+        return entityManager.persistAndFlush(user);
+    }
+
+    private OrgEntity org(int n, String token) {
+        OrgEntity org = new OrgEntity();
+        org.setOrgName("org" + n);
+        org.setEmail("org" + n + "@example.com");
+        org.setPassword("password");
+        org.setLicenseNumber("license-" + n);
+        org.setScope(Scope.ORGANIZATION);
+        org.setEnabled(true);
+        org.setFcmToken(token);
+        return entityManager.persistAndFlush(org);
+    }
+}
@@ -0,0 +1,290 @@
+package com.spring.nuqta;
+
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.enums.Gender;
+import com.spring.nuqta.enums.Level;
+import com.spring.nuqta.enums.Scope;
+import com.spring.nuqta.enums.Status;
+import com.spring.nuqta.location.Services.LocationService;
+import com.spring.nuqta.notifications.Services.NotificationService;
+import com.spring.nuqta.organization.Controller.OrgController;
+import com.spring.nuqta.organization.Entity.OrgEntity;
+import com.spring.nuqta.organization.Services.OrgReadService;
+import com.spring.nuqta.organization.Services.OrgServices;
+import com.spring.nuqta.request.Controller.ReqController;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import com.spring.nuqta.request.Services.ReqReadService;
+import com.spring.nuqta.request.Services.ReqServices;
+import com.spring.nuqta.usermanagement.Controller.UserController;
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import com.spring.nuqta.usermanagement.Repo.UserRepo;
+import com.spring.nuqta.usermanagement.Services.UserReadService;
+import com.spring.nuqta.usermanagement.Services.UserServices;
+import com.spring.nuqta.verificationToken.General.GeneralVerification;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per read endpoint, counted by Hibernate statistics on a real PostGIS database. Each
+ * endpoint runs through its controller, read service and service as in production, with caching off so
+ * every call reaches the database. Each one is called twice with different amounts of associated rows:
+ * with the lazy associations batch fetched or fetched by the entity graph, both calls prepare exactly the
+ * expected number of statements.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(FetchPlanTest.ReadPaths.class)
+class FetchPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    /**
+     * The read endpoints and everything they call; the mappers are picked up by name, the messages are
+     * those of the application.
+     */
+    @TestConfiguration
+    @ComponentScan(basePackages = "com.spring.nuqta", useDefaultFilters = false,
+            includeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*\\.Mapper\\..*MapperImpl"))
+    @Import({ReqController.class, ReqReadService.class, ReqServices.class,
+            UserController.class, UserReadService.class, UserServices.class,
+            OrgController.class, OrgReadService.class, OrgServices.class, NotFoundCache.class})
+    @ImportAutoConfiguration(MessageSourceAutoConfiguration.class)
+    static class ReadPaths {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    // Collaborators of the services that no read path touches
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private CacheTagService cacheTagService;
+
+    @MockitoBean
+    private LocationService locationService;
+
+    @MockitoBean
+    private GeneralVerification generalVerification;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ReqController reqController;
+
+    @Autowired
+    private UserController userController;
+
+    @Autowired
+    private OrgController orgController;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private Statistics statistics;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        mockMvc = MockMvcBuilders.standaloneSetup(reqController, userController, orgController).build();
+    }
+
+    @Test
+    void requestPage_PreparesThreeStatementsAtAnyPageSize() throws Exception {
+        UserEntity owner = user();
+        requests(owner, null, 12, 2);
+
+        // The page, its owners with their donation, and the donations of the page with their donors
+        assertEquals(3, statements("/api/request?limit=2"));
+        assertEquals(3, statements("/api/request?limit=10"));
+    }
+
+    @Test
+    void userPage_PreparesFourStatementsAtAnyPageSize() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            requests(user(), null, 2, 1);
+        }
+
+        // The page, its donations, the requests they accepted and the requests the page uploaded
+        assertEquals(4, statements("/api/user?limit=2"));
+        assertEquals(4, statements("/api/user?limit=10"));
+    }
+
+    @Test
+    void userDetail_PreparesOneStatementWhateverTheRequests() throws Exception {
+        UserEntity few = user();
+        requests(few, null, 1, 1);
+        UserEntity many = user();
+        requests(many, null, 10, 3);
+
+        // The entity graph joins the donation, its accepted requests and the uploaded requests
+        assertEquals(1, statements("/api/user/" + few.getId()));
+        assertEquals(1, statements("/api/user/" + many.getId()));
+    }
+
+    @Test
+    void requestDetail_PreparesOneStatementWhateverTheDonations() throws Exception {
+        UserEntity owner = user();
+        ReqEntity few = requests(owner, null, 1, 1).get(0);
+        ReqEntity many = requests(owner, null, 1, 6).get(0);
+
+        // The entity graph joins the donations, their donors and the owner
+        assertEquals(1, statements("/api/request/" + few.getId()));
+        assertEquals(1, statements("/api/request/" + many.getId()));
+    }
+
+    @Test
+    void orgDetail_PreparesOneStatementWhateverTheRequests() throws Exception {
+        OrgEntity few = org();
+        requests(null, few, 1, 0);
+        OrgEntity many = org();
+        requests(null, many, 10, 0);
+
+        // The entity graph joins the uploaded requests
+        assertEquals(1, statements("/api/org/" + few.getId()));
+        assertEquals(1, statements("/api/org/" + many.getId()));
+    }
+
+    @Test
+    void authentication_LoadsNoAssociations() {
+        UserEntity owner = user();
+        requests(owner, null, 5, 2);
+
+        entityManager.clear();
+        statistics.clear();
+        userRepo.findUserAuthProjectionByEmail(owner.getEmail()).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * @return the number of statements {@code GET uri} prepared, starting from an empty persistence context
+     */
+    private long statements(String uri) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Persists {@code count} requests uploaded by {@code owner} or {@code org}, each accepted by
+     * {@code donations} donations of new donors.
+     */
+    private List<ReqEntity> requests(UserEntity owner, OrgEntity org, int count, int donations) {
+        List<ReqEntity> requests = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            ReqEntity request = new ReqEntity();
+            request.setBloodTypeNeeded("A+");
+            request.setAmount(2.0);
+            request.setUrgencyLevel(Level.HIGH);
+            request.setStatus(Status.OPEN);
+            request.setPaymentAvailable(false);
+            request.setCity("Nasr City");
+            request.setConservatism("Cairo");
+            request.setUser(owner);
+            request.setOrganization(org);
+            for (int d = 0; d < donations; d++) {
+                request.addDonation(user().getDonation());
+            }
+            entityManager.persist(request);
+            requests.add(request);
+        }
+        entityManager.flush();
+        return requests;
+    }
+
+    private UserEntity user() {
+        int n = sequence.incrementAndGet();
+        DonEntity donation = new DonEntity();
+        donation.setBloodType("O+");
+        donation.setAmount(1.0);
+        donation.setStatus(DonStatus.VALID);
+        donation.setCity("Nasr City");
+        donation.setConservatism("Cairo");
+
+        UserEntity user = new UserEntity();
+        user.setUsername("user" + n);
+        user.setEmail("user" + n + "@example.com");
+        user.setPassword("password");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setPhoneNumber("+20100000" + n);
+        user.setGender(Gender.MALE);
+        user.setScope(Scope.USER);
+        user.setEnabled(true);
+        user.setFcmToken("fcm-token-" + n);
+        user.setUploadedRequests(new HashSet<>());
+        user.setDonation(donation);
+        donation.setUser(user);
+        return entityManager.persistAndFlush(user);
+    }
+
+    private OrgEntity org() {
+        int n = sequence.incrementAndGet();
+        OrgEntity org = new OrgEntity();
+        org.setOrgName("org" + n);
+        org.setEmail("org" + n + "@example.com");
+        org.setPassword("password");
+        org.setCity("Nasr City");
+        org.setConservatism("Cairo");
+        org.setPhoneNumber("+20200000" + n);
+        org.setLicenseNumber("license-" + n);
+        org.setScope(Scope.ORGANIZATION);
+        org.setEnabled(true);
+        org.setFcmToken("fcm-token-" + n);
+        return entityManager.persistAndFlush(org);
+    }
+}
@@ -0,0 +1,317 @@
+package com.spring.nuqta;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.nuqta.base.Repo.KeysetRepo;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.chat.Repo.ChatRepo;
+import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.forgotPassword.Repo.ResetPasswordRepo;
+import com.spring.nuqta.organization.Repo.OrgRepo;
+import com.spring.nuqta.request.Repo.ReqRepo;
+import com.spring.nuqta.usermanagement.Repo.UserRepo;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plans of every query method of the main repositories, on the schema built by the migrations and
+ * the data of db/query-plan-seed.sql.
+ * <p>
+ * Each method is called once; the SQL Hibernate prepares for it is recorded and explained as a generic
+ * plan, i.e. for any parameter values. Sequential scans are disabled while explaining, so the planner
+ * takes an index whenever one can serve the query: a Seq Scan still in the plan, or an index scan without
+ * an index condition, means no index can, whatever the seeded statistics make a small LIMIT cost.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(QueryPlanTest.Recording.class)
+@Sql(scripts = "/db/query-plan-seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS,
+        config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+class QueryPlanTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of("users", "organization", "requests", "donation",
+            "request_donation", "chat_messages", "token", "reset_passwords");
+
+    /**
+     * Queries that read (nearly) the whole table by design.
+     */
+    private static final Set<String> FULL_READS = Set.of(
+            "UserRepo.findAllByEnabledTrue",
+            "OrgRepo.findAllByEnabledTrue");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(DonRepo.class, ReqRepo.class, UserRepo.class,
+            OrgRepo.class, ChatRepo.class, ResetPasswordRepo.class);
+
+    private static final List<Long> IDS = List.of(1000001L, 1000002L);
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().minusMonths(3);
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class Recording {
+
+        @Bean
+        HibernatePropertiesCustomizer statementRecorder() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        STATEMENTS.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DonRepo donRepo;
+
+    @Autowired
+    private ReqRepo reqRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private OrgRepo orgRepo;
+
+    @Autowired
+    private ChatRepo chatRepo;
+
+    @Autowired
+    private ResetPasswordRepo resetPasswordRepo;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * One call per query method, keyed by repository and method name; overloads carry their parameter types.
+     */
+    private Map<String, Runnable> calls() {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+
+        calls.put("DonRepo.findDetailById", () -> donRepo.findDetailById(1000001L));
+        calls.put("DonRepo.findFirstByCityLocationIdIn", () -> donRepo.findFirstByCityLocationIdIn(List.of(9000001L)));
+        calls.put("DonRepo.findFirstByConservatismLocationIdIn",
+                () -> donRepo.findFirstByConservatismLocationIdIn(List.of(9000001L)));
+        calls.put("DonRepo.findPendingExpiries", () -> donRepo.findPendingExpiries(DonStatus.INVALID));
+        calls.put("DonRepo.findReleasableIds", () -> donRepo.findReleasableIds(DonStatus.INVALID, CUTOFF));
+        calls.put("DonRepo.releaseExpiredDonations(DonStatus,LocalDateTime)",
+                () -> donRepo.releaseExpiredDonations(DonStatus.INVALID, CUTOFF));
+        calls.put("DonRepo.releaseExpiredDonations(Collection,LocalDateTime)",
+                () -> donRepo.releaseExpiredDonations(IDS, CUTOFF));
+        calls.put("DonRepo.deleteAcceptances", () -> donRepo.deleteAcceptances(IDS));
+        calls.put("DonRepo.unlinkDonors", () -> donRepo.unlinkDonors(IDS));
+        calls.put("DonRepo.findIndexableDonors(DonStatus)", () -> donRepo.findIndexableDonors(DonStatus.VALID));
+        calls.put("DonRepo.findIndexableDonors(Collection,DonStatus)",
+                () -> donRepo.findIndexableDonors(IDS, DonStatus.VALID));
+        calls.put("DonRepo.findCompatibleDonors", () -> donRepo.findCompatibleDonors(List.of("O-", "O+"),
+                DonStatus.VALID, 9000001L, 9000002L, PageRequest.of(0, 50)));
+        calls.put("DonRepo.findWithinRadius", () -> donRepo.findWithinRadius(30.0444, 31.2357, 10_000, 50));
+        calls.put("DonRepo.findNearest", () -> donRepo.findNearest(30.0444, 31.2357, 50));
+
+        calls.put("ReqRepo.hardDeleteById", () -> reqRepo.hardDeleteById(4000001L));
+        calls.put("ReqRepo.deleteByUserIds", () -> reqRepo.deleteByUserIds(List.of(2000001L)));
+        calls.put("ReqRepo.deleteByOrganizationIds", () -> reqRepo.deleteByOrganizationIds(List.of(3000001L)));
+        calls.put("ReqRepo.findDetailById", () -> reqRepo.findDetailById(4000001L));
+        calls.put("ReqRepo.findByUserId", () -> reqRepo.findByUserId(2000001L));
+        calls.put("ReqRepo.findByOrganizationId", () -> reqRepo.findByOrganizationId(3000001L));
+        calls.put("ReqRepo.findPageByCityLocationIdIn", () -> reqRepo.findPageByCityLocationIdIn(
+                List.of(9000001L), Keyset.FIRST.createdDate(), Keyset.FIRST.id(), Limit.of(21)));
+        calls.put("ReqRepo.findPageByConservatismLocationIdIn", () -> reqRepo.findPageByConservatismLocationIdIn(
+                List.of(9000001L), Keyset.FIRST.createdDate(), Keyset.FIRST.id(), Limit.of(21)));
+        calls.put("ReqRepo.findWithinRadius", () -> reqRepo.findWithinRadius(30.0444, 31.2357, 10_000, 50));
+        calls.put("ReqRepo.findNearest", () -> reqRepo.findNearest(30.0444, 31.2357, 50));
+        calls.put("ReqRepo.findBusiestOpenCities", () -> reqRepo.findBusiestOpenCities(10));
+        calls.put("ReqRepo.findPage", () -> reqRepo.findPage(
+                Keyset.FIRST.createdDate(), Keyset.FIRST.id(), Limit.of(21)));
+
+        calls.put("UserRepo.findAllByEnabledTrue", userRepo::findAllByEnabledTrue);
+        calls.put("UserRepo.findByIdAndEnabledTrue", () -> userRepo.findByIdAndEnabledTrue(2000001L));
+        calls.put("UserRepo.findDetailById", () -> userRepo.findDetailById(2000001L));
+        calls.put("UserRepo.findDetailByIdAndEnabledTrue", () -> userRepo.findDetailByIdAndEnabledTrue(2000001L));
+        calls.put("UserRepo.findByEmail", () -> userRepo.findByEmail("user1@example.com"));
+        calls.put("UserRepo.findByUsernameOrEmail", () -> userRepo.findByUsernameOrEmail("user1", "user1@example.com"));
+        calls.put("UserRepo.findUserAuthProjectionByUsername", () -> userRepo.findUserAuthProjectionByUsername("user1"));
+        calls.put("UserRepo.findUserAuthProjectionByEmail",
+                () -> userRepo.findUserAuthProjectionByEmail("user1@example.com"));
+        calls.put("UserRepo.existsByEmail", () -> userRepo.existsByEmail("user1@example.com"));
+        calls.put("UserRepo.existsById", () -> userRepo.existsById(2000001L));
+        calls.put("UserRepo.existsByUsernameAndIdNot", () -> userRepo.existsByUsernameAndIdNot("user1", 2000002L));
+        calls.put("UserRepo.findDonationIds", () -> userRepo.findDonationIds(List.of(2000001L, 2000002L)));
+        calls.put("UserRepo.findPage", () -> userRepo.findPage(
+                Keyset.FIRST.createdDate(), Keyset.FIRST.id(), Limit.of(21)));
+
+        calls.put("OrgRepo.findAllByEnabledTrue", orgRepo::findAllByEnabledTrue);
+        calls.put("OrgRepo.findByIdAndEnabledTrue", () -> orgRepo.findByIdAndEnabledTrue(3000001L));
+        calls.put("OrgRepo.findDetailByIdAndEnabledTrue", () -> orgRepo.findDetailByIdAndEnabledTrue(3000001L));
+        calls.put("OrgRepo.findByEmail", () -> orgRepo.findByEmail("org1@example.com"));
+        calls.put("OrgRepo.findByLicenseNumberOrEmail",
+                () -> orgRepo.findByLicenseNumberOrEmail("license-1", "org1@example.com"));
+        calls.put("OrgRepo.findOrgAuthProjectionByEmail", () -> orgRepo.findOrgAuthProjectionByEmail("org1@example.com"));
+        calls.put("OrgRepo.findOrgAuthProjectionByLicenseNumber",
+                () -> orgRepo.findOrgAuthProjectionByLicenseNumber("license-1"));
+        calls.put("OrgRepo.existsByEmail", () -> orgRepo.existsByEmail("org1@example.com"));
+        calls.put("OrgRepo.existsById", () -> orgRepo.existsById(3000001L));
+        calls.put("OrgRepo.existsByOrgNameAndIdNot", () -> orgRepo.existsByOrgNameAndIdNot("org1", 3000002L));
+        calls.put("OrgRepo.findPage", () -> orgRepo.findPage(
+                Keyset.FIRST.createdDate(), Keyset.FIRST.id(), Limit.of(21)));
+
+        calls.put("ChatRepo.findBySenderIdAndReceiverIdOrReceiverIdAndSenderIdOrderByTimestampAsc",
+                () -> chatRepo.findBySenderIdAndReceiverIdOrReceiverIdAndSenderIdOrderByTimestampAsc(
+                        "user1", "user31", "user1", "user31"));
+        calls.put("ChatRepo.findByReceiverIdAndReadFalseOrderByTimestampDesc",
+                () -> chatRepo.findByReceiverIdAndReadFalseOrderByTimestampDesc("user31"));
+
+        calls.put("ResetPasswordRepo.findByOtp", () -> resetPasswordRepo.findByOtp("otp-1"));
+        calls.put("ResetPasswordRepo.findByOrganization_Email",
+                () -> resetPasswordRepo.findByOrganization_Email("org1@example.com"));
+        calls.put("ResetPasswordRepo.findByUser_Email", () -> resetPasswordRepo.findByUser_Email("user1@example.com"));
+        calls.put("ResetPasswordRepo.deleteByUserIds", () -> resetPasswordRepo.deleteByUserIds(List.of(2000001L)));
+        calls.put("ResetPasswordRepo.deleteByOrganizationIds",
+                () -> resetPasswordRepo.deleteByOrganizationIds(List.of(3000001L)));
+        return calls;
+    }
+
+    static Stream<String> queries() {
+        return declaredQueries().stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("queries")
+    void query_DoesNotScanLargeTables(String query) throws Exception {
+        Runnable call = calls().get(query);
+        assertNotNull(call, "no call for " + query);
+
+        STATEMENTS.clear();
+        call.run();
+        List<String> statements = new ArrayList<>(STATEMENTS);
+        assertFalse(statements.isEmpty(), query + " prepared no statement");
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql), String.class);
+            List<String> scans = new ArrayList<>();
+            fullScans(objectMapper.readTree(plan).get(0).get("Plan"), scans);
+            if (!FULL_READS.contains(query)) {
+                assertTrue(scans.isEmpty(), query + " scans " + scans + "\n" + sql + "\n" + plan);
+            }
+        }
+    }
+
+    @Test
+    void everyQueryMethodIsExplained() {
+        Set<String> missing = new TreeSet<>(declaredQueries());
+        missing.removeAll(calls().keySet());
+
+        assertEquals(Set.of(), missing);
+    }
+
+    /**
+     * The query methods declared by the repositories, and the inherited keyset page, in the key format of
+     * {@link #calls()}.
+     */
+    private static List<String> declaredQueries() {
+        List<String> queries = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            Map<String, List<Method>> byName = Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic()
+                            && !Modifier.isStatic(method.getModifiers()))
+                    .collect(Collectors.groupingBy(Method::getName, TreeMap::new, Collectors.toList()));
+            byName.forEach((name, methods) -> methods.forEach(method -> queries.add(repository.getSimpleName()
+                    + "." + name + (methods.size() > 1 ? parameterTypes(method) : ""))));
+            if (KeysetRepo.class.isAssignableFrom(repository)) {
+                queries.add(repository.getSimpleName() + ".findPage");
+            }
+        }
+        return queries;
+    }
+
+    private static String parameterTypes(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /**
+     * Scans of large tables that read every row: sequential scans, and index scans with neither an index
+     * condition nor a nearest-neighbour ordering.
+     */
+    private static void fullScans(JsonNode node, List<String> scans) {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+        if (LARGE_TABLES.contains(relation)) {
+            boolean indexScan = type.equals("Index Scan") || type.equals("Index Only Scan");
+            if (type.equals("Seq Scan")
+                    || indexScan && !node.has("Index Cond") && !node.has("Order By")) {
+                scans.add(type + " on " + relation);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            fullScans(child, scans);
+        }
+    }
+
+    /**
+     * Turns the JDBC placeholders into the numbered parameters {@code EXPLAIN (GENERIC_PLAN)} expects.
+     */
+    static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package com.spring.nuqta.base.Entity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for 100k request inserts, replaying on plain JDBC the statements Hibernate sends for
+ * each id strategy:
+ * <ul>
+ *     <li>{@code identity}: the previous mapping, one {@code INSERT ... RETURNING id} round trip per row,
+ *     which also keeps Hibernate from batching.</li>
+ *     <li>{@code sequence}: the pooled-lo mapping of {@link BaseEntity}, one {@code nextval} per
+ *     {@link BaseEntity#ID_ALLOCATION} rows and the inserts sent in JDBC batches of the same size.</li>
+ * </ul>
+ * Needs a PostgreSQL database; the tables are created and dropped in a scratch schema. The connection
+ * defaults to the one in application.properties and can be changed with {@code -Dbenchmark.jdbc.url},
+ * {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password}.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.spring.nuqta.base.Entity.BulkInsertBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH = BaseEntity.ID_ALLOCATION;
+
+    private static final String SCHEMA = "bulk_insert_benchmark";
+    private static final String COLUMNS =
+            "(blood_type_needed, amount, urgency_level, status, city, conservatism, created_date)";
+    private static final String VALUES = "(?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"identity", "sequence"})
+    public String ids;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void connect() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/Nuqta?reWriteBatchedInserts=true"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "root"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("CREATE TABLE " + SCHEMA + ".identity_requests (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "blood_type_needed VARCHAR(255), amount FLOAT8, urgency_level VARCHAR(255), status VARCHAR(255), "
+                    + "city VARCHAR(255), conservatism VARCHAR(255), created_date DATE)");
+            statement.execute("CREATE TABLE " + SCHEMA + ".sequence_requests (id BIGINT PRIMARY KEY, "
+                    + "blood_type_needed VARCHAR(255), amount FLOAT8, urgency_level VARCHAR(255), status VARCHAR(255), "
+                    + "city VARCHAR(255), conservatism VARCHAR(255), created_date DATE)");
+            statement.execute("CREATE SEQUENCE " + SCHEMA + ".sequence_requests_seq INCREMENT BY " + BATCH);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + SCHEMA + ".identity_requests, " + SCHEMA + ".sequence_requests");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void drop() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long insert() throws SQLException {
+        long last = "identity".equals(ids) ? insertWithIdentity() : insertWithSequence();
+        connection.commit();
+        return last;
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        long last = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + SCHEMA + ".identity_requests " + COLUMNS + " VALUES " + VALUES,
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int row = 0; row < ROWS; row++) {
+                bind(insert, row, 1);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    last = keys.getLong(1);
+                }
+            }
+        }
+        return last;
+    }
+
+    private long insertWithSequence() throws SQLException {
+        long next = 0;
+        long hi = 0;
+        try (PreparedStatement nextval = connection.prepareStatement(
+                "SELECT nextval('" + SCHEMA + ".sequence_requests_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO " + SCHEMA + ".sequence_requests (id, " + COLUMNS.substring(1) + " VALUES (?, " + VALUES.substring(1))) {
+            for (int row = 0; row < ROWS; row++) {
+                if (next == hi) {
+                    // pooled-lo: the sequence value is the first id of a block of BATCH ids
+                    try (ResultSet value = nextval.executeQuery()) {
+                        value.next();
+                        next = value.getLong(1);
+                        hi = next + BATCH;
+                    }
+                }
+                insert.setLong(1, next++);
+                bind(insert, row, 2);
+                insert.addBatch();
+                if ((row + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return next - 1;
+    }
+
+    private static void bind(PreparedStatement insert, int row, int first) throws SQLException {
+        insert.setString(first, "A+");
+        insert.setDouble(first + 1, 1 + row % 3);
+        insert.setString(first + 2, "HIGH");
+        insert.setString(first + 3, "OPEN");
+        insert.setString(first + 4, "Nasr City");
+        insert.setString(first + 5, "Cairo");
+        insert.setDate(first + 6, Date.valueOf(LocalDate.of(2025, 1, 1)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
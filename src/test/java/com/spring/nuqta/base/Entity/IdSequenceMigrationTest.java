@@ -0,0 +1,76 @@
+package com.spring.nuqta.base.Entity;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a database created by the former {@code ddl-auto=update}: IDENTITY ids with rows in them and an
+ * {@link BaseEntity#ID_SEQUENCE} that Hibernate created at 1. The sequences must restart above every id in
+ * use, or the first pooled-lo block collides with the existing rows.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IdSequenceMigrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Test
+    void migrate_RestartsSequencesAboveExistingIds() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE donation (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "created_date DATE, created_user VARCHAR(255), modified_date DATE, modified_user VARCHAR(255), "
+                    + "blood_type VARCHAR(255), donation_date TIMESTAMP(6), last_quiz_date TIMESTAMP(6), "
+                    + "start_donation TIMESTAMP(6), amount DOUBLE PRECISION, payment_offered BOOLEAN, "
+                    + "confirm_donate BOOLEAN, confirm_donate_req_id BIGINT, status VARCHAR(255), "
+                    + "weight DOUBLE PRECISION, city VARCHAR(255), conservatism VARCHAR(255), city_id BIGINT, "
+                    + "conservatism_id BIGINT, latitude DOUBLE PRECISION, longitude DOUBLE PRECISION)");
+            statement.execute("INSERT INTO donation (id, status) SELECT g, 'VALID' FROM generate_series(1, 137) g");
+            statement.execute("CREATE TABLE chat_messages (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "sender_id VARCHAR(255) NOT NULL, receiver_id VARCHAR(255) NOT NULL, content TEXT NOT NULL, "
+                    + "timestamp TIMESTAMP(6) NOT NULL, read BOOLEAN NOT NULL)");
+            statement.execute("INSERT INTO chat_messages (id, sender_id, receiver_id, content, timestamp, read) "
+                    + "SELECT g, 'a', 'b', 'hi', now(), false FROM generate_series(1, 42) g");
+            statement.execute("CREATE SEQUENCE " + BaseEntity.ID_SEQUENCE + " START WITH 1 INCREMENT BY 50");
+        }
+
+        Flyway.configure()
+                .dataSource(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            long maxId = value(statement, "SELECT GREATEST((SELECT MAX(id) FROM donation), (SELECT MAX(id) FROM location))");
+            assertTrue(value(statement, "SELECT nextval('" + BaseEntity.ID_SEQUENCE + "')") > maxId);
+            assertEquals(BaseEntity.ID_ALLOCATION, value(statement,
+                    "SELECT increment_by FROM pg_sequences WHERE sequencename = '" + BaseEntity.ID_SEQUENCE + "'"));
+            assertTrue(value(statement, "SELECT nextval('chat_messages_seq')") > 42);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword());
+    }
+
+    private static long value(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            assertTrue(result.next());
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.spring.nuqta.base.Services;
+
+import com.spring.nuqta.base.Repo.BaseRepo;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BaseServicesTest {
+
+    @Mock
+    private BaseRepo<ReqEntity, Long> baseRepo;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final List<List<Long>> dependents = new ArrayList<>();
+    private final List<List<Long>> written = new ArrayList<>();
+
+    private BaseServices<ReqEntity, Long> services;
+
+    @BeforeEach
+    void setUp() {
+        services = new BaseServices<>() {
+            @Override
+            protected void deleteDependents(List<Long> ids) {
+                dependents.add(List.copyOf(ids));
+            }
+
+            @Override
+            protected void afterBulkWrite(List<Long> ids) {
+                written.add(List.copyOf(ids));
+            }
+        };
+        ReflectionTestUtils.setField(services, "baseRepo", baseRepo);
+        ReflectionTestUtils.setField(services, "entityManager", entityManager);
+    }
+
+    @Test
+    void deleteAll_DeletesDistinctIdsInChunks() {
+        List<Long> ids = new ArrayList<>(ids(BaseServices.BULK_CHUNK + 1));
+        ids.add(1L);
+
+        services.deleteAll(ids);
+
+        InOrder inOrder = inOrder(baseRepo);
+        inOrder.verify(baseRepo).deleteAllByIdInBatch(ids(BaseServices.BULK_CHUNK));
+        inOrder.verify(baseRepo).deleteAllByIdInBatch(List.of(BaseServices.BULK_CHUNK + 1L));
+        verify(baseRepo, never()).deleteById(any());
+        assertEquals(written, dependents);
+        assertEquals(2, written.size());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void deleteAll_NoIds_DeletesNothing() {
+        services.deleteAll(List.of());
+
+        verify(baseRepo, never()).deleteAllByIdInBatch(any());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void insertAll_FlushesAndClearsEveryChunk() {
+        stubIdentifiers();
+        when(baseRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<ReqEntity> entities = ids(BaseServices.BULK_CHUNK + 1).stream().map(BaseServicesTest::request).toList();
+
+        List<ReqEntity> saved = services.insertAll(entities);
+
+        assertEquals(entities, saved);
+        verify(baseRepo, times(2)).saveAll(anyList());
+        verify(baseRepo, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        assertEquals(List.of(ids(BaseServices.BULK_CHUNK), List.of(BaseServices.BULK_CHUNK + 1L)), written);
+    }
+
+    @Test
+    void updateAll_LoadsEachChunkWithOneQueryBeforeMerging() {
+        stubIdentifiers();
+        when(baseRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<ReqEntity> entities = List.of(request(1L), request(2L));
+
+        services.updateAll(entities);
+
+        InOrder inOrder = inOrder(baseRepo);
+        inOrder.verify(baseRepo).findAllById(List.of(1L, 2L));
+        inOrder.verify(baseRepo).saveAll(entities);
+        inOrder.verify(baseRepo).flush();
+        verify(baseRepo, never()).findById(any());
+        assertEquals(List.of(List.of(1L, 2L)), written);
+    }
+
+    private void stubIdentifiers() {
+        EntityManagerFactory factory = mock(EntityManagerFactory.class);
+        PersistenceUnitUtil util = mock(PersistenceUnitUtil.class);
+        when(entityManager.getEntityManagerFactory()).thenReturn(factory);
+        when(factory.getPersistenceUnitUtil()).thenReturn(util);
+        when(util.getIdentifier(any())).thenAnswer(invocation -> invocation.<ReqEntity>getArgument(0).getId());
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+
+    private static ReqEntity request(Long id) {
+        ReqEntity request = new ReqEntity();
+        request.setId(id);
+        return request;
+    }
+}
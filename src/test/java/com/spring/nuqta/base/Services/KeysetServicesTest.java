@@ -0,0 +1,35 @@
+package com.spring.nuqta.base.Services;
+
+import com.spring.nuqta.base.Repo.KeysetRepo;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetServicesTest {
+
+    @Mock
+    private KeysetRepo<ReqEntity, Long> keysetRepo;
+
+    @Test
+    void findPage_ReadsOneRowMoreThanThePage() {
+        KeysetServices<ReqEntity> services = new KeysetServices<>() {
+        };
+        ReflectionTestUtils.setField(services, "keysetRepo", keysetRepo);
+        Keyset.Cursor cursor = new Keyset.Cursor(LocalDate.of(2025, 1, 1), 42L);
+        List<ReqEntity> rows = List.of(new ReqEntity());
+        when(keysetRepo.findPage(cursor.createdDate(), cursor.id(), Limit.of(21))).thenReturn(rows);
+
+        assertSame(rows, services.findPage(cursor, 20));
+    }
+}
@@ -0,0 +1,73 @@
+package com.spring.nuqta.base.Services;
+
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetTest {
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        Keyset.Cursor cursor = Keyset.decode(Keyset.encode(row(42L, LocalDate.of(2025, 3, 1))));
+
+        assertEquals(new Keyset.Cursor(LocalDate.of(2025, 3, 1), 42L), cursor);
+        assertFalse(cursor.isFirst());
+    }
+
+    @Test
+    void decode_MissingCursor_IsTheFirstPage() {
+        assertTrue(Keyset.decode(null).isFirst());
+        assertTrue(Keyset.decode(" ").isFirst());
+    }
+
+    @Test
+    void decode_InvalidCursor_BadRequest() {
+        GlobalException exception = assertThrows(GlobalException.class, () -> Keyset.decode("not-a-cursor"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void limit_DefaultsAndClamps() {
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.limit(null));
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.limit(0));
+        assertEquals(5, Keyset.limit(5));
+        assertEquals(Keyset.MAX_LIMIT, Keyset.limit(10_000));
+    }
+
+    @Test
+    void page_ExtraRow_SetsNextToTheLastRowOfThePage() {
+        ReqEntity first = row(3L, LocalDate.of(2025, 3, 2));
+        ReqEntity second = row(2L, LocalDate.of(2025, 3, 1));
+        ReqEntity extra = row(1L, LocalDate.of(2025, 3, 1));
+
+        CursorPageDto<Long> page = Keyset.page(List.of(first, second, extra), 2,
+                rows -> rows.stream().map(ReqEntity::getId).toList());
+
+        assertEquals(List.of(3L, 2L), page.getItems());
+        assertEquals(Keyset.encode(second), page.getNext());
+    }
+
+    @Test
+    void page_NoExtraRow_IsTheLastPage() {
+        CursorPageDto<Long> page = Keyset.page(List.of(row(1L, LocalDate.of(2025, 3, 1))), 2,
+                rows -> rows.stream().map(ReqEntity::getId).toList());
+
+        assertEquals(List.of(1L), page.getItems());
+        assertNull(page.getNext());
+    }
+
+    private static ReqEntity row(Long id, LocalDate createdDate) {
+        ReqEntity row = new ReqEntity();
+        row.setId(id);
+        row.setCreatedDate(createdDate);
+        return row;
+    }
+}
@@ -0,0 +1,58 @@
+package com.spring.nuqta.cache.Config;
+
+import com.spring.nuqta.cache.Services.TwoLevelCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private CacheProperties cacheProperties;
+    private AppCacheProperties appCacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getRedis().setTimeToLive(Duration.ofMinutes(5));
+        appCacheProperties = new AppCacheProperties();
+        AppCacheProperties.Region byId = new AppCacheProperties.Region();
+        byId.setTtl(Duration.ofMinutes(10));
+        byId.setLocalMaximumSize(2000L);
+        appCacheProperties.getRegions().put(CacheRegions.REQUEST_BY_ID, byId);
+        AppCacheProperties.Region all = new AppCacheProperties.Region();
+        all.setTtl(Duration.ofSeconds(10));
+        appCacheProperties.getRegions().put(CacheRegions.REQUEST_PAGE, all);
+    }
+
+    @Test
+    void regionTtl_OverrideOrDefault() {
+        assertEquals(Duration.ofMinutes(10),
+                CacheConfig.regionTtl(cacheProperties, appCacheProperties, CacheRegions.REQUEST_BY_ID));
+        assertEquals(Duration.ofMinutes(5),
+                CacheConfig.regionTtl(cacheProperties, appCacheProperties, CacheRegions.USER_BY_ID));
+    }
+
+    @Test
+    void localSpec_OverrideOrDefault() {
+        TwoLevelCacheManager.LocalSpec byId =
+                CacheConfig.localSpec(cacheProperties, appCacheProperties, CacheRegions.REQUEST_BY_ID);
+        TwoLevelCacheManager.LocalSpec byUser =
+                CacheConfig.localSpec(cacheProperties, appCacheProperties, CacheRegions.USER_BY_ID);
+
+        assertEquals(2000, byId.maximumSize());
+        assertEquals(Duration.ofSeconds(30), byId.expireAfterWrite());
+        assertEquals(1000, byUser.maximumSize());
+    }
+
+    @Test
+    void localSpec_NeverOutlivesRegionTtl() {
+        TwoLevelCacheManager.LocalSpec all =
+                CacheConfig.localSpec(cacheProperties, appCacheProperties, CacheRegions.REQUEST_PAGE);
+
+        assertEquals(Duration.ofSeconds(10), all.expireAfterWrite());
+    }
+}
@@ -0,0 +1,289 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.CacheConfig;
+import com.spring.nuqta.donation.Dto.DonResponseReqDto;
+import com.spring.nuqta.donation.Dto.DonResponseUserDto;
+import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.enums.Gender;
+import com.spring.nuqta.enums.Level;
+import com.spring.nuqta.enums.Status;
+import com.spring.nuqta.request.Dto.AddReqDto;
+import com.spring.nuqta.request.Dto.ReqDto;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import com.spring.nuqta.usermanagement.Dto.UserDto;
+import com.spring.nuqta.usermanagement.Dto.UserResponseToReqDto;
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time and payload size of the cache codecs on 100-element request and user lists.
+ * <ul>
+ *     <li>{@code jdk-entity}: JDK serialization of the entity graphs, i.e. what was cached before the
+ *     DTO read models.</li>
+ *     <li>{@code jdk}, {@code json}, {@code smile}: the {@code cache.codec.type} options on the DTO lists
+ *     that are cached now.</li>
+ * </ul>
+ * The payload size of every combination is reported next to the encode time as the {@code bytes} counter.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.spring.nuqta.cache.Services.CacheCodecBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    private static final int SIZE = 100;
+
+    @Param({"jdk-entity", "jdk", "json", "smile"})
+    public String codec;
+
+    @Param({"requests", "users"})
+    public String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        List<UserEntity> users = users();
+        List<ReqEntity> requests = new ArrayList<>();
+        users.forEach(user -> requests.addAll(user.getUploadedRequests()));
+        List<ReqEntity> requestPage = requests.subList(0, SIZE);
+
+        boolean entities = "jdk-entity".equals(codec);
+        if ("users".equals(payload)) {
+            value = entities ? new ArrayList<>(users) : userDtos(users);
+        } else {
+            value = entities ? new ArrayList<>(requestPage) : reqDtos(requestPage);
+        }
+        serializer = switch (codec) {
+            case "jdk-entity", "jdk" -> new JdkSerializationRedisSerializer();
+            case "json" -> CacheConfig.jsonSerializer();
+            default -> new SmileLz4RedisSerializer(512);
+        };
+        encoded = serializer.serialize(value);
+    }
+
+    /**
+     * Size of the encoded payload. JMH sums event counters over the measurement iterations, so every
+     * iteration reports its share and the total is the size of one payload.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public double bytes;
+
+        private double share;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            share = 1.0 / params.getMeasurement().getCount();
+        }
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) {
+        byte[] bytes = serializer.serialize(value);
+        payload.bytes = bytes.length * payload.share;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    /**
+     * Users with a donation and three uploaded requests each; every request was accepted by two donations.
+     */
+    private static List<UserEntity> users() {
+        List<UserEntity> users = new ArrayList<>(SIZE);
+        for (long i = 1; i <= SIZE; i++) {
+            UserEntity user = new UserEntity();
+            user.setId(i);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPhoneNumber("+2010000" + i);
+            user.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i));
+            user.setGender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE);
+            user.setScope(com.spring.nuqta.enums.Scope.USER);
+            user.setEnabled(true);
+            user.setFcmToken("fcm-token-" + i);
+            user.setCreatedDate(LocalDate.of(2025, 1, 1));
+
+            DonEntity donation = new DonEntity();
+            donation.setId(i);
+            donation.setBloodType("O+");
+            donation.setAmount(1.0);
+            donation.setStatus(DonStatus.VALID);
+            donation.setCity("Nasr City");
+            donation.setConservatism("Cairo");
+            donation.setLatitude(30.05 + i / 1000d);
+            donation.setLongitude(31.33 + i / 1000d);
+            donation.setUser(user);
+            user.setDonation(donation);
+            users.add(user);
+        }
+
+        long requestId = 1;
+        for (UserEntity user : users) {
+            Set<ReqEntity> uploaded = new HashSet<>();
+            for (int r = 0; r < 3; r++) {
+                ReqEntity request = new ReqEntity();
+                request.setId(requestId++);
+                request.setBloodTypeNeeded("A+");
+                request.setAmount(2.0);
+                request.setUrgencyLevel(Level.HIGH);
+                request.setStatus(Status.OPEN);
+                request.setPaymentAvailable(false);
+                request.setCity("Nasr City");
+                request.setConservatism("Cairo");
+                request.setLatitude(30.06);
+                request.setLongitude(31.34);
+                request.setCreatedDate(LocalDate.of(2025, 1, 1));
+                request.setCreatedUser(user.getUsername());
+                request.setUser(user);
+                for (int d = 0; d < 2; d++) {
+                    DonEntity donation = users.get((int) ((request.getId() + d) % SIZE)).getDonation();
+                    request.getDonations().add(donation);
+                    donation.getAcceptedRequests().add(request);
+                }
+                uploaded.add(request);
+            }
+            user.setUploadedRequests(uploaded);
+        }
+        return users;
+    }
+
+    private static List<ReqDto> reqDtos(List<ReqEntity> requests) {
+        List<ReqDto> dtos = new ArrayList<>(requests.size());
+        for (ReqEntity request : requests) {
+            ReqDto dto = new ReqDto();
+            dto.setId(request.getId());
+            dto.setBloodTypeNeeded(request.getBloodTypeNeeded());
+            dto.setAmount(request.getAmount());
+            dto.setRequestDate(request.getRequestDate());
+            dto.setUrgencyLevel(request.getUrgencyLevel());
+            dto.setStatus(request.getStatus());
+            dto.setPaymentAvailable(request.getPaymentAvailable());
+            dto.setCity(request.getCity());
+            dto.setConservatism(request.getConservatism());
+            dto.setLatitude(request.getLatitude());
+            dto.setLongitude(request.getLongitude());
+            dto.setUser(userSummary(request.getUser()));
+            Set<DonResponseReqDto> donations = new LinkedHashSet<>();
+            for (DonEntity donation : request.getDonations()) {
+                DonResponseReqDto donationDto = new DonResponseReqDto();
+                donationDto.setId(donation.getId());
+                donationDto.setBloodType(donation.getBloodType());
+                donationDto.setDonationDate(donation.getDonationDate());
+                donationDto.setStartDonation(donation.getStartDonation());
+                donationDto.setAmount(donation.getAmount());
+                donationDto.setStatus(donation.getStatus());
+                donationDto.setCity(donation.getCity());
+                donationDto.setConservatism(donation.getConservatism());
+                donationDto.setLatitude(donation.getLatitude());
+                donationDto.setLongitude(donation.getLongitude());
+                donationDto.setUser(userSummary(donation.getUser()));
+                donations.add(donationDto);
+            }
+            dto.setDonations(donations);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private static List<UserDto> userDtos(List<UserEntity> users) {
+        List<UserDto> dtos = new ArrayList<>(users.size());
+        for (UserEntity user : users) {
+            UserDto dto = new UserDto();
+            dto.setId(user.getId());
+            dto.setUsername(user.getUsername());
+            dto.setEmail(user.getEmail());
+            dto.setAge(35);
+            dto.setPhoneNumber(user.getPhoneNumber());
+            dto.setGender(user.getGender());
+            dto.setScope(user.getScope());
+
+            DonEntity donation = user.getDonation();
+            DonResponseUserDto donationDto = new DonResponseUserDto();
+            donationDto.setId(donation.getId());
+            donationDto.setBloodType(donation.getBloodType());
+            donationDto.setDonationDate(donation.getDonationDate());
+            donationDto.setStartDonation(donation.getStartDonation());
+            donationDto.setLastQuizDate(LocalDateTime.of(2025, 1, 1, 10, 0));
+            donationDto.setAmount(donation.getAmount());
+            donationDto.setStatus(donation.getStatus());
+            donationDto.setCity(donation.getCity());
+            donationDto.setConservatism(donation.getConservatism());
+            donationDto.setLatitude(donation.getLatitude());
+            donationDto.setLongitude(donation.getLongitude());
+            donationDto.setAcceptedRequests(addReqDtos(donation.getAcceptedRequests()));
+            dto.setDonation(donationDto);
+            dto.setUploadedRequests(addReqDtos(user.getUploadedRequests()));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private static Set<AddReqDto> addReqDtos(Set<ReqEntity> requests) {
+        Set<AddReqDto> dtos = new LinkedHashSet<>();
+        for (ReqEntity request : requests) {
+            AddReqDto dto = new AddReqDto();
+            dto.setId(request.getId());
+            dto.setBloodTypeNeeded(request.getBloodTypeNeeded());
+            dto.setAmount(request.getAmount());
+            dto.setRequestDate(request.getRequestDate());
+            dto.setUrgencyLevel(request.getUrgencyLevel());
+            dto.setStatus(request.getStatus());
+            dto.setPaymentAvailable(request.getPaymentAvailable());
+            dto.setCity(request.getCity());
+            dto.setConservatism(request.getConservatism());
+            dto.setLatitude(request.getLatitude());
+            dto.setLongitude(request.getLongitude());
+            dto.setUserId(request.getUser().getId());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private static UserResponseToReqDto userSummary(UserEntity user) {
+        UserResponseToReqDto dto = new UserResponseToReqDto();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setAge(35);
+        dto.setPhoneNumber(user.getPhoneNumber());
+        dto.setGender(user.getGender());
+        return dto;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CacheCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.AppCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheTagServiceTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CacheTagIndex tagIndex;
+
+    @Mock
+    private Cache cache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheTagService cacheTagService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AppCacheProperties cacheProperties = new AppCacheProperties();
+        cacheProperties.getInvalidation().setStormThreshold(2);
+        cacheTagService = new CacheTagService(cacheManager, tagIndex, meterRegistry, cacheProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidate_EvictsOnlyTaggedKeys() {
+        when(tagIndex.drain(List.of("request:1", CacheTags.REQUEST_LIST)))
+                .thenReturn(Map.of("requests", Set.of("1", "SimpleKey []")));
+        when(cacheManager.getCache("requests")).thenReturn(cache);
+
+        cacheTagService.invalidate("request:1", null, CacheTags.REQUEST_LIST, "request:1");
+
+        verify(cache).evict("1");
+        verify(cache).evict("SimpleKey []");
+        verify(cache, never()).clear();
+        assertEquals(2.0, meterRegistry.get("cache.invalidation.keys").summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.storms").counter().count());
+    }
+
+    @Test
+    void invalidate_InsideTransaction_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(tagIndex.drain(List.of("user:3"))).thenReturn(Map.of());
+
+        cacheTagService.invalidate("user:3");
+        verifyNoInteractions(tagIndex);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(tagIndex).drain(List.of("user:3"));
+    }
+
+    @Test
+    void invalidate_WithOnlyNullTags_DoesNothing() {
+        cacheTagService.invalidate((String) null);
+
+        verifyNoInteractions(tagIndex, cacheManager);
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Dto.NotFoundDto;
+import com.spring.nuqta.donation.Dto.DonResponseReqDto;
+import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.organization.Entity.OrgEntity;
+import com.spring.nuqta.request.Dto.AddReqDto;
+import com.spring.nuqta.request.Dto.ReqDto;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import com.spring.nuqta.usermanagement.Dto.UserResponseToReqDto;
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTagsTest {
+
+    @Test
+    void of_Entity_TagsWholeGraph() {
+        UserEntity user = new UserEntity();
+        user.setId(1L);
+        DonEntity donation = new DonEntity();
+        donation.setId(2L);
+        ReqEntity request = new ReqEntity();
+        request.setId(3L);
+        request.setUser(user);
+        user.setDonation(donation);
+        user.setUploadedRequests(new HashSet<>(Set.of(request)));
+        donation.setUser(user);
+
+        assertEquals(Set.of("user:1", "donation:2", "request:3"), CacheTags.of(user));
+    }
+
+    @Test
+    void of_List_AddsListTagAndElementTags() {
+        OrgEntity org = new OrgEntity();
+        org.setId(5L);
+        ReqEntity first = new ReqEntity();
+        first.setId(1L);
+        first.setOrganization(org);
+        ReqEntity second = new ReqEntity();
+        second.setId(2L);
+
+        Set<String> tags = CacheTags.of(List.of(first, second));
+
+        assertEquals(Set.of(CacheTags.REQUEST_LIST, "request:1", "request:2", "org:5"), tags);
+    }
+
+    @Test
+    void of_DtoList_TagsNestedReferences() {
+        UserResponseToReqDto user = new UserResponseToReqDto();
+        user.setId(1L);
+        DonResponseReqDto donation = new DonResponseReqDto();
+        donation.setId(2L);
+        ReqDto request = new ReqDto();
+        request.setId(3L);
+        request.setUser(user);
+        request.setDonations(Set.of(donation));
+        AddReqDto uploaded = new AddReqDto();
+        uploaded.setId(4L);
+        uploaded.setOrgId(5L);
+
+        assertEquals(Set.of(CacheTags.REQUEST_LIST, "request:3", "user:1", "donation:2", "request:4", "org:5"),
+                CacheTags.of(List.of(request, uploaded)));
+    }
+
+    @Test
+    void of_UntrackedValues_HaveNoTags() {
+        assertTrue(CacheTags.of(null).isEmpty());
+        assertTrue(CacheTags.of("value").isEmpty());
+        assertTrue(CacheTags.of(new ReqEntity()).isEmpty());
+    }
+
+    @Test
+    void tagNames_IgnoreNullIds() {
+        assertEquals("request:4", CacheTags.request(4L));
+        assertNull(CacheTags.user(null));
+    }
+
+    @Test
+    void of_NotFound_UsesItsOwnTags() {
+        NotFoundDto notFound = new NotFoundDto("error.request.no_requests", List.of(CacheTags.REQUEST_LIST));
+
+        assertEquals(Set.of(CacheTags.REQUEST_LIST), CacheTags.of(notFound));
+    }
+}
@@ -0,0 +1,80 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.AppCacheProperties;
+import com.spring.nuqta.donation.Services.DonReadService;
+import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.organization.Services.OrgReadService;
+import com.spring.nuqta.request.Repo.ReqRepo;
+import com.spring.nuqta.request.Services.ReqReadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private ReqRepo reqRepo;
+
+    @Mock
+    private ReqReadService reqReadService;
+
+    @Mock
+    private DonReadService donReadService;
+
+    @Mock
+    private OrgReadService orgReadService;
+
+    private AppCacheProperties cacheProperties;
+    private CacheWarmer cacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new AppCacheProperties();
+        cacheProperties.getWarm().setCities(2);
+        cacheWarmer = new CacheWarmer(cacheProperties, reqRepo, reqReadService, donReadService, orgReadService);
+    }
+
+    @Test
+    void warm_LoadsOrgsAndBusiestCities() {
+        when(reqRepo.findBusiestOpenCities(2)).thenReturn(List.of("Cairo", "Giza"));
+
+        cacheWarmer.warm();
+
+        verify(reqReadService).findPage(null, null);
+        verify(orgReadService).findPage(null, null);
+        verify(reqReadService).getRequestsByCity("Cairo", null, null);
+        verify(reqReadService).getRequestsByCity("Giza", null, null);
+        verify(donReadService).findTopCity("Cairo");
+        verify(donReadService).findTopCity("Giza");
+    }
+
+    @Test
+    void warm_FailingRegion_DoesNotStopTheOthers() {
+        when(orgReadService.findPage(null, null))
+                .thenThrow(new GlobalException("error.org.notFound", HttpStatus.NOT_FOUND));
+        when(reqRepo.findBusiestOpenCities(2)).thenReturn(List.of("Cairo"));
+        when(reqReadService.getRequestsByCity("Cairo", null, null))
+                .thenThrow(new GlobalException("error.request.no_requests", HttpStatus.NOT_FOUND));
+
+        cacheWarmer.warm();
+
+        verify(donReadService).findTopCity("Cairo");
+    }
+
+    @Test
+    void warm_Disabled_DoesNothing() {
+        cacheProperties.getWarm().setEnabled(false);
+
+        cacheWarmer.warm();
+
+        verifyNoInteractions(reqRepo, reqReadService, donReadService, orgReadService);
+    }
+}
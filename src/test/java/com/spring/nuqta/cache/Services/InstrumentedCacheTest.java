@@ -0,0 +1,70 @@
+package com.spring.nuqta.cache.Services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InstrumentedCache(new ConcurrentMapCache("requests"), meterRegistry);
+    }
+
+    @Test
+    void get_CountsHitsAndMissesPerCache() {
+        cache.put(1L, "value");
+
+        cache.get(1L);
+        cache.get(1L, String.class);
+        cache.get(2L);
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1.0, meterRegistry.get("cache.puts").tag("cache", "requests").counter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tags("cache", "requests", "result", "hit").counter().count());
+    }
+
+    @Test
+    void get_WithLoader_TimesTheLoadOnMissOnly() {
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+        assertEquals("loaded", cache.get(1L, () -> fail("should be cached")));
+
+        assertEquals(1, meterRegistry.get("cache.load").timer().count());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void evictAndClear_AreCountedSeparately() {
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+        cache.clear();
+
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.clears").counter().count());
+    }
+
+    @Test
+    void hottestKeys_OrdersByReads() {
+        for (Long key : List.of(1L, 2L, 2L, 3L, 3L, 3L)) {
+            cache.get(key);
+        }
+
+        Map<String, Long> hottest = cache.hottestKeys(2);
+
+        assertEquals(List.of("3", "2"), List.copyOf(hottest.keySet()));
+        assertEquals(3L, hottest.get("3"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.request.Services.ReqReadService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodKeyGeneratorTest {
+
+    private final MethodKeyGenerator keyGenerator = new MethodKeyGenerator();
+
+    @Test
+    void generate_QualifiesKeyWithMethodName() throws NoSuchMethodException {
+        Method byCity = ReqReadService.class.getMethod("getRequestsByCity", String.class, String.class, Integer.class);
+        Method byConservatism = ReqReadService.class.getMethod("getRequestsByConservatism", String.class, String.class,
+                Integer.class);
+
+        Object cityKey = keyGenerator.generate(null, byCity, "Cairo", null, 20);
+        Object conservatismKey = keyGenerator.generate(null, byConservatism, "Cairo", null, 20);
+
+        assertEquals("getRequestsByCity(Cairo,null,20)", cityKey);
+        assertNotEquals(cityKey, conservatismKey);
+    }
+
+    @Test
+    void generate_NoArgsAndNullArgs() throws NoSuchMethodException {
+        assertEquals("findPage(null,null)", keyGenerator.generate(null,
+                ReqReadService.class.getMethod("findPage", String.class, Integer.class), null, null));
+        assertEquals("findById(null)",
+                keyGenerator.generate(null, ReqReadService.class.getMethod("findById", Long.class), (Object) null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Dto.NotFoundDto;
+import com.spring.nuqta.exception.GlobalException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotFoundCacheTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private Cache cache;
+    private NotFoundCache notFoundCache;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConcurrentMapCache(CacheRegions.NOT_FOUND);
+        when(cacheManager.getCache(CacheRegions.NOT_FOUND)).thenReturn(cache);
+        notFoundCache = new NotFoundCache(cacheManager);
+        queries = new AtomicInteger();
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void load_NotFound_IsRememberedWithItsTag() {
+        for (int i = 0; i < 3; i++) {
+            GlobalException e = assertThrows(GlobalException.class, this::lookupMissingCity);
+            assertEquals("error.request.no_requests", e.getMessage());
+            assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+        }
+
+        assertEquals(1, queries.get());
+        NotFoundDto cached = cache.get("request-by-city:Atlantis:en", NotFoundDto.class);
+        assertNotNull(cached);
+        assertEquals(CacheTags.REQUEST_LIST, cached.getTags().get(0));
+    }
+
+    @Test
+    void load_OtherErrors_AreNotRemembered() {
+        assertThrows(GlobalException.class, () -> notFoundCache.load(CacheRegions.REQUEST_BY_ID, 0L,
+                CacheTags.REQUEST_LIST, () -> {
+                    throw new GlobalException("error.invalid.id", HttpStatus.BAD_REQUEST);
+                }));
+
+        assertNull(cache.get("request-by-id:0:en"));
+    }
+
+    @Test
+    void load_Found_ReturnsValue() {
+        assertEquals("rows", notFoundCache.load(CacheRegions.REQUEST_PAGE, "all", CacheTags.REQUEST_LIST,
+                () -> "rows"));
+    }
+
+    private Object lookupMissingCity() {
+        return notFoundCache.load(CacheRegions.REQUEST_BY_CITY, "Atlantis", CacheTags.REQUEST_LIST, () -> {
+            queries.incrementAndGet();
+            throw new GlobalException("error.request.no_requests", HttpStatus.NOT_FOUND);
+        });
+    }
+}
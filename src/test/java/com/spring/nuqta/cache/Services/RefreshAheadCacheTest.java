@@ -0,0 +1,125 @@
+package com.spring.nuqta.cache.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadCacheTest {
+
+    private Cache delegate;
+    private List<Runnable> queued;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("request-page");
+        queued = new ArrayList<>();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_EntryPastRefreshPoint_ReloadsInBackgroundOnce() {
+        // Fraction 0: every hit on an entry written by this node is due
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0, queued::add);
+
+        assertEquals("v1", cache.get("findAll()", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("findAll()", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("findAll()", () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, queued.size());
+        assertTrue(cache.isRefreshing("findAll()"));
+        queued.get(0).run();
+
+        assertFalse(cache.isRefreshing("findAll()"));
+        assertEquals("v2", delegate.get("findAll()", String.class));
+    }
+
+    @Test
+    void get_EntryBeforeRefreshPoint_DoesNotReload() {
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0.8, queued::add);
+
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void get_EntryWrittenByAnotherNode_IsNotTracked() {
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0, queued::add);
+        delegate.put("findAll()", "remote");
+
+        assertEquals("remote", cache.get("findAll()", () -> "v" + loads.incrementAndGet()));
+
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void refresh_EntryEvictedWhileLoading_IsNotWrittenBack() {
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0, queued::add);
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+
+        cache.evict("findAll()");
+        queued.get(0).run();
+
+        assertNull(delegate.get("findAll()"));
+    }
+
+    @Test
+    void refresh_EntryEvictedOnAnotherNodeWhileLoading_IsNotWrittenBack() {
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0, queued::add);
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+
+        // A tag invalidation on another node reaches this one only through the bus
+        cache.onRemoteEvict("findAll()");
+        queued.get(0).run();
+
+        assertEquals("v1", delegate.get("findAll()", String.class));
+        assertFalse(cache.isRefreshing("findAll()"));
+    }
+
+    @Test
+    void refresh_RunsWithTheLocaleOfTheTriggeringRead() {
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0, queued::add);
+        List<Locale> loadLocales = new ArrayList<>();
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+        LocaleContextHolder.setLocale(new Locale("ar"));
+        try {
+            cache.get("findAll()", () -> {
+                loadLocales.add(LocaleContextHolder.getLocale());
+                return "v" + loads.incrementAndGet();
+            });
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+
+        queued.get(0).run();
+
+        assertEquals(List.of(new Locale("ar")), loadLocales);
+        assertNull(LocaleContextHolder.getLocaleContext());
+    }
+
+    @Test
+    void refresh_QueueFull_IsSkipped() {
+        RefreshAheadCache cache = new RefreshAheadCache(delegate, Duration.ofMinutes(1), 0, task -> {
+            throw new RejectedExecutionException("full");
+        });
+        cache.get("findAll()", () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v1", cache.get("findAll()", () -> "v" + loads.incrementAndGet()));
+        assertFalse(cache.isRefreshing("findAll()"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.spring.nuqta.cache.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightCacheTest {
+
+    @Mock
+    private CacheLoadLock loadLock;
+
+    private Cache delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("requests");
+    }
+
+    @Test
+    void get_ConcurrentMisses_RunLoaderOnce() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(delegate, null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("all", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "rows";
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("all", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // Followers are parked on the leader's future
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("rows", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.inFlight());
+    }
+
+    @Test
+    void get_LoaderFailure_IsSharedAndNotCached() {
+        SingleFlightCache cache = new SingleFlightCache(delegate, null);
+
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("all", () -> {
+                    throw new IllegalStateException("db down");
+                }));
+
+        assertNull(delegate.get("all"));
+        assertEquals(0, cache.inFlight());
+        assertEquals("rows", cache.get("all", () -> "rows"));
+    }
+
+    @Test
+    void get_WithRedisLock_LoadsUnderLockAndReleases() {
+        when(loadLock.tryAcquire("requests", "all")).thenReturn("token");
+        SingleFlightCache cache = new SingleFlightCache(delegate, loadLock);
+        when(loadLock.ttl()).thenReturn(Duration.ofSeconds(1));
+
+        assertEquals("rows", cache.get("all", () -> "rows"));
+
+        verify(loadLock).release("requests", "all", "token");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void get_LockHeldElsewhere_TakesTheOtherNodesValue() {
+        Cache remote = mock(Cache.class);
+        when(remote.getName()).thenReturn("requests");
+        when(remote.get(eq("all"), any(Callable.class)))
+                .thenAnswer(invocation -> ((Callable<Object>) invocation.getArgument(1)).call());
+        // The other node finishes its load while we wait
+        when(remote.get("all", Object.class)).thenReturn(null, "rows from other node");
+        when(loadLock.ttl()).thenReturn(Duration.ofSeconds(5));
+        when(loadLock.tryAcquire("requests", "all")).thenReturn(null);
+        SingleFlightCache cache = new SingleFlightCache(remote, loadLock);
+
+        assertEquals("rows from other node", cache.get("all", () -> fail("should not load")));
+        verify(loadLock, never()).release(anyString(), anyString(), anyString());
+    }
+}
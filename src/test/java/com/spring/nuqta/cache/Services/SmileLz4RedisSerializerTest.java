@@ -0,0 +1,90 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.enums.Level;
+import com.spring.nuqta.enums.Status;
+import com.spring.nuqta.request.Dto.ReqDto;
+import com.spring.nuqta.usermanagement.Dto.UserResponseToReqDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmileLz4RedisSerializerTest {
+
+    private SmileLz4RedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new SmileLz4RedisSerializer(512);
+    }
+
+    @Test
+    void roundTrip_DtoList_KeepsTypesAndValues() {
+        List<ReqDto> requests = requests(3);
+
+        Object read = serializer.deserialize(serializer.serialize(requests));
+
+        List<?> list = assertInstanceOf(List.class, read);
+        assertEquals(3, list.size());
+        ReqDto first = assertInstanceOf(ReqDto.class, list.get(0));
+        assertEquals(1L, first.getId());
+        assertEquals(LocalDate.of(2025, 1, 1), first.getRequestDate());
+        assertEquals(Level.HIGH, first.getUrgencyLevel());
+        assertEquals("user1", first.getUser().getUsername());
+    }
+
+    @Test
+    void serialize_SmallValue_IsNotCompressed() {
+        byte[] bytes = serializer.serialize(requests(1));
+
+        assertEquals(SmileLz4RedisSerializer.RAW, bytes[0]);
+    }
+
+    @Test
+    void serialize_LargeValue_IsCompressed() {
+        List<ReqDto> requests = requests(200);
+
+        byte[] bytes = serializer.serialize(requests);
+
+        assertEquals(SmileLz4RedisSerializer.LZ4, bytes[0]);
+        assertEquals(200, ((List<?>) serializer.deserialize(bytes)).size());
+    }
+
+    @Test
+    void roundTrip_LongKeepsItsType() {
+        assertEquals(42L, serializer.deserialize(serializer.serialize(42L)));
+    }
+
+    @Test
+    void deserialize_EmptyOrUnknownFormat() {
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{9, 1, 2}));
+    }
+
+    private static List<ReqDto> requests(int count) {
+        List<ReqDto> requests = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            UserResponseToReqDto user = new UserResponseToReqDto();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            ReqDto request = new ReqDto();
+            request.setId((long) i);
+            request.setBloodTypeNeeded("O+");
+            request.setAmount(2.0);
+            request.setRequestDate(LocalDate.of(2025, 1, 1));
+            request.setUrgencyLevel(Level.HIGH);
+            request.setStatus(Status.OPEN);
+            request.setCity("Cairo");
+            request.setConservatism("Cairo");
+            request.setUser(user);
+            requests.add(request);
+        }
+        return requests;
+    }
+}
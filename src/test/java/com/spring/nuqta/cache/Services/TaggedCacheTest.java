@@ -0,0 +1,68 @@
+package com.spring.nuqta.cache.Services;
+
+import com.spring.nuqta.usermanagement.Entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaggedCacheTest {
+
+    @Mock
+    private CacheTagIndex tagIndex;
+
+    private Cache delegate;
+    private TaggedCache cache;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users");
+        cache = new TaggedCache(delegate, tagIndex);
+        user = new UserEntity();
+        user.setId(7L);
+    }
+
+    @Test
+    void put_RecordsTagsUnderStringKey() {
+        cache.put(7L, user);
+
+        assertSame(user, delegate.get(7L).get());
+        verify(tagIndex).record("users", "7", Set.of("user:7"));
+    }
+
+    @Test
+    void get_WithLoader_TagsLoadedValueOnce() {
+        assertSame(user, cache.get(7L, () -> user));
+        assertSame(user, cache.get(7L, () -> fail("should be cached")));
+
+        verify(tagIndex, times(1)).record("users", "7", Set.of("user:7"));
+    }
+
+    @Test
+    void put_UntaggedValue_SkipsIndex() {
+        cache.put("key", "value");
+
+        verifyNoInteractions(tagIndex);
+    }
+
+    @Test
+    void put_WhenIndexFails_EvictsEntry() {
+        doThrow(new RedisConnectionFailureException("down")).when(tagIndex).record(anyString(), any(), anyCollection());
+
+        cache.put(7L, user);
+
+        assertNull(delegate.get(7L));
+    }
+}
@@ -0,0 +1,148 @@
+package com.spring.nuqta.cache.Services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationBus bus;
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private Cache remote;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        remote = new ConcurrentMapCache("requests");
+        cache = new TwoLevelCache("requests", local, remote, bus);
+    }
+
+    @Test
+    void get_RemoteHit_FillsLocalUnderStringKey() {
+        remote.put(5L, "value");
+
+        assertEquals("value", cache.get(5L).get());
+        assertEquals("value", local.getIfPresent("5"));
+
+        remote.evict(5L);
+        assertEquals("value", cache.get(5L).get());
+    }
+
+    @Test
+    void get_Miss_DoesNotFillLocal() {
+        assertNull(cache.get(5L));
+        assertEquals(0, local.estimatedSize());
+    }
+
+    @Test
+    void put_WritesRemoteDropsLocalAndPublishes() {
+        local.put("5", "stale");
+
+        cache.put(5L, "fresh");
+
+        assertEquals("fresh", remote.get(5L).get());
+        assertNull(local.getIfPresent("5"));
+        verify(bus).publishEvict("requests", "5");
+    }
+
+    @Test
+    void get_WithLoader_StoresOnlyInRemote() {
+        assertEquals("loaded", cache.get(5L, () -> "loaded"));
+
+        assertEquals("loaded", remote.get(5L).get());
+        assertNull(local.getIfPresent("5"));
+        assertEquals("loaded", cache.get(5L, () -> fail("should be cached")));
+    }
+
+    @Test
+    void evict_DropsBothLevelsAndPublishes() {
+        remote.put(5L, "value");
+        cache.get(5L);
+
+        cache.evict(5L);
+
+        assertNull(remote.get(5L));
+        assertNull(local.getIfPresent("5"));
+        verify(bus).publishEvict("requests", "5");
+    }
+
+    @Test
+    void clear_DropsBothLevelsAndPublishes() {
+        remote.put(5L, "value");
+        cache.get(5L);
+
+        cache.clear();
+
+        assertNull(remote.get(5L));
+        assertEquals(0, local.estimatedSize());
+        verify(bus).publishClear("requests");
+    }
+
+    @Test
+    void onRemoteEvict_DropsLocalOnly() {
+        remote.put(5L, "value");
+        cache.get(5L);
+
+        cache.onRemoteEvict("5");
+
+        assertNull(local.getIfPresent("5"));
+        assertNotNull(remote.get(5L));
+        verifyNoInteractions(bus);
+    }
+
+    @Test
+    void bus_IgnoresOwnMessagesAndForwardsOthers() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        CacheInvalidationBus realBus = new CacheInvalidationBus(redisTemplate);
+        CacheInvalidationBus.Listener listener = mock(CacheInvalidationBus.Listener.class);
+        realBus.subscribe(listener);
+
+        realBus.publishEvict("requests", "5");
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CacheInvalidationBus.CHANNEL), published.capture());
+
+        realBus.onMessage(message(published.getValue()), null);
+        realBus.onMessage(message("other-node|E|requests|5"), null);
+        realBus.onMessage(message("other-node|C|users|"), null);
+
+        verify(listener, times(1)).onEvict("requests", "5");
+        verify(listener).onClear("users");
+    }
+
+    @Test
+    void bus_ForwardsToEveryListener() {
+        CacheInvalidationBus realBus = new CacheInvalidationBus(mock(StringRedisTemplate.class));
+        CacheInvalidationBus.Listener first = mock(CacheInvalidationBus.Listener.class);
+        CacheInvalidationBus.Listener second = mock(CacheInvalidationBus.Listener.class);
+        realBus.subscribe(first);
+        realBus.subscribe(second);
+
+        realBus.onMessage(message("other-node|E|requests|5"), null);
+
+        verify(first).onEvict("requests", "5");
+        verify(second).onEvict("requests", "5");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
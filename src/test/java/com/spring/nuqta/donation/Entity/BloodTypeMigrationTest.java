@@ -0,0 +1,76 @@
+package com.spring.nuqta.donation.Entity;
+
+import com.spring.nuqta.enums.BloodType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Donations stored with a lower case or enum-name blood type before labels were normalized on write.
+ * The donor match compares {@code blood_type} with the canonical labels exactly, so the migration must
+ * rewrite them or those donors are never matched.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BloodTypeMigrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Test
+    void migrate_CanonicalizesStoredBloodTypes() throws SQLException {
+        migrate("6");
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO donation (id, blood_type, status, confirm_donate) VALUES "
+                    + "(1, 'o-', 'VALID', false), (2, ' a+', 'VALID', false), (3, 'B_NEG', 'VALID', false), "
+                    + "(4, 'AB+', 'VALID', false), (5, 'unknown', 'VALID', false)");
+        }
+
+        migrate(null);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertEquals(List.of("O-", "A+", "B-", "AB+", "unknown"),
+                    strings(statement, "SELECT blood_type FROM donation ORDER BY id"));
+            String compatible = String.join("', '", BloodType.compatibleDonorLabels("A+"));
+            assertEquals(List.of("1", "2"), strings(statement,
+                    "SELECT id FROM donation WHERE blood_type IN ('" + compatible + "') ORDER BY id"));
+        }
+    }
+
+    private static void migrate(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword())
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword());
+    }
+
+    private static List<String> strings(Statement statement, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (ResultSet result = statement.executeQuery(sql)) {
+            while (result.next()) {
+                values.add(result.getString(1));
+            }
+        }
+        return values;
+    }
+}
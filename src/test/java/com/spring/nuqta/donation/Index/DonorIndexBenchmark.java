@@ -0,0 +1,148 @@
+package com.spring.nuqta.donation.Index;
+
+import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.enums.BloodType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares a donor match against {@link DonorIndex} with the query it replaces,
+ * {@link DonRepo#findWithinRadius}: the same SQL on a GiST-indexed PostGIS table holding the same donors.
+ * The index also filters by blood type compatibility, so the replayed query carries the equivalent
+ * {@code blood_type IN (...)} predicate; both return the nearest {@value #LIMIT} matches.
+ * <p>
+ * Needs a PostgreSQL database with PostGIS; the donors are loaded into a scratch schema that is dropped
+ * afterwards. The connection defaults to the one in application.properties and can be changed with
+ * {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password}.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.spring.nuqta.donation.Index.DonorIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DonorIndexBenchmark {
+
+    private static final double CENTER_LAT = 30.0444;
+    private static final double CENTER_LON = 31.2357;
+    private static final double RADIUS_METERS = 10_000;
+    private static final int LIMIT = 50;
+
+    private static final String SCHEMA = "donor_index_benchmark";
+
+    /**
+     * DonRepo.findWithinRadius, plus the compatibility filter of the index.
+     */
+    private static final String WITHIN_RADIUS = "SELECT d.id FROM " + SCHEMA + ".donation d " +
+            "WHERE d.status = 'VALID' AND d.confirm_donate = false AND d.blood_type IN ('O-', 'O+', 'A-', 'A+') " +
+            "AND ST_DWithin(d.location, CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography), ?) " +
+            "ORDER BY d.location <-> CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography) " +
+            "LIMIT ?";
+
+    @Param({"1000000"})
+    public int donors;
+
+    private Connection connection;
+    private PreparedStatement withinRadius;
+    private DonorIndex index;
+    private int recipientMask;
+    private int today;
+    private long[] outIds;
+    private double[] outDistances;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/Nuqta"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "root"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS postgis");
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("CREATE TABLE " + SCHEMA + ".donation (id BIGINT PRIMARY KEY, "
+                    + "blood_type VARCHAR(255), status VARCHAR(255), confirm_donate BOOLEAN, "
+                    + "latitude DOUBLE PRECISION, longitude DOUBLE PRECISION, location geography(Point, 4326) "
+                    + "GENERATED ALWAYS AS (CAST(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326) AS geography)) STORED)");
+            // Spread donors over roughly 500 x 500 km around Cairo
+            statement.execute("SELECT setseed(0.42)");
+            statement.execute("INSERT INTO " + SCHEMA + ".donation (id, blood_type, status, confirm_donate, latitude, longitude) "
+                    + "SELECT g, (ARRAY['O-','O+','A-','A+','B-','B+','AB-','AB+'])[1 + floor(random() * 8)::int], "
+                    + "'VALID', false, " + CENTER_LAT + " + (random() - 0.5) * 4.5, " + CENTER_LON + " + (random() - 0.5) * 5.2 "
+                    + "FROM generate_series(1, " + donors + ") g");
+            statement.execute("CREATE INDEX ON " + SCHEMA + ".donation USING GIST (location)");
+            statement.execute("ANALYZE " + SCHEMA + ".donation");
+        }
+
+        index = new DonorIndex(mock(DonRepo.class));
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT id, blood_type, latitude, longitude FROM " + SCHEMA + ".donation")) {
+            while (rows.next()) {
+                index.upsert(rows.getLong(1), rows.getString(2), rows.getDouble(3), rows.getDouble(4), null);
+            }
+        }
+
+        withinRadius = connection.prepareStatement(WITHIN_RADIUS);
+        withinRadius.setDouble(1, CENTER_LON);
+        withinRadius.setDouble(2, CENTER_LAT);
+        withinRadius.setDouble(3, RADIUS_METERS);
+        withinRadius.setDouble(4, CENTER_LON);
+        withinRadius.setDouble(5, CENTER_LAT);
+        withinRadius.setInt(6, LIMIT);
+
+        recipientMask = BloodType.A_POS.compatibleDonorMask();
+        today = (int) LocalDate.now().toEpochDay();
+        outIds = new long[LIMIT];
+        outDistances = new double[LIMIT];
+    }
+
+    @TearDown(Level.Trial)
+    public void drop() throws SQLException {
+        withinRadius.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int primitiveIndex() {
+        return index.search(recipientMask, CENTER_LAT, CENTER_LON, RADIUS_METERS, today, outIds, outDistances);
+    }
+
+    @Benchmark
+    public int postgisWithinRadius() throws SQLException {
+        int found = 0;
+        try (ResultSet rows = withinRadius.executeQuery()) {
+            while (rows.next()) {
+                outIds[found++] = rows.getLong(1);
+            }
+        }
+        return found;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DonorIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
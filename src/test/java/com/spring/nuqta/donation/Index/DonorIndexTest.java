@@ -0,0 +1,101 @@
+package com.spring.nuqta.donation.Index;
+
+import com.spring.nuqta.donation.Projection.DonorIndexProjection;
+import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.enums.DonStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DonorIndexTest {
+
+    // Downtown Cairo and two points roughly 1 km and 15 km away
+    private static final double LAT = 30.0444;
+    private static final double LON = 31.2357;
+
+    @Mock
+    private DonRepo donRepo;
+
+    private DonorIndex donorIndex;
+
+    @BeforeEach
+    void setUp() {
+        donorIndex = new DonorIndex(donRepo);
+    }
+
+    @Test
+    void testRebuildLoadsEligibleDonors() {
+        when(donRepo.findIndexableDonors(DonStatus.VALID)).thenReturn(List.of(
+                new DonorIndexProjection(1L, "O-", LAT, LON, null),
+                new DonorIndexProjection(2L, "unknown", LAT, LON, null),
+                new DonorIndexProjection(3L, "A+", null, null, null)
+        ));
+
+        donorIndex.rebuild();
+
+        assertEquals(1, donorIndex.size());
+    }
+
+    @Test
+    void testRebuildReplaysChangesMadeWhileLoading() {
+        when(donRepo.findIndexableDonors(DonStatus.VALID)).thenAnswer(invocation -> {
+            // Committed after the snapshot was read: donor 1 left, donor 2 became eligible
+            donorIndex.remove(1L);
+            donorIndex.upsert(2L, "O+", LAT, LON, null);
+            return List.of(new DonorIndexProjection(1L, "O+", LAT, LON, null));
+        });
+
+        donorIndex.rebuild();
+
+        assertEquals(List.of(2L), donorIndex.search("O+", LAT, LON, 1_000, 10));
+        donorIndex.remove(2L);
+        assertEquals(0, donorIndex.size());
+    }
+
+    @Test
+    void testSearchFiltersByCompatibilityAndSortsByDistance() {
+        donorIndex.upsert(1L, "O-", LAT + 0.135, LON, null);
+        donorIndex.upsert(2L, "A+", LAT + 0.009, LON, null);
+        donorIndex.upsert(3L, "B+", LAT, LON, null);
+
+        List<Long> result = donorIndex.search("A+", LAT, LON, 20_000, 10);
+
+        assertEquals(List.of(2L, 1L), result);
+    }
+
+    @Test
+    void testSearchRespectsRadiusLimitAndEligibility() {
+        donorIndex.upsert(1L, "O+", LAT + 0.135, LON, null);
+        donorIndex.upsert(2L, "O+", LAT + 0.009, LON, LocalDateTime.now().plusMonths(2));
+        donorIndex.upsert(3L, "O+", LAT, LON + 0.001, null);
+        donorIndex.upsert(4L, "O+", LAT, LON + 0.002, null);
+
+        assertEquals(List.of(3L), donorIndex.search("O+", LAT, LON, 5_000, 1));
+        assertEquals(List.of(3L, 4L), donorIndex.search("O+", LAT, LON, 5_000, 10));
+    }
+
+    @Test
+    void testUpsertReplacesAndRemoveCompacts() {
+        donorIndex.upsert(1L, "O+", LAT, LON, null);
+        donorIndex.upsert(2L, "O+", LAT, LON + 0.001, null);
+        donorIndex.upsert(1L, "AB+", LAT, LON, null);
+
+        assertEquals(2, donorIndex.size());
+        assertEquals(List.of(2L), donorIndex.search("O+", LAT, LON, 1_000, 10));
+
+        donorIndex.remove(1L);
+        donorIndex.remove(42L);
+
+        assertEquals(1, donorIndex.size());
+        assertEquals(List.of(2L), donorIndex.search("AB+", LAT, LON, 1_000, 10));
+    }
+}
@@ -123,6 +123,16 @@ class DonMapperTest {
         assertEquals(reqDto.getCity(), reqEntity.getCity());
     }
 
+    @Test
+    void testMapDonDtoToDonEntity_NormalizesBloodType() {
+        DonDto donDto = new DonDto();
+        donDto.setBloodType("o+");
+
+        DonEntity donEntity = donMapper.unMap(donDto);
+
+        assertEquals("O+", donEntity.getBloodType());
+    }
+
     @Test
     void testMapReqEntityToDto_NullInput() {
         // Act
@@ -1,16 +1,19 @@
 package com.spring.nuqta.donation.Services;
 
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.donation.Dto.AcceptDonationRequestDto;
 import com.spring.nuqta.donation.Entity.DonEntity;
 import com.spring.nuqta.donation.Repo.DonRepo;
 import com.spring.nuqta.enums.DonStatus;
+import com.spring.nuqta.enums.LocationType;
 import com.spring.nuqta.exception.GlobalException;
-import com.spring.nuqta.notifications.Services.NotificationService;
+import com.spring.nuqta.location.Services.LocationService;
+import com.spring.nuqta.notifications.Services.NotificationOutboxService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.request.Entity.ReqEntity;
 import com.spring.nuqta.request.Repo.ReqRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,12 +21,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,7 +50,7 @@ class DonServicesTest {
     private SendEmail sendMailToDoner;
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationOutboxService notificationOutbox;
 
     @Mock
     private MessageSource messageSource;
@@ -51,6 +58,15 @@ class DonServicesTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private CacheTagService cacheTagService;
+
     @InjectMocks
     private DonServices donServices;
 
@@ -96,7 +112,7 @@ class DonServicesTest {
 
     @Test
     void findById_WithValidId_ReturnsDonation() {
-        when(donRepository.findById(1L)).thenReturn(Optional.of(validDonation));
+        when(donRepository.findDetailById(1L)).thenReturn(Optional.of(validDonation));
 
         DonEntity result = donServices.findById(1L);
 
@@ -120,7 +136,7 @@ class DonServicesTest {
 
     @Test
     void findById_WithNonExistentId_ThrowsException() {
-        when(donRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(donRepository.findDetailById(anyLong())).thenReturn(Optional.empty());
         when(messageSource.getMessage(any(), any(), any())).thenReturn("Not found");
 
         GlobalException exception = assertThrows(GlobalException.class, () -> {
@@ -134,7 +150,8 @@ class DonServicesTest {
     void findTopConservatism_WithValidConservatism_ReturnsDonations() {
         List<DonEntity> donations = new ArrayList<>();
         donations.add(validDonation);
-        when(donRepository.findFirstByConservatismContainingIgnoreCase(any())).thenReturn(donations);
+        when(locationService.match("test", LocationType.GOVERNORATE)).thenReturn(Set.of(5L));
+        when(donRepository.findFirstByConservatismLocationIdIn(Set.of(5L))).thenReturn(donations);
 
         List<DonEntity> result = donServices.findTopConservatism("test");
 
@@ -144,7 +161,7 @@ class DonServicesTest {
 
     @Test
     void findTopConservatism_WithNoResults_ThrowsException() {
-        when(donRepository.findFirstByConservatismContainingIgnoreCase(any())).thenReturn(new ArrayList<>());
+        when(locationService.match("nonexistent", LocationType.GOVERNORATE)).thenReturn(Set.of());
 
         GlobalException exception = assertThrows(GlobalException.class, () -> {
             donServices.findTopConservatism("nonexistent");
@@ -154,7 +171,7 @@ class DonServicesTest {
     }
 
     @Test
-    void acceptDonationRequest_WithValidData_UpdatesEntities() throws MessagingException {
+    void acceptDonationRequest_WithValidData_UpdatesEntities() {
         when(donRepository.findById(1L)).thenReturn(Optional.of(validDonation));
         when(reqRepository.findById(1L)).thenReturn(Optional.of(request));
 
@@ -172,7 +189,20 @@ class DonServicesTest {
     }
 
     @Test
-    void acceptDonationRequest_WithAlreadyAccepted_ThrowsException() throws MessagingException {
+    void acceptDonationRequest_QueuesNotificationsInOutbox() {
+        when(donRepository.findById(1L)).thenReturn(Optional.of(validDonation));
+        when(reqRepository.findById(1L)).thenReturn(Optional.of(request));
+        when(messageSource.getMessage(eq("notification.requestAcceptedTitle"), any(), any())).thenReturn("Accepted");
+        when(messageSource.getMessage(eq("notification.requestAcceptedMessage"), any(), any())).thenReturn("Accepted by Test Donor");
+
+        donServices.acceptDonationRequest(dto);
+
+        verify(notificationOutbox).enqueue("donor-fcm-token", "Accepted", "Accepted by Test Donor");
+        verify(notificationOutbox).enqueue("org-fcm-token", "Accepted", "Accepted by Test Donor");
+    }
+
+    @Test
+    void acceptDonationRequest_WithAlreadyAccepted_ThrowsException() {
         validDonation.addAcceptedRequest(request);
         request.addDonation(validDonation);
 
@@ -188,7 +218,7 @@ class DonServicesTest {
     }
 
     @Test
-    void deleteAcceptedDonationRequest_WithValidData_UpdatesEntities() throws MessagingException {
+    void deleteAcceptedDonationRequest_WithValidData_UpdatesEntities() {
         validDonation.addAcceptedRequest(request);
         request.addDonation(validDonation);
         validDonation.setStatus(DonStatus.INVALID);
@@ -226,4 +256,72 @@ class DonServicesTest {
         assertEquals("error.donation.confirmed", exception.getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    void findWithinRadius_WithValidPoint_QueriesRepository() {
+        when(donRepository.findWithinRadius(30.0444, 31.2357, 5000.0, 20)).thenReturn(List.of(validDonation));
+
+        List<DonEntity> result = donServices.findWithinRadius(30.0444, 31.2357, 5000.0, null);
+
+        assertEquals(1, result.size());
+        verify(donRepository, times(1)).findWithinRadius(30.0444, 31.2357, 5000.0, 20);
+    }
+
+    @Test
+    void findWithinRadius_WithInvalidCoordinates_ThrowsException() {
+        GlobalException exception = assertThrows(GlobalException.class, () -> {
+            donServices.findWithinRadius(120.0, 31.2357, 5000.0, 10);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("error.location.invalidCoordinates", exception.getMessage());
+        verifyNoInteractions(donRepository);
+    }
+
+    @Test
+    void findNearest_CapsLimit() {
+        when(donRepository.findNearest(30.0444, 31.2357, 100)).thenReturn(List.of(validDonation));
+
+        List<DonEntity> result = donServices.findNearest(30.0444, 31.2357, 5000);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void updateDonationStatuses_ReleasesWithSingleUpdate() {
+        when(donRepository.releaseExpiredDonations(eq(DonStatus.INVALID), any(LocalDateTime.class))).thenReturn(3);
+
+        int released = donServices.updateDonationStatuses();
+
+        assertEquals(3, released);
+        verify(donRepository, never()).findAll();
+    }
+
+    @Test
+    void releaseExpiredDonations_ReindexesAndInvalidatesDonationLists() {
+        when(donRepository.releaseExpiredDonations(eq(List.of(1L, 2L)), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals(1, donServices.releaseExpiredDonations(List.of(1L, 2L)));
+
+        verify(eventPublisher).publishEvent(new DonationsReleasedEvent(List.of(1L, 2L)));
+        verify(cacheTagService).invalidate(CacheTags.donation(1L), CacheTags.donation(2L), CacheTags.DONATION_LIST);
+    }
+
+    @Test
+    void releaseExpiredDonations_WithNoIds_SkipsQuery() {
+        assertEquals(0, donServices.releaseExpiredDonations(Collections.emptyList()));
+        verifyNoInteractions(donRepository);
+    }
+
+    @Test
+    void markAsAccepted_PublishesConfirmedEvent() {
+        validDonation.setDonationDate(LocalDateTime.now());
+        when(donRepository.findById(1L)).thenReturn(Optional.of(validDonation));
+        when(reqRepository.findById(1L)).thenReturn(Optional.of(request));
+
+        donServices.markAsAccepted(1L, 1L);
+
+        assertTrue(validDonation.getConfirmDonate());
+        verify(eventPublisher).publishEvent(new DonationConfirmedEvent(1L, validDonation.getDonationDate()));
+    }
+
+}
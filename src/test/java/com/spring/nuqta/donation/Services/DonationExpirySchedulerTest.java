@@ -0,0 +1,46 @@
+package com.spring.nuqta.donation.Services;
+
+import com.spring.nuqta.donation.Repo.DonRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class DonationExpirySchedulerTest {
+
+    @Mock
+    private DonRepo donRepository;
+
+    @Mock
+    private DonServices donServices;
+
+    @InjectMocks
+    private DonationExpiryScheduler scheduler;
+
+    @Test
+    void testConfirmedDonationArmsTimer() {
+        scheduler.onDonationConfirmed(new DonationConfirmedEvent(1L, LocalDateTime.now()));
+        scheduler.schedule(2L, null);
+        scheduler.schedule(null, LocalDateTime.now());
+
+        assertEquals(1, scheduler.pending());
+    }
+
+    @Test
+    void testExpiryDelayAndOrdering() {
+        long now = System.currentTimeMillis();
+        DonationExpiryScheduler.Expiry soon = new DonationExpiryScheduler.Expiry(1L, now + 1_000);
+        DonationExpiryScheduler.Expiry later = new DonationExpiryScheduler.Expiry(2L, now + 60_000);
+
+        assertTrue(soon.compareTo(later) < 0);
+        assertTrue(later.getDelay(TimeUnit.SECONDS) > 50);
+        assertTrue(new DonationExpiryScheduler.Expiry(3L, now - 1_000).getDelay(TimeUnit.MILLISECONDS) <= 0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring.nuqta.enums;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloodTypeTest {
+
+    @Test
+    void testFromLabel() {
+        assertEquals(BloodType.O_NEG, BloodType.fromLabel("O-"));
+        assertEquals(BloodType.AB_POS, BloodType.fromLabel(" ab+ "));
+        assertEquals(BloodType.B_POS, BloodType.fromLabel("B_POS"));
+        assertNull(BloodType.fromLabel("C+"));
+        assertNull(BloodType.fromLabel(null));
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("O-", BloodType.normalize("o-"));
+        assertEquals("AB+", BloodType.normalize(" ab+ "));
+        assertEquals("B-", BloodType.normalize("B_NEG"));
+        assertEquals("unknown", BloodType.normalize("unknown"));
+        assertNull(BloodType.normalize(null));
+    }
+
+    @Test
+    void testUniversalDonorAndRecipient() {
+        for (BloodType recipient : BloodType.values()) {
+            assertTrue(recipient.canReceiveFrom(BloodType.O_NEG), recipient + " should receive O-");
+            assertTrue(BloodType.AB_POS.canReceiveFrom(recipient), "AB+ should receive " + recipient);
+        }
+    }
+
+    @Test
+    void testRhNegativeCannotReceivePositive() {
+        assertFalse(BloodType.A_NEG.canReceiveFrom(BloodType.A_POS));
+        assertFalse(BloodType.O_NEG.canReceiveFrom(BloodType.O_POS));
+        assertTrue(BloodType.A_POS.canReceiveFrom(BloodType.A_NEG));
+    }
+
+    @Test
+    void testCompatibleDonorLabels() {
+        assertEquals(Set.of("O-"), BloodType.compatibleDonorLabels("O-"));
+        assertEquals(Set.of("O-", "O+", "B-", "B+"), BloodType.compatibleDonorLabels("B+"));
+        assertEquals(Set.of("O-", "A-", "B-", "AB-"), BloodType.compatibleDonorLabels("AB-"));
+        assertTrue(BloodType.compatibleDonorLabels("unknown").isEmpty());
+    }
+}
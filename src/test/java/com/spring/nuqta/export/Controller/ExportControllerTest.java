@@ -0,0 +1,122 @@
+package com.spring.nuqta.export.Controller;
+
+import com.spring.nuqta.authentication.Jwt.JwtAuthenticationFilter;
+import com.spring.nuqta.authentication.SecurityConfig;
+import com.spring.nuqta.authentication.Services.AuthService;
+import com.spring.nuqta.export.Services.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The export endpoints behind the real security filter chain.
+ */
+@SpringJUnitWebConfig(ExportControllerTest.Config.class)
+@TestPropertySource(properties = {"cors.allowed-origins=http://localhost:4200", "token.base.url=http://localhost:8090"})
+class ExportControllerTest {
+
+    @Configuration
+    @EnableWebMvc
+    @Import(SecurityConfig.class)
+    static class Config {
+
+        @Bean
+        ExportService exportService() {
+            return mock(ExportService.class);
+        }
+
+        @Bean
+        ExportController exportController(ExportService exportService) {
+            return new ExportController(exportService, Duration.ofMinutes(5));
+        }
+
+        @Bean
+        JwtAuthenticationFilter jwtAuthenticationFilter() {
+            return new JwtAuthenticationFilter(mock(HandlerExceptionResolver.class), mock(AuthService.class));
+        }
+
+        @Bean
+        MessageSource messageSource() {
+            StaticMessageSource messageSource = new StaticMessageSource();
+            messageSource.setUseCodeAsDefaultMessage(true);
+            return messageSource;
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ExportService exportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        reset(exportService);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void exportRequests_AsUser_IsForbidden() throws Exception {
+        mockMvc.perform(get("/api/export/requests").with(user("donor").authorities(new SimpleGrantedAuthority("USER"))))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportDonations_AsUser_IsForbidden() throws Exception {
+        mockMvc.perform(get("/api/export/donations").with(user("donor").authorities(new SimpleGrantedAuthority("USER"))))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportRequests_AsOrganization_StreamsNdjson() throws Exception {
+        when(exportService.exportRequests(eq(LocalDate.of(2025, 1, 1)), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/export/requests").param("since", "2025-01-01")
+                        .with(user("org").authorities(new SimpleGrantedAuthority("ORGANIZATION"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportController.NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.spring.nuqta.export.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(jdbcTemplate, new ObjectMapper(), 250);
+    }
+
+    @Test
+    void exportRequests_WritesOneLinePerRowFromAForwardOnlyCursor() throws Exception {
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("city");
+        when(metaData.getColumnLabel(3)).thenReturn("created_date");
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(1L, 2L);
+        when(resultSet.getObject(2)).thenReturn("Cairo", (Object) null);
+        when(resultSet.getObject(3)).thenReturn(Date.valueOf(LocalDate.of(2025, 1, 2)), Date.valueOf(LocalDate.of(2025, 1, 3)));
+        runQueriesOnCursor();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportRequests(LocalDate.of(2025, 1, 1), out);
+
+        assertEquals(2, rows);
+        assertEquals("""
+                {"id":1,"city":"Cairo","created_date":"2025-01-02"}
+                {"id":2,"city":null,"created_date":"2025-01-03"}
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(statement).setFetchSize(250);
+        verify(statement).setObject(1, LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void exportDonations_WithoutSince_ExportsEverything() throws Exception {
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        runQueriesOnCursor();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportDonations(null, out));
+
+        assertEquals(0, out.size());
+        verify(statement).setObject(1, LocalDate.of(1970, 1, 1));
+    }
+
+    /**
+     * Runs the statement creator and the result extractor the service passes against the mocked cursor.
+     */
+    private void runQueriesOnCursor() {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), ArgumentMatchers.<ResultSetExtractor<Long>>any()))
+                .thenAnswer(invocation -> {
+                    invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+                    return invocation.<ResultSetExtractor<Long>>getArgument(1).extractData(resultSet);
+                });
+    }
+}
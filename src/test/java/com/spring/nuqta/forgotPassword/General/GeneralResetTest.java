@@ -4,7 +4,7 @@ import com.spring.nuqta.exception.GlobalException;
 import com.spring.nuqta.forgotPassword.Entity.ResetPasswordEntity;
 import com.spring.nuqta.forgotPassword.Repo.ResetPasswordRepo;
 import com.spring.nuqta.forgotPassword.Services.ResetPasswordService;
-import com.spring.nuqta.mail.Services.EmailService;
+import com.spring.nuqta.mail.Services.MailDispatcher;
 import com.spring.nuqta.mail.template.ForgotPasswordWithOtp;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Projection.OrgAuthProjection;
@@ -12,7 +12,6 @@ import com.spring.nuqta.organization.Repo.OrgRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Projection.UserAuthProjection;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -43,7 +42,7 @@ class GeneralResetTest {
     @Mock
     private ResetPasswordRepo resetPasswordRepo;
     @Mock
-    private EmailService emailService;
+    private MailDispatcher mailDispatcher;
     @Mock
     private ResetPasswordService resetPasswordService;
     @Mock
@@ -173,7 +172,7 @@ class GeneralResetTest {
     }
 
     @Test
-    void sendOtpEmail_WhenUserFoundAndEnabled_SendsOtp() throws MessagingException {
+    void sendOtpEmail_WhenUserFoundAndEnabled_SendsOtp() {
         // Setup
         UserAuthProjection userProjection = mock(UserAuthProjection.class);
         when(userProjection.enabled()).thenReturn(true);
@@ -182,6 +181,7 @@ class GeneralResetTest {
         when(userRepo.findUserAuthProjectionByEmail(testEmail)).thenReturn(Optional.of(userProjection));
         when(resetPasswordService.generateOtp()).thenReturn(testOtp);
         when(userRepo.findByEmail(testEmail)).thenReturn(Optional.of(new UserEntity()));
+        when(mailDispatcher.dispatch(any(ForgotPasswordWithOtp.class))).thenReturn(true);
         when(messageSource.getMessage(eq("otp.success"), eq(null), any(Locale.class)))
                 .thenReturn("OTP sent successfully");
 
@@ -189,13 +189,13 @@ class GeneralResetTest {
         ResponseEntity<Map<String, String>> response = generalReset.sendOtpEmail(testEmail);
 
         // Verify
-        verify(emailService).sendMail(any(ForgotPasswordWithOtp.class));
+        verify(mailDispatcher).dispatch(any(ForgotPasswordWithOtp.class));
         assertEquals("OTP sent successfully", response.getBody().get("message"));
         assertEquals(200, response.getStatusCodeValue());
     }
 
     @Test
-    void sendOtpEmail_WhenOrganizationFoundAndEnabled_SendsOtp() throws MessagingException {
+    void sendOtpEmail_WhenOrganizationFoundAndEnabled_SendsOtp() {
         // Setup
         OrgAuthProjection orgProjection = mock(OrgAuthProjection.class);
         when(orgProjection.enabled()).thenReturn(true);
@@ -204,6 +204,7 @@ class GeneralResetTest {
         when(organizationRepo.findOrgAuthProjectionByEmail(testEmail)).thenReturn(Optional.of(orgProjection));
         when(resetPasswordService.generateOtp()).thenReturn(testOtp);
         when(organizationRepo.findByEmail(testEmail)).thenReturn(Optional.of(new OrgEntity()));
+        when(mailDispatcher.dispatch(any(ForgotPasswordWithOtp.class))).thenReturn(true);
         when(messageSource.getMessage(eq("otp.success"), eq(null), any(Locale.class)))
                 .thenReturn("OTP sent successfully");
 
@@ -211,7 +212,7 @@ class GeneralResetTest {
         ResponseEntity<Map<String, String>> response = generalReset.sendOtpEmail(testEmail);
 
         // Verify
-        verify(emailService).sendMail(any(ForgotPasswordWithOtp.class));
+        verify(mailDispatcher).dispatch(any(ForgotPasswordWithOtp.class));
         assertEquals("OTP sent successfully", response.getBody().get("message"));
         assertEquals(200, response.getStatusCodeValue());
     }
@@ -234,7 +235,7 @@ class GeneralResetTest {
     }
 
     @Test
-    void sendOtpEmail_WhenEmailSendingFails_ReturnsInternalError() throws MessagingException {
+    void sendOtpEmail_WhenEmailSendingFails_ReturnsInternalError() {
         // Setup
         UserAuthProjection userProjection = mock(UserAuthProjection.class);
         when(userProjection.enabled()).thenReturn(true);
@@ -245,7 +246,7 @@ class GeneralResetTest {
         when(userRepo.findByEmail(testEmail)).thenReturn(Optional.of(new UserEntity()));
         when(messageSource.getMessage(eq("otp.send.error"), eq(null), any(Locale.class)))
                 .thenReturn("Failed to send OTP");
-        doThrow(new MessagingException()).when(emailService).sendMail(any(ForgotPasswordWithOtp.class));
+        when(mailDispatcher.dispatch(any(ForgotPasswordWithOtp.class))).thenReturn(false);
 
         // Execute
         ResponseEntity<Map<String, String>> response = generalReset.sendOtpEmail(testEmail);
@@ -0,0 +1,59 @@
+package com.spring.nuqta.location.Index;
+
+import com.spring.nuqta.cache.Services.CacheInvalidationBus;
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Dto.LocationSuggestionDto;
+import com.spring.nuqta.location.Projection.LocationAliasProjection;
+import com.spring.nuqta.location.Repo.LocationRepo;
+import com.spring.nuqta.location.Services.LocationCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LocationSuggestIndexTest {
+
+    private LocationRepo locationRepo;
+    private CacheInvalidationBus bus;
+    private LocationSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        locationRepo = mock(LocationRepo.class);
+        bus = mock(CacheInvalidationBus.class);
+        index = new LocationSuggestIndex(locationRepo, bus);
+    }
+
+    @Test
+    void onLocationCreated_IndexesAndAnnouncesToOtherNodes() {
+        index.onLocationCreated(new LocationCreatedEvent(7L, "Aswan", LocationType.CITY, "aswan"));
+
+        assertEquals(List.of(new LocationSuggestionDto(7L, "Aswan", LocationType.CITY)),
+                index.suggest("asw", null, 10));
+        verify(bus).subscribe(index);
+        verify(bus).publishEvict(LocationSuggestIndex.BUS_NAME, "7");
+    }
+
+    @Test
+    void onEvict_LocationCreatedOnAnotherNode_LoadsItsAliases() {
+        when(locationRepo.findAliases(7L)).thenReturn(List.of(
+                new LocationAliasProjection(7L, "Aswan", LocationType.CITY, "aswan"),
+                new LocationAliasProjection(7L, "Aswan", LocationType.CITY, "اسوان")));
+
+        index.onEvict(LocationSuggestIndex.BUS_NAME, "7");
+
+        assertEquals(List.of(new LocationSuggestionDto(7L, "Aswan", LocationType.CITY)),
+                index.suggest("اس", LocationType.CITY, 10));
+        verify(bus, never()).publishEvict(any(), any());
+    }
+
+    @Test
+    void onEvict_OtherCache_IsIgnored() {
+        index.onEvict("request-page", "7");
+
+        verifyNoInteractions(locationRepo);
+    }
+}
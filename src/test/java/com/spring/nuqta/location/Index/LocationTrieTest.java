@@ -0,0 +1,56 @@
+package com.spring.nuqta.location.Index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationTrieTest {
+
+    private LocationTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new LocationTrie<>();
+        trie.put("alexandria", "Alexandria");
+        trie.put("alex", "Alexandria");
+        trie.put("aswan", "Aswan");
+        trie.put("asyut", "Asyut");
+        trie.put("assiut", "Asyut");
+        trie.put("الاسكندريه", "Alexandria");
+    }
+
+    @Test
+    void testPrefixEndingInsideEdge() {
+        assertEquals(List.of("Alexandria"), trie.findByPrefix("alexa", 10));
+        assertEquals(List.of("Alexandria"), trie.findByPrefix("الاس", 10));
+    }
+
+    @Test
+    void testSplitEdgesKeepAllKeys() {
+        assertEquals(List.of("Asyut", "Aswan"), trie.findByPrefix("as", 10));
+        assertEquals(List.of("Alexandria", "Asyut", "Aswan"), trie.findByPrefix("a", 10));
+    }
+
+    @Test
+    void testDuplicateValuesAndLimit() {
+        assertEquals(List.of("Alexandria"), trie.findByPrefix("ale", 10));
+        assertEquals(1, trie.findByPrefix("a", 1).size());
+    }
+
+    @Test
+    void testMissingPrefix() {
+        assertTrue(trie.findByPrefix("cairo", 10).isEmpty());
+        assertTrue(trie.findByPrefix("alx", 10).isEmpty());
+    }
+
+    @Test
+    void testClear() {
+        assertEquals(6, trie.size());
+        trie.clear();
+        assertEquals(0, trie.size());
+        assertTrue(trie.findByPrefix("a", 10).isEmpty());
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring.nuqta.location.Services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationNormalizerTest {
+
+    @Test
+    void testEnglishSpellingsFold() {
+        assertEquals("port said", LocationNormalizer.normalize("  Port-Said "));
+        assertEquals("giza", LocationNormalizer.normalize("Giza Governorate"));
+    }
+
+    @Test
+    void testArabicVariantsFold() {
+        assertEquals("الاسكندريه", LocationNormalizer.normalize("الإسكندرية"));
+        assertEquals("الاسكندريه", LocationNormalizer.normalize("محافظة الاسكندريّة"));
+        assertEquals("بني سويف", LocationNormalizer.normalize("بنى سويف"));
+    }
+
+    @Test
+    void testBlankValues() {
+        assertNull(LocationNormalizer.normalize(null));
+        assertNull(LocationNormalizer.normalize(" - "));
+        assertNull(LocationNormalizer.normalize("محافظة"));
+    }
+
+    @Test
+    void testLocale() {
+        assertEquals("ar", LocationNormalizer.locale("القاهرة"));
+        assertEquals("en", LocationNormalizer.locale("Cairo"));
+        assertEquals("en", LocationNormalizer.locale(null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.spring.nuqta.location.Services;
+
+import com.spring.nuqta.enums.LocationType;
+import com.spring.nuqta.location.Dto.LocationSuggestionDto;
+import com.spring.nuqta.location.Entity.LocationEntity;
+import com.spring.nuqta.location.Index.LocationSuggestIndex;
+import com.spring.nuqta.location.Repo.LocationAliasRepo;
+import com.spring.nuqta.location.Repo.LocationRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocationServiceTest {
+
+    @Mock
+    private LocationRepo locationRepo;
+
+    @Mock
+    private LocationAliasRepo aliasRepo;
+
+    @Mock
+    private LocationSuggestIndex suggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LocationService locationService;
+
+    @Test
+    void testResolveKnownAliasIsInterned() {
+        LocationEntity cairo = location(1L);
+        when(locationRepo.findIdsByAlias(LocationType.GOVERNORATE, "القاهره")).thenReturn(List.of(1L));
+        when(locationRepo.getReferenceById(1L)).thenReturn(cairo);
+
+        assertSame(cairo, locationService.resolve("القاهرة", LocationType.GOVERNORATE));
+        assertSame(cairo, locationService.resolve("  القاهره ", LocationType.GOVERNORATE));
+
+        verify(locationRepo, times(1)).findIdsByAlias(any(), any());
+        verifyNoInteractions(aliasRepo);
+    }
+
+    @Test
+    void testResolveCreatesUnknownLocation() {
+        LocationEntity created = location(7L);
+        when(locationRepo.findIdsByAlias(LocationType.CITY, "nasr city")).thenReturn(List.of());
+        when(locationRepo.findByTypeAndNormalizedName(LocationType.CITY, "nasr city")).thenReturn(Optional.of(created));
+
+        assertSame(created, locationService.resolve("Nasr City", LocationType.CITY));
+
+        verify(locationRepo).insertIfAbsent("CITY", "Nasr City", "nasr city");
+        verify(aliasRepo).insertIfAbsent(7L, "Nasr City", "nasr city", "en");
+        verify(eventPublisher).publishEvent(new LocationCreatedEvent(7L, null, LocationType.CITY, "nasr city"));
+    }
+
+    @Test
+    void testResolveBlankName() {
+        assertNull(locationService.resolve("  ", LocationType.CITY));
+        verifyNoInteractions(locationRepo, aliasRepo);
+    }
+
+    @Test
+    void testMatchUsesNormalizedQuery() {
+        when(locationRepo.findIdsMatching("GOVERNORATE", "الجيزه")).thenReturn(List.of(2L));
+
+        assertEquals(Set.of(2L), locationService.match("محافظة الجيزة", LocationType.GOVERNORATE));
+        assertTrue(locationService.match(null, LocationType.GOVERNORATE).isEmpty());
+    }
+
+    @Test
+    void testSuggestNormalizesAndCapsLimit() {
+        List<LocationSuggestionDto> suggestions = List.of(new LocationSuggestionDto(3L, "Alexandria", LocationType.GOVERNORATE));
+        when(suggestIndex.suggest("الاس", null, LocationService.MAX_SUGGEST_LIMIT)).thenReturn(suggestions);
+
+        assertEquals(suggestions, locationService.suggest("الإس", null, 500));
+        assertTrue(locationService.suggest(" ", null, null).isEmpty());
+        verifyNoInteractions(locationRepo);
+    }
+
+    private static LocationEntity location(Long id) {
+        LocationEntity location = new LocationEntity();
+        location.setId(id);
+        return location;
+    }
+}
@@ -33,6 +33,9 @@ public class EmailServiceTest {
     @Mock
     private AbstractEmailContext emailContext;
 
+    @Mock
+    private MailRenderCache renderCache;
+
     @InjectMocks
     private EmailService emailService;
 
@@ -50,7 +53,7 @@ public class EmailServiceTest {
         }});
 
         mimeMessage = mock(MimeMessage.class);
-        when(emailSender.createMimeMessage()).thenReturn(mimeMessage);
+        lenient().when(emailSender.createMimeMessage()).thenReturn(mimeMessage);
 
         // Ensure templateEngine returns valid email content
         lenient().when(templateEngine.process(eq("templateLocation"), any(Context.class)))
@@ -103,4 +106,22 @@ public class EmailServiceTest {
         assertEquals("SMTP error", exception.getMessage());
         verify(emailSender).send(mimeMessage);
     }
+
+    @Test
+    void createMessage_RendersWithoutSending() throws MessagingException {
+        MimeMessage result = emailService.createMessage(emailContext);
+
+        assertEquals(mimeMessage, result);
+        verify(templateEngine).process(eq("templateLocation"), any(Context.class));
+        verify(emailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void send_UsesOneCallForAllMessages() {
+        MimeMessage other = mock(MimeMessage.class);
+
+        emailService.send(mimeMessage, other);
+
+        verify(emailSender, times(1)).send(mimeMessage, other);
+    }
 }
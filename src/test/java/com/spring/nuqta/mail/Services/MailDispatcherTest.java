@@ -0,0 +1,204 @@
+package com.spring.nuqta.mail.Services;
+
+import com.spring.nuqta.mail.template.AbstractEmailContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private EmailService emailService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MailDispatcher(emailService, meterRegistry, 1, 2, 10, 2, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dispatch_WithoutTransaction_QueuesImmediately() {
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+
+        assertEquals(1, dispatcher.pending());
+        assertEquals(1.0, meterRegistry.get("mail.dispatcher.queue.size").gauge().value());
+    }
+
+    @Test
+    void dispatch_InsideTransaction_QueuesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+        assertEquals(0, dispatcher.pending());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, dispatcher.pending());
+    }
+
+    @Test
+    void dispatch_WhenQueueFull_RejectsAndCounts() {
+        dispatcher.dispatch(mock(AbstractEmailContext.class));
+        dispatcher.dispatch(mock(AbstractEmailContext.class));
+
+        assertFalse(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+        assertEquals(1.0, meterRegistry.get("mail.dispatcher.rejected").counter().count());
+    }
+
+    @Test
+    void dispatch_InsideTransactionWhenQueueFull_RejectsBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+        assertFalse(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+
+        assertEquals(1.0, meterRegistry.get("mail.dispatcher.rejected").counter().count());
+    }
+
+    @Test
+    void dispatch_RolledBack_FreesTheSlot() {
+        TransactionSynchronizationManager.initSynchronization();
+        dispatcher.dispatch(mock(AbstractEmailContext.class));
+        dispatcher.dispatch(mock(AbstractEmailContext.class));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(0, dispatcher.pending());
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+    }
+
+    @Test
+    void drain_SendsWholeBatchInOneCall() throws Exception {
+        MimeMessage first = mock(MimeMessage.class);
+        MimeMessage second = mock(MimeMessage.class);
+        AbstractEmailContext firstEmail = mock(AbstractEmailContext.class);
+        AbstractEmailContext secondEmail = mock(AbstractEmailContext.class);
+        when(emailService.createMessage(firstEmail)).thenReturn(first);
+        when(emailService.createMessage(secondEmail)).thenReturn(second);
+        dispatcher.dispatch(firstEmail);
+        dispatcher.dispatch(secondEmail);
+
+        assertEquals(2, dispatcher.drain(0, TimeUnit.MILLISECONDS));
+
+        verify(emailService, times(1)).send(first, second);
+        assertEquals(0, dispatcher.pending());
+        assertEquals(1, meterRegistry.get("mail.dispatcher.send").timer().count());
+        assertEquals(2, meterRegistry.get("mail.dispatcher.latency").timer().count());
+    }
+
+    @Test
+    void drain_SkipsEmailsThatFailToRender() throws Exception {
+        MimeMessage ok = mock(MimeMessage.class);
+        AbstractEmailContext good = mock(AbstractEmailContext.class);
+        AbstractEmailContext bad = mock(AbstractEmailContext.class);
+        when(emailService.createMessage(good)).thenReturn(ok);
+        when(emailService.createMessage(bad)).thenThrow(new MessagingException("boom"));
+        dispatcher.dispatch(bad);
+        dispatcher.dispatch(good);
+
+        dispatcher.drain(0, TimeUnit.MILLISECONDS);
+
+        verify(emailService).send(ok);
+        assertEquals(1.0, meterRegistry.get("mail.dispatcher.failed").counter().count());
+    }
+
+    @Test
+    void drain_RetriesOnlyTheMessagesTheServerRejected() throws Exception {
+        MimeMessage accepted = mock(MimeMessage.class);
+        MimeMessage rejected = mock(MimeMessage.class);
+        MimeMessage resent = mock(MimeMessage.class);
+        AbstractEmailContext acceptedEmail = mock(AbstractEmailContext.class);
+        AbstractEmailContext rejectedEmail = mock(AbstractEmailContext.class);
+        when(emailService.createMessage(acceptedEmail)).thenReturn(accepted);
+        when(emailService.createMessage(rejectedEmail)).thenReturn(rejected, resent);
+        doThrow(new MailSendException(Map.of(rejected, new Exception("421 try later"))))
+                .when(emailService).send(accepted, rejected);
+        dispatcher.dispatch(acceptedEmail);
+        dispatcher.dispatch(rejectedEmail);
+
+        dispatcher.drain(0, TimeUnit.MILLISECONDS);
+        assertEquals(1, dispatcher.pending());
+
+        assertEquals(1, dispatcher.drain(0, TimeUnit.MILLISECONDS));
+        verify(emailService).send(resent);
+        assertEquals(0, dispatcher.pending());
+        assertEquals(1.0, meterRegistry.get("mail.dispatcher.retried").counter().count());
+        assertEquals(0.0, meterRegistry.get("mail.dispatcher.failed").counter().count());
+    }
+
+    @Test
+    void drain_GivesUpAfterMaxAttemptsAndFreesTheSlot() throws Exception {
+        AbstractEmailContext email = mock(AbstractEmailContext.class);
+        when(emailService.createMessage(email)).thenReturn(mock(MimeMessage.class));
+        doThrow(new MailSendException("connection refused")).when(emailService).send(any(MimeMessage[].class));
+        dispatcher.dispatch(email);
+
+        dispatcher.drain(0, TimeUnit.MILLISECONDS);
+        dispatcher.drain(0, TimeUnit.MILLISECONDS);
+
+        assertEquals(0, dispatcher.pending());
+        assertEquals(1.0, meterRegistry.get("mail.dispatcher.failed").counter().count());
+        verify(emailService, times(2)).send(any(MimeMessage[].class));
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+        assertTrue(dispatcher.dispatch(mock(AbstractEmailContext.class)));
+    }
+
+    @Test
+    void drain_DoesNotRecordLatencyForEmailsThatFailToRender() throws Exception {
+        AbstractEmailContext bad = mock(AbstractEmailContext.class);
+        when(emailService.createMessage(bad)).thenThrow(new MessagingException("boom"));
+        dispatcher.dispatch(bad);
+
+        dispatcher.drain(0, TimeUnit.MILLISECONDS);
+
+        assertEquals(0, meterRegistry.get("mail.dispatcher.latency").timer().count());
+        verify(emailService, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void backoff_GrowsExponentiallyUpToTheCap() {
+        MailDispatcher backingOff = new MailDispatcher(emailService, new SimpleMeterRegistry(), 1, 2, 10, 5, 5, 12);
+
+        assertEquals(Duration.ofSeconds(5), backingOff.backoff(1));
+        assertEquals(Duration.ofSeconds(10), backingOff.backoff(2));
+        assertEquals(Duration.ofSeconds(12), backingOff.backoff(3));
+    }
+
+    @Test
+    void drain_WithEmptyQueue_SendsNothing() throws Exception {
+        assertEquals(0, dispatcher.drain(0, TimeUnit.MILLISECONDS));
+
+        verify(emailService, never()).send(any(MimeMessage[].class));
+    }
+}
@@ -0,0 +1,113 @@
+package com.spring.nuqta.mail.Services;
+
+import com.spring.nuqta.mail.template.ForgotPasswordWithOtp;
+import com.spring.nuqta.usermanagement.Projection.UserAuthProjection;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-message cost of turning an email context into fully serialized MIME bytes.
+ * <ul>
+ *     <li>{@code uncached}: the previous path as it ran with devtools on the classpath: the template is
+ *     resolved and parsed again and the logo is looked up and read from the classpath for every message.</li>
+ *     <li>{@code cached}: {@link EmailService#createMessage} with parsed templates cached and the logo held
+ *     by {@link MailRenderCache}.</li>
+ * </ul>
+ * Nothing is sent; each message is written to a null stream so the logo bytes are actually encoded.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.spring.nuqta.mail.Services.MailRenderBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailRenderBenchmark {
+
+    private JavaMailSenderImpl mailSender;
+    private SpringTemplateEngine uncachedEngine;
+    private EmailService emailService;
+    private ForgotPasswordWithOtp email;
+
+    @Setup
+    public void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        uncachedEngine = templateEngine(false);
+        SpringTemplateEngine cachedEngine = templateEngine(true);
+        MailRenderCache renderCache = new MailRenderCache(cachedEngine);
+        renderCache.warmUp();
+        emailService = new EmailService(mailSender, cachedEngine, null, renderCache);
+
+        UserAuthProjection user = mock(UserAuthProjection.class);
+        when(user.username()).thenReturn("Ahmed");
+        when(user.email()).thenReturn("ahmed@example.com");
+        email = new ForgotPasswordWithOtp();
+        email.init(user);
+        email.buildVerificationOtp("123456");
+    }
+
+    @Benchmark
+    public MimeMessage uncached() throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message,
+                MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, StandardCharsets.UTF_8.name());
+        Context context = new Context();
+        context.setVariables(email.getContext());
+        helper.setTo(email.getTo());
+        helper.setSubject(email.getSubject());
+        helper.setFrom(email.getFrom());
+        helper.setText(uncachedEngine.process(email.getTemplateLocation(), context), true);
+        ClassPathResource resource = new ClassPathResource(MailRenderCache.LOGO_LOCATION);
+        if (resource.exists()) {
+            helper.addInline(MailRenderCache.LOGO_CONTENT_ID, resource);
+        }
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    @Benchmark
+    public MimeMessage cached() throws Exception {
+        MimeMessage message = emailService.createMessage(email);
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    private static SpringTemplateEngine templateEngine(boolean cacheable) {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(cacheable);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MailRenderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
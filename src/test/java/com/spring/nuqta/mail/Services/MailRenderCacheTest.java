@@ -0,0 +1,52 @@
+package com.spring.nuqta.mail.Services;
+
+import jakarta.activation.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailRenderCacheTest {
+
+    @Mock
+    private SpringTemplateEngine templateEngine;
+
+    @InjectMocks
+    private MailRenderCache renderCache;
+
+    @Test
+    void warmUp_ParsesEveryTemplateEvenWhenOneFails() {
+        when(templateEngine.process(eq("mailOtp"), any(Context.class)))
+                .thenThrow(new TemplateInputException("missing"));
+
+        renderCache.warmUp();
+
+        for (String template : MailRenderCache.TEMPLATES) {
+            verify(templateEngine).process(eq(template), any(Context.class));
+        }
+    }
+
+    @Test
+    void logo_IsLoadedOnceAndShared() throws Exception {
+        DataSource logo = renderCache.logo();
+
+        assertNotNull(logo);
+        assertSame(logo, renderCache.logo());
+        assertEquals("image/png", logo.getContentType());
+        try (InputStream first = logo.getInputStream(); InputStream second = logo.getInputStream()) {
+            assertArrayEquals(first.readAllBytes(), second.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.spring.nuqta.notifications.Config;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.MulticastMessage;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
+import com.spring.nuqta.notifications.Services.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The fan-out executor behind the {@code @Async} proxy of {@link NotificationService}, with one thread and
+ * room for one queued fan-out.
+ */
+@SpringJUnitConfig(NotificationExecutorConfigTest.Config.class)
+@TestPropertySource(properties = {"notification.executor.pool-size=1", "notification.executor.queue-capacity=1"})
+class NotificationExecutorConfigTest {
+
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+    private static final CountDownLatch SENDING = new CountDownLatch(1);
+
+    @Configuration
+    @Import(NotificationExecutorConfig.class)
+    static class Config {
+
+        @Bean
+        FirebaseMessaging firebaseMessaging() throws Exception {
+            FirebaseMessaging firebaseMessaging = mock(FirebaseMessaging.class);
+            BatchResponse response = mock(BatchResponse.class);
+            when(response.getResponses()).thenReturn(List.of());
+            when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenAnswer(invocation -> {
+                SENDING.countDown();
+                RELEASE.await(10, TimeUnit.SECONDS);
+                return response;
+            });
+            return firebaseMessaging;
+        }
+
+        @Bean
+        NotificationService notificationService(FirebaseMessaging firebaseMessaging) {
+            return new NotificationService(firebaseMessaging);
+        }
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Test
+    void notificationExecutor_WhenSaturated_RejectsTheCallInsteadOfDroppingIt() throws Exception {
+        CompletableFuture<MulticastReport> running = notificationService.sendMulticastAsync(List.of("a"), "title", "body");
+        assertTrue(SENDING.await(10, TimeUnit.SECONDS));
+        CompletableFuture<MulticastReport> queued = notificationService.sendMulticastAsync(List.of("b"), "title", "body");
+
+        assertThrows(TaskRejectedException.class,
+                () -> notificationService.sendMulticastAsync(List.of("c"), "title", "body"));
+
+        RELEASE.countDown();
+        assertNotNull(running.get(10, TimeUnit.SECONDS));
+        assertNotNull(queued.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,99 @@
+package com.spring.nuqta.notifications.Services;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.spring.nuqta.enums.OutboxStatus;
+import com.spring.nuqta.notifications.Entity.NotificationOutboxEntity;
+import com.spring.nuqta.notifications.Repo.NotificationOutboxRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTest {
+
+    @Mock
+    private NotificationOutboxRepo outboxRepo;
+
+    @InjectMocks
+    private NotificationOutboxService outboxService;
+
+    @Test
+    void claim_LeasesLockedRows() {
+        NotificationOutboxEntity entry = entry(1L, 0);
+        when(outboxRepo.lockDue(any(LocalDateTime.class), eq(100))).thenReturn(List.of(entry));
+
+        assertEquals(List.of(entry), outboxService.claim(100));
+        verify(outboxRepo).lease(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void claim_NothingDue_SkipsLease() {
+        when(outboxRepo.lockDue(any(LocalDateTime.class), eq(100))).thenReturn(List.of());
+
+        assertTrue(outboxService.claim(100).isEmpty());
+        verify(outboxRepo, never()).lease(any(), any());
+    }
+
+    @Test
+    void complete_RetriesTransientAndFailsPermanentErrors() {
+        NotificationOutboxEntity transientFailure = entry(2L, 0);
+        NotificationOutboxEntity unregistered = entry(3L, 0);
+        NotificationOutboxEntity exhausted = entry(4L, 7);
+        Map<Long, MessagingErrorCode> failures = new HashMap<>();
+        failures.put(2L, MessagingErrorCode.UNAVAILABLE);
+        failures.put(3L, MessagingErrorCode.UNREGISTERED);
+        failures.put(4L, null);
+        when(outboxRepo.findAllById(failures.keySet())).thenReturn(List.of(transientFailure, unregistered, exhausted));
+
+        outboxService.complete(List.of(1L), failures);
+
+        verify(outboxRepo).markSent(List.of(1L));
+        assertEquals(OutboxStatus.PENDING, transientFailure.getStatus());
+        assertEquals(1, transientFailure.getAttempts());
+        assertTrue(transientFailure.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(OutboxStatus.FAILED, unregistered.getStatus());
+        assertEquals("UNREGISTERED", unregistered.getLastError());
+        assertEquals(OutboxStatus.FAILED, exhausted.getStatus());
+        verify(outboxRepo).saveAll(List.of(transientFailure, unregistered, exhausted));
+    }
+
+    @Test
+    void complete_AllSent_DoesNotLoadRows() {
+        outboxService.complete(Set.of(1L, 2L), Map.of());
+
+        verify(outboxRepo).markSent(Set.of(1L, 2L));
+        verify(outboxRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void backoff_GrowsExponentiallyAndIsCapped() {
+        assertTrue(outboxService.backoff(1).compareTo(Duration.ofSeconds(5)) >= 0);
+        assertTrue(outboxService.backoff(3).compareTo(Duration.ofSeconds(20)) >= 0);
+        assertTrue(outboxService.backoff(30).compareTo(Duration.ofSeconds(1800 + 360)) <= 0);
+    }
+
+    private static NotificationOutboxEntity entry(Long id, int attempts) {
+        NotificationOutboxEntity entry = new NotificationOutboxEntity();
+        entry.setId(id);
+        entry.setToken("token-" + id);
+        entry.setTitle("Title");
+        entry.setBody("Body");
+        entry.setAttempts(attempts);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        return entry;
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring.nuqta.notifications.Services;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
+import com.spring.nuqta.notifications.Entity.NotificationOutboxEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxWorkerTest {
+
+    @Mock
+    private NotificationOutboxService outboxService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private NotificationOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new NotificationOutboxWorker(outboxService, notificationService, Runnable::run);
+    }
+
+    @Test
+    void poll_GroupsIdenticalContentIntoOneMulticast() {
+        NotificationOutboxEntity a = entry(1L, "a", "Body");
+        NotificationOutboxEntity b = entry(2L, "b", "Body");
+        NotificationOutboxEntity c = entry(3L, "c", "Other");
+        when(outboxService.claim(anyInt())).thenReturn(List.of(a, b, c));
+        when(notificationService.sendMulticast(List.of("a", "b"), "Title", "Body")).thenReturn(new MulticastReport(1,
+                List.of(new MulticastReport.TokenFailure("b", MessagingErrorCode.UNAVAILABLE))));
+        when(notificationService.sendMulticast(List.of("c"), "Title", "Other")).thenReturn(new MulticastReport(1, List.of()));
+
+        worker.poll();
+
+        verify(outboxService).complete(List.of(1L, 3L), Map.of(2L, MessagingErrorCode.UNAVAILABLE));
+        verify(outboxService, times(1)).claim(anyInt());
+    }
+
+    @Test
+    void poll_SendErrorFailsWholeGroup() {
+        NotificationOutboxEntity a = entry(1L, "a", "Body");
+        when(outboxService.claim(anyInt())).thenReturn(List.of(a));
+        when(notificationService.sendMulticast(List.of("a"), "Title", "Body")).thenThrow(new IllegalStateException("boom"));
+
+        worker.poll();
+
+        Map<Long, MessagingErrorCode> expected = new HashMap<>();
+        expected.put(1L, null);
+        verify(outboxService).complete(List.of(), expected);
+    }
+
+    @Test
+    void poll_NothingDue() {
+        when(outboxService.claim(anyInt())).thenReturn(List.of());
+
+        worker.poll();
+
+        verify(outboxService, never()).complete(any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    private static NotificationOutboxEntity entry(Long id, String token, String body) {
+        NotificationOutboxEntity entry = new NotificationOutboxEntity();
+        entry.setId(id);
+        entry.setToken(token);
+        entry.setTitle("Title");
+        entry.setBody(body);
+        return entry;
+    }
+}
@@ -1,8 +1,8 @@
 package com.spring.nuqta.notifications.Services;
 
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.*;
 import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
 import com.spring.nuqta.notifications.Dto.NotificationRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,10 +11,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceTest {
@@ -149,4 +152,52 @@ class NotificationServiceTest {
         assertDoesNotThrow(() -> notificationService.sendNotification(request));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void sendMulticast_SplitsIntoBatchesAndReportsFailures() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            tokens.add("token-" + i);
+        }
+        tokens.add("token-0");
+        tokens.add(null);
+
+        SendResponse ok = mock(SendResponse.class);
+        when(ok.isSuccessful()).thenReturn(true);
+        SendResponse unregistered = mock(SendResponse.class);
+        FirebaseMessagingException error = mock(FirebaseMessagingException.class);
+        when(error.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNREGISTERED);
+        when(unregistered.getException()).thenReturn(error);
+
+        BatchResponse full = mock(BatchResponse.class);
+        when(full.getResponses()).thenReturn(Collections.nCopies(500, ok));
+        BatchResponse last = mock(BatchResponse.class);
+        when(last.getResponses()).thenReturn(List.of(unregistered));
+        when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(full, last);
+
+        MulticastReport report = notificationService.sendMulticast(tokens, "Title", "Message");
+
+        assertEquals(500, report.successCount());
+        assertEquals(List.of(new MulticastReport.TokenFailure("token-500", MessagingErrorCode.UNREGISTERED)), report.failures());
+        verify(firebaseMessaging, times(2)).sendEachForMulticast(any(MulticastMessage.class));
+    }
+
+    @Test
+    void sendMulticast_BatchFailureMarksEveryToken() throws Exception {
+        FirebaseMessagingException error = mock(FirebaseMessagingException.class);
+        when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenThrow(error);
+
+        MulticastReport report = notificationService.sendMulticast(List.of("a", "b"), "Title", "Message");
+
+        assertEquals(0, report.successCount());
+        assertEquals(2, report.failureCount());
+    }
+
+    @Test
+    void sendMulticast_EmptyTitle_ThrowsException() {
+        GlobalException exception = assertThrows(GlobalException.class,
+                () -> notificationService.sendMulticast(List.of("a"), "", "Message"));
+
+        assertEquals("notification.title.empty", exception.getMessage());
+    }
+}
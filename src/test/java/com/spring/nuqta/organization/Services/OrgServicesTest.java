@@ -1,7 +1,9 @@
 package com.spring.nuqta.organization.Services;
 
+import com.spring.nuqta.cache.Services.CacheTagService;
 import com.spring.nuqta.enums.Scope;
 import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.location.Services.LocationService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
@@ -44,6 +46,12 @@ public class OrgServicesTest {
     @Mock
     private UserRepo userRepo;
 
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private CacheTagService cacheTagService;
+
     @Mock
     private MessageSource ms;
 
@@ -93,16 +101,16 @@ public class OrgServicesTest {
 
     @Test
     void testFindById() {
-        when(organizationRepository.findByIdAndEnabledTrue(1L)).thenReturn(Optional.of(orgEntity));
+        when(organizationRepository.findDetailByIdAndEnabledTrue(1L)).thenReturn(Optional.of(orgEntity));
         OrgEntity result = orgServices.findById(1L);
         assertNotNull(result);
         assertEquals("Test Org", result.getOrgName());
-        verify(organizationRepository, times(1)).findByIdAndEnabledTrue(1L);
+        verify(organizationRepository, times(1)).findDetailByIdAndEnabledTrue(1L);
     }
 
     @Test
     void testFindByIdThrowsException() {
-        when(organizationRepository.findByIdAndEnabledTrue(1L)).thenReturn(Optional.empty());
+        when(organizationRepository.findDetailByIdAndEnabledTrue(1L)).thenReturn(Optional.empty());
         when(ms.getMessage(eq("org.not.found"), any(), eq(LocaleContextHolder.getLocale()))).thenReturn("org.not.found");
 
         GlobalException exception = assertThrows(GlobalException.class, () -> orgServices.findById(1L));
@@ -0,0 +1,109 @@
+package com.spring.nuqta.request.Services;
+
+import com.spring.nuqta.base.Dto.CursorPageDto;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.request.Dto.ReqDto;
+import com.spring.nuqta.request.Entity.ReqEntity;
+import com.spring.nuqta.request.Mapper.ReqMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReqReadServiceTest {
+
+    @Mock
+    private ReqServices reqServices;
+
+    @Mock
+    private ReqMapper reqMapper;
+
+    @Mock
+    private NotFoundCache notFoundCache;
+
+    @InjectMocks
+    private ReqReadService reqReadService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(notFoundCache.load(anyString(), any(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    }
+
+    @Test
+    void testFindPage_FirstPage_MapsRowsAndSetsNextCursor() {
+        ReqEntity first = request(2L);
+        ReqEntity second = request(1L);
+        List<ReqDto> dtos = List.of(new ReqDto());
+        when(reqServices.findPage(Keyset.FIRST, 1)).thenReturn(List.of(first, second));
+        when(reqMapper.map(List.of(first))).thenReturn(dtos);
+
+        CursorPageDto<ReqDto> page = reqReadService.findPage(null, 1);
+
+        assertEquals(dtos, page.getItems());
+        assertEquals(Keyset.encode(first), page.getNext());
+    }
+
+    @Test
+    void testFindPage_EmptyFirstPage_NotFound() {
+        when(reqServices.findPage(Keyset.FIRST, Keyset.DEFAULT_LIMIT)).thenReturn(List.of());
+
+        GlobalException exception = assertThrows(GlobalException.class, () -> reqReadService.findPage(null, null));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void testFindPage_EmptyLaterPage_IsAnEmptyLastPage() {
+        ReqEntity last = request(1L);
+        Keyset.Cursor cursor = Keyset.decode(Keyset.encode(last));
+        when(reqServices.findPage(cursor, Keyset.DEFAULT_LIMIT)).thenReturn(List.of());
+        when(reqMapper.map(List.<ReqEntity>of())).thenReturn(List.of());
+
+        CursorPageDto<ReqDto> page = reqReadService.findPage(Keyset.encode(last), null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void testFindById_ReturnsMappedDto() {
+        ReqEntity entity = new ReqEntity();
+        ReqDto dto = new ReqDto();
+        when(reqServices.findById(1L)).thenReturn(entity);
+        when(reqMapper.map(entity)).thenReturn(dto);
+
+        assertSame(dto, reqReadService.findById(1L));
+    }
+
+    @Test
+    void testGetRequestsByCity_NotFound_DoesNotMap() {
+        when(reqServices.getRequestsByCity("Cairo", Keyset.FIRST, Keyset.DEFAULT_LIMIT))
+                .thenThrow(new GlobalException("error.request.no_requests", HttpStatus.NOT_FOUND));
+
+        assertThrows(GlobalException.class, () -> reqReadService.getRequestsByCity("Cairo", null, null));
+        verify(reqMapper, never()).map(anyList());
+    }
+
+    private static ReqEntity request(Long id) {
+        ReqEntity request = new ReqEntity();
+        request.setId(id);
+        request.setCreatedDate(LocalDate.of(2025, 1, id.intValue()));
+        return request;
+    }
+}
@@ -1,12 +1,23 @@
 package com.spring.nuqta.request.Services;
 
 import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.spring.nuqta.base.Services.Keyset;
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.donation.Index.DonorIndex;
+import com.spring.nuqta.donation.Projection.DonorIndexProjection;
 import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.donation.Services.DonationsReleasedEvent;
+import com.spring.nuqta.enums.DonStatus;
 import com.spring.nuqta.enums.Level;
+import com.spring.nuqta.enums.LocationType;
 import com.spring.nuqta.enums.Status;
 import com.spring.nuqta.exception.GlobalException;
-import com.spring.nuqta.notifications.Dto.NotificationRequest;
+import com.spring.nuqta.location.Entity.LocationEntity;
+import com.spring.nuqta.location.Services.LocationService;
+import com.spring.nuqta.notifications.Dto.MulticastReport;
 import com.spring.nuqta.notifications.Services.NotificationService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
@@ -20,15 +31,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.MessageSource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -52,13 +68,16 @@ public class ReqServicesTest {
     private DonRepo donRepo;
 
     @Mock
-    private CacheManager cacheManager;
+    private CacheTagService cacheTagService;
 
     @Mock
     private MessageSource ms;
 
     @Mock
-    private Cache cache;
+    private ObjectProvider<DonorIndex> donorIndex;
+
+    @Mock
+    private LocationService locationService;
 
     @InjectMocks
     private ReqServices reqServices;
@@ -75,6 +94,8 @@ public class ReqServicesTest {
         reqEntity.setBloodTypeNeeded("A+");
         reqEntity.setCity("New York");
         reqEntity.setConservatism("High");
+        reqEntity.setCityLocation(location(10L));
+        reqEntity.setConservatismLocation(location(20L));
         reqEntity.setRequestDate(LocalDate.now());
         reqEntity.setStatus(Status.FULFILLED);
         reqEntity.setUrgencyLevel(Level.HIGH);
@@ -116,18 +137,18 @@ public class ReqServicesTest {
 
     @Test
     void testFindById() throws GlobalException {
-        when(reqRepo.findById(1L)).thenReturn(Optional.of(reqEntity));
+        when(reqRepo.findDetailById(1L)).thenReturn(Optional.of(reqEntity));
 
         ReqEntity result = reqServices.findById(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        verify(reqRepo, times(1)).findById(1L);
+        verify(reqRepo, times(1)).findDetailById(1L);
     }
 
     @Test
     void testFindByIdThrowsException() {
-        when(reqRepo.findById(1L)).thenReturn(Optional.empty());
+        when(reqRepo.findDetailById(1L)).thenReturn(Optional.empty());
         when(ms.getMessage(eq("error.request.notfound"), any(), any())).thenReturn("error.request.notfound");
 
         GlobalException exception = assertThrows(GlobalException.class, () -> reqServices.findById(1L));
@@ -138,7 +159,6 @@ public class ReqServicesTest {
     @Test
     void testDeleteById() throws GlobalException {
         when(reqRepo.existsById(1L)).thenReturn(true);
-        when(cacheManager.getCache("requests")).thenReturn(cache);
 
         reqServices.deleteById(1L);
 
@@ -156,8 +176,8 @@ public class ReqServicesTest {
         assertEquals("error.request.notfound", exception.getMessage());  // Verify message
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());       // Verify status
 
-        // Verify that no cache.clear() calls were made (since the exception is thrown before that)
-        verify(cache, never()).clear();  // Ensure clear was not called
+        // Verify that no cache entries were evicted (since the exception is thrown before that)
+        verifyNoInteractions(cacheTagService);
     }
 
 
@@ -166,15 +186,12 @@ public class ReqServicesTest {
         // Arrange
         when(reqRepo.existsById(1L)).thenReturn(true);   // Simulate the case where the request exists
         doNothing().when(reqRepo).hardDeleteById(1L);    // Mock the delete operation to do nothing
-        when(cacheManager.getCache("requests")).thenReturn(cache);
-        when(cacheManager.getCache("users")).thenReturn(cache);
-        when(cacheManager.getCache("org")).thenReturn(cache);
 
         // Act
         reqServices.deleteById(1L);  // Call the method
 
-        // Assert
-        verify(cache, times(3)).clear();  // Verify that clear was called on all caches
+        // Assert: only entries holding this request and the request lists are evicted
+        verify(cacheTagService).invalidate("request:1", CacheTags.REQUEST_LIST);
     }
 
 
@@ -197,6 +214,21 @@ public class ReqServicesTest {
         assertNotNull(result);
         assertEquals(reqEntity.getBloodTypeNeeded(), result.getBloodTypeNeeded());
         verify(reqRepo, times(1)).save(reqEntity);
+        verify(cacheTagService).invalidate("request:1", null);
+    }
+
+    @Test
+    void testUpdate_NewCity_InvalidatesRequestLists() {
+        ReqEntity changes = new ReqEntity();
+        changes.setId(1L);
+        changes.setCity("Giza");
+        changes.setConservatism(reqEntity.getConservatism());
+        when(reqRepo.findById(1L)).thenReturn(Optional.of(reqEntity));
+        when(reqRepo.save(reqEntity)).thenReturn(reqEntity);
+
+        reqServices.update(changes);
+
+        verify(cacheTagService).invalidate("request:1", CacheTags.REQUEST_LIST);
     }
 
     @Test
@@ -210,13 +242,93 @@ public class ReqServicesTest {
 
     @Test
     void testFindNearbyDonors() {
-        when(donRepo.findTopByCityOrConservatism("New York", "High")).thenReturn(Collections.singletonList(donEntity));
+        when(donRepo.findCompatibleDonors(anyCollection(), eq(DonStatus.VALID), eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(donEntity));
 
-        List<DonEntity> result = reqServices.findNearbyDonors("New York", "High");
+        List<DonEntity> result = reqServices.findNearbyDonors("A+", 10L, 20L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(donRepo, times(1)).findTopByCityOrConservatism("New York", "High");
+        verify(donRepo, times(1)).findCompatibleDonors(
+                eq(Set.of("O-", "O+", "A-", "A+")), eq(DonStatus.VALID), eq(10L), eq(20L), any(Pageable.class));
+    }
+
+    @Test
+    void testFindNearbyDonorsWithUnknownBloodType() {
+        List<DonEntity> result = reqServices.findNearbyDonors("X", 10L, 20L);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(donRepo);
+    }
+
+    @Test
+    void testFindNearbyDonorsWithoutLocation() {
+        assertTrue(reqServices.findNearbyDonors("A+", null, null).isEmpty());
+        verifyNoInteractions(donRepo);
+    }
+
+    @Test
+    void testGetRequestsByCityUsesLocationIds() {
+        when(locationService.match("new york", LocationType.CITY)).thenReturn(Set.of(10L));
+        when(reqRepo.findPageByCityLocationIdIn(Set.of(10L), Keyset.FIRST.createdDate(), Keyset.FIRST.id(), Limit.of(21)))
+                .thenReturn(List.of(reqEntity));
+
+        assertEquals(List.of(reqEntity), reqServices.getRequestsByCity("new york", Keyset.FIRST, 20));
+    }
+
+    @Test
+    void testGetRequestsByCityWithUnknownCity() {
+        when(locationService.match("atlantis", LocationType.CITY)).thenReturn(Set.of());
+
+        GlobalException exception = assertThrows(GlobalException.class, () -> reqServices.getRequestsByCity("atlantis", Keyset.FIRST, 20));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(reqRepo, never()).findPageByCityLocationIdIn(any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindNearbyDonorsUsesIndexWhenAvailable() {
+        DonorIndex index = mock(DonorIndex.class);
+        DonEntity second = new DonEntity();
+        second.setId(2L);
+        reqEntity.setLatitude(30.0444);
+        reqEntity.setLongitude(31.2357);
+        when(donorIndex.getIfAvailable()).thenReturn(index);
+        when(index.search(eq("A+"), eq(30.0444), eq(31.2357), anyDouble(), anyInt())).thenReturn(List.of(2L, 1L));
+        when(donRepo.findAllById(List.of(2L, 1L))).thenReturn(List.of(donEntity, second));
+
+        List<DonEntity> result = reqServices.findNearbyDonors(reqEntity);
+
+        assertEquals(List.of(second, donEntity), result);
+        verify(donRepo, never()).findCompatibleDonors(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindNearbyDonorsFallsBackToCityWhenIndexFindsNone() {
+        DonorIndex index = mock(DonorIndex.class);
+        reqEntity.setLatitude(30.0444);
+        reqEntity.setLongitude(31.2357);
+        when(donorIndex.getIfAvailable()).thenReturn(index);
+        when(index.search(eq("A+"), eq(30.0444), eq(31.2357), anyDouble(), anyInt())).thenReturn(List.of());
+        when(donRepo.findCompatibleDonors(anyCollection(), eq(DonStatus.VALID), eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(List.of(donEntity));
+
+        assertEquals(List.of(donEntity), reqServices.findNearbyDonors(reqEntity));
+        verify(donRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void testFindNearbyDonorsReturnsReleasedDonor() {
+        DonorIndex index = new DonorIndex(donRepo);
+        reqEntity.setLatitude(30.0444);
+        reqEntity.setLongitude(31.2357);
+        when(donRepo.findIndexableDonors(List.of(1L), DonStatus.VALID)).thenReturn(
+                List.of(new DonorIndexProjection(1L, "O-", 30.0444, 31.2357, LocalDateTime.now().minusDays(1))));
+        when(donorIndex.getIfAvailable()).thenReturn(index);
+        when(donRepo.findAllById(List.of(1L))).thenReturn(List.of(donEntity));
+
+        index.onDonationsReleased(new DonationsReleasedEvent(List.of(1L)));
+
+        assertEquals(List.of(donEntity), reqServices.findNearbyDonors(reqEntity));
     }
 
     @Test
@@ -235,15 +347,137 @@ public class ReqServicesTest {
         reqEntity.setUser(userEntity);
 
         // Mock donRepo to return a non-empty list of nearby donors
-        when(donRepo.findTopByCityOrConservatism("New York", "High")).thenReturn(Collections.singletonList(donEntity));
+        when(donRepo.findCompatibleDonors(anyCollection(), eq(DonStatus.VALID), eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(donEntity));
 
         // Mock messageSource to return a valid message
         when(ms.getMessage(anyString(), any(), any())).thenReturn("Test Message");
+        when(notificationService.sendMulticastAsync(anyCollection(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new MulticastReport(1, List.of())));
 
         // Call the method under test
         reqServices.SendNotification(reqEntity);
 
-        // Verify that notificationService.sendNotification was called
-        verify(notificationService, times(1)).sendNotification(any(NotificationRequest.class));
+        // Verify that one multicast fan-out was handed off with every donor token
+        verify(notificationService, times(1)).sendMulticastAsync(List.of("testFcmToken"), "Test Message", "Test Message");
+        verify(ms, times(1)).getMessage(eq("notification.bloodRequest.message"), any(), any());
+    }
+
+    @Test
+    void testSendNotificationWithoutDonorsSkipsFanOut() throws GlobalException, FirebaseMessagingException {
+        reqEntity.setUser(userEntity);
+        when(donRepo.findCompatibleDonors(anyCollection(), eq(DonStatus.VALID), eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        reqServices.SendNotification(reqEntity);
+
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testSendNotificationClearsUnregisteredTokens() throws GlobalException, FirebaseMessagingException {
+        reqEntity.setUser(userEntity);
+        when(donRepo.findCompatibleDonors(anyCollection(), eq(DonStatus.VALID), eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(donEntity));
+        when(ms.getMessage(anyString(), any(), any())).thenReturn("Test Message");
+        when(notificationService.sendMulticastAsync(anyCollection(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new MulticastReport(0, List.of(
+                        new MulticastReport.TokenFailure("testFcmToken", MessagingErrorCode.UNREGISTERED)))));
+
+        reqServices.SendNotification(reqEntity);
+
+        verify(userRepo).clearFcmTokens(List.of("testFcmToken"));
+        verify(orgRepo).clearFcmTokens(List.of("testFcmToken"));
+    }
+
+    @Test
+    void testFanOutRejectedByFullExecutorCompletesExceptionally() {
+        when(notificationService.sendMulticastAsync(anyCollection(), anyString(), anyString()))
+                .thenThrow(new TaskRejectedException("Notification queue full"));
+
+        CompletableFuture<MulticastReport> fanOut = reqServices.fanOut(List.of("testFcmToken"), "title", "body");
+
+        assertTrue(fanOut.isCompletedExceptionally());
+        verifyNoInteractions(userRepo, orgRepo);
+    }
+
+    @Test
+    void testOnFanOutLogsFailedCleanup() {
+        when(userRepo.clearFcmTokens(List.of("stale"))).thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> reqServices.onFanOut(new MulticastReport(0, List.of(
+                new MulticastReport.TokenFailure("stale", MessagingErrorCode.UNREGISTERED))), null));
+    }
+
+    @Test
+    void testOnFanOutKeepsTokensOfTransientFailures() {
+        reqServices.onFanOut(new MulticastReport(1, List.of(
+                new MulticastReport.TokenFailure("busy", MessagingErrorCode.UNAVAILABLE),
+                new MulticastReport.TokenFailure("unknown", null))), null);
+
+        verifyNoInteractions(userRepo, orgRepo);
+    }
+
+    @Test
+    void testOnFanOutWithErrorClearsNothing() {
+        reqServices.onFanOut(null, new IllegalStateException("executor shut down"));
+
+        verifyNoInteractions(userRepo, orgRepo);
+    }
+
+    @Test
+    void testGetRequestsWithinRadiusUsesDefaultLimit() {
+        when(reqRepo.findWithinRadius(30.0444, 31.2357, 5000.0, 20)).thenReturn(List.of(reqEntity));
+
+        List<ReqEntity> result = reqServices.getRequestsWithinRadius(30.0444, 31.2357, 5000.0, null);
+
+        assertEquals(List.of(reqEntity), result);
+        verify(reqRepo, times(1)).findWithinRadius(30.0444, 31.2357, 5000.0, 20);
+    }
+
+    @Test
+    void testGetRequestsWithinRadiusWithoutLatitudeThrowsException() {
+        GlobalException exception = assertThrows(GlobalException.class,
+                () -> reqServices.getRequestsWithinRadius(null, 31.2357, 5000.0, 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("error.location.invalidCoordinates", exception.getMessage());
+        verifyNoInteractions(reqRepo);
+    }
+
+    @Test
+    void testGetRequestsWithinRadiusRejectsRadiusAboveMaximum() {
+        GlobalException exception = assertThrows(GlobalException.class,
+                () -> reqServices.getRequestsWithinRadius(30.0444, 31.2357, 200_000.0, 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("error.location.invalidRadius", exception.getMessage());
+        verifyNoInteractions(reqRepo);
+    }
+
+    @Test
+    void testGetNearestRequestsCapsLimit() {
+        when(reqRepo.findNearest(30.0444, 31.2357, 100)).thenReturn(List.of(reqEntity));
+
+        List<ReqEntity> result = reqServices.getNearestRequests(30.0444, 31.2357, 5000);
+
+        assertEquals(List.of(reqEntity), result);
+        verify(reqRepo, times(1)).findNearest(30.0444, 31.2357, 100);
+    }
+
+    @Test
+    void testGetNearestRequestsWithoutLongitudeThrowsException() {
+        GlobalException exception = assertThrows(GlobalException.class,
+                () -> reqServices.getNearestRequests(30.0444, null, 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("error.location.invalidCoordinates", exception.getMessage());
+        verifyNoInteractions(reqRepo);
+    }
+
+    private static LocationEntity location(Long id) {
+        LocationEntity location = new LocationEntity();
+        location.setId(id);
+        return location;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.spring.nuqta.usermanagement.Controller;
 
+import com.spring.nuqta.base.Dto.CursorPageDto;
 import com.spring.nuqta.usermanagement.Dto.UserDto;
 import com.spring.nuqta.usermanagement.Dto.UserInsertDto;
 import com.spring.nuqta.usermanagement.Dto.UserUpdateDto;
@@ -7,6 +8,7 @@ import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Mapper.UserInsertMapper;
 import com.spring.nuqta.usermanagement.Mapper.UserMapper;
 import com.spring.nuqta.usermanagement.Mapper.UserUpdateMapper;
+import com.spring.nuqta.usermanagement.Services.UserReadService;
 import com.spring.nuqta.usermanagement.Services.UserServices;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,9 @@ class UserControllerTest {
     @Mock
     private UserServices userServices;
 
+    @Mock
+    private UserReadService userReadService;
+
     @Mock
     private UserMapper userMapper;
 
@@ -73,42 +78,38 @@ class UserControllerTest {
     @Test
     void getAllUsers_ShouldReturnListOfUsers() {
         // Arrange
-        List<UserEntity> entities = Arrays.asList(userEntity);
-        List<UserDto> dtos = Arrays.asList(userDto);
+        CursorPageDto<UserDto> page = new CursorPageDto<>(Arrays.asList(userDto), "next");
 
-        when(userServices.findAll()).thenReturn(entities);
-        when(userMapper.map(entities)).thenReturn(dtos);
+        when(userReadService.findPage(null, null)).thenReturn(page);
 
         // Act
-        ResponseEntity<?> response = userController.getAllUsers();
+        ResponseEntity<?> response = userController.getAllUsers(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(dtos, response.getBody());
-        verify(userServices).findAll();
-        verify(userMapper).map(entities);
+        assertEquals(page, response.getBody());
+        verify(userReadService).findPage(null, null);
+        verifyNoInteractions(userMapper);
     }
 
     @Test
     void getAllUsers_ShouldReturnEmptyListWhenNoUsersExist() {
         // Arrange
-        when(userServices.findAll()).thenReturn(Collections.emptyList());
-        when(userMapper.map(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(userReadService.findPage("cursor", 10)).thenReturn(new CursorPageDto<>(Collections.emptyList(), null));
 
         // Act
-        ResponseEntity<?> response = userController.getAllUsers();
+        ResponseEntity<?> response = userController.getAllUsers("cursor", 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(((List<?>) response.getBody()).isEmpty());
+        assertTrue(((CursorPageDto<?>) response.getBody()).getItems().isEmpty());
     }
 
     // Test for getUserById()
     @Test
     void getUserById_ShouldReturnUser() {
         // Arrange
-        when(userServices.findById(1L)).thenReturn(userEntity);
-        when(userMapper.map(userEntity)).thenReturn(userDto);
+        when(userReadService.findById(1L)).thenReturn(userDto);
 
         // Act
         ResponseEntity<UserDto> response = userController.getUserById(1L);
@@ -116,14 +117,13 @@ class UserControllerTest {
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(userDto, response.getBody());
-        verify(userServices).findById(1L);
-        verify(userMapper).map(userEntity);
+        verify(userReadService).findById(1L);
     }
 
     @Test
     void getUserById_ShouldThrowExceptionWhenUserNotFound() {
         // Arrange
-        when(userServices.findById(1L)).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        when(userReadService.findById(1L)).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         // Act & Assert
         assertThrows(ResponseStatusException.class, () -> userController.getUserById(1L));
@@ -1,19 +1,28 @@
 package com.spring.nuqta.usermanagement.Services;
 
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
 import com.spring.nuqta.donation.Entity.DonEntity;
+import com.spring.nuqta.donation.Repo.DonRepo;
+import com.spring.nuqta.donation.Services.DonationsDeletedEvent;
 import com.spring.nuqta.enums.Gender;
 import com.spring.nuqta.enums.Scope;
 import com.spring.nuqta.exception.GlobalException;
+import com.spring.nuqta.forgotPassword.Repo.ResetPasswordRepo;
+import com.spring.nuqta.location.Services.LocationService;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
+import com.spring.nuqta.request.Repo.ReqRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
 import com.spring.nuqta.verificationToken.General.GeneralVerification;
+import com.spring.nuqta.verificationToken.Repo.VerificationTokenRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +50,27 @@ class UserServicesTest {
     @Mock
     private GeneralVerification generalVerification;
 
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private CacheTagService cacheTagService;
+
+    @Mock
+    private DonRepo donRepo;
+
+    @Mock
+    private ReqRepo reqRepo;
+
+    @Mock
+    private VerificationTokenRepo verificationTokenRepo;
+
+    @Mock
+    private ResetPasswordRepo resetPasswordRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServices userServices;
 
@@ -96,19 +126,19 @@ class UserServicesTest {
 
     @Test
     void testFindById_Success() {
-        when(userRepository.findByIdAndEnabledTrue(1L)).thenReturn(Optional.of(mockUser)); // FIX HERE
+        when(userRepository.findDetailByIdAndEnabledTrue(1L)).thenReturn(Optional.of(mockUser)); // FIX HERE
 
         UserEntity result = userServices.findById(1L);
         assertNotNull(result);
         assertEquals("testUser", result.getUsername());
 
-        verify(userRepository, times(1)).findByIdAndEnabledTrue(1L); // FIX HERE
+        verify(userRepository, times(1)).findDetailByIdAndEnabledTrue(1L); // FIX HERE
     }
 
     @Test
     void testFindById_UserNotFound() {
         // Mock the repository to return an empty Optional (user not found)
-        when(userRepository.findByIdAndEnabledTrue(1L)).thenReturn(Optional.empty());
+        when(userRepository.findDetailByIdAndEnabledTrue(1L)).thenReturn(Optional.empty());
 
         // Mock the MessageSource to return the expected message
         when(messageSource.getMessage(eq("error.user.notFound.id"), any(), any()))
@@ -122,14 +152,14 @@ class UserServicesTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
 
         // Verify that the repository method was called
-        verify(userRepository, times(1)).findByIdAndEnabledTrue(1L);
+        verify(userRepository, times(1)).findDetailByIdAndEnabledTrue(1L);
     }
 
 
     @Test
     void testUpdate_UserNotFound() {
         // Mock the repository to return an empty Optional (user not found)
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.empty());
 
         // Mock the MessageSource to return the expected message
         when(messageSource.getMessage(eq("error.user.notFound.id"), any(), any()))
@@ -166,7 +196,7 @@ class UserServicesTest {
     @Test
     void updateUser_WhenUserNotFound_ShouldThrowException() {
         // Mock the repository to return an empty Optional (user not found)
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.empty());
 
         // Mock the messageParam method to return the expected message
         when(messageSource.getMessage(eq("error.user.notFound.id"), any(), any()))
@@ -185,7 +215,7 @@ class UserServicesTest {
     @Test
     void updateUser_WhenUserHasNoDonation_ShouldThrowException() {
         mockUser.setDonation(null);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.of(mockUser));
 
         GlobalException exception = assertThrows(GlobalException.class, () -> {
             userServices.update(mockUser);
@@ -213,7 +243,7 @@ class UserServicesTest {
         updatedUser.setDonation(newDonation);
 
         // Mock repository to return the existing user
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.of(mockUser));
 
         // Mock the MessageSource to return the expected message
         when(messageSource.getMessage(eq("error.user.donation.notFound.id"), any(), any()))
@@ -233,6 +263,46 @@ class UserServicesTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
+    @Test
+    void updateUser_WhenDonationMovesCity_InvalidatesDonationLists() {
+        UserEntity updatedUser = new UserEntity();
+        updatedUser.setId(1L);
+        updatedUser.setUsername("testUser");
+        DonEntity donation = new DonEntity();
+        donation.setId(1L);
+        donation.setCity("other city");
+        updatedUser.setDonation(donation);
+
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.existsByUsernameAndIdNot("testUser", 1L)).thenReturn(false);
+        when(userRepository.save(mockUser)).thenReturn(mockUser);
+
+        userServices.update(updatedUser);
+
+        assertEquals("other city", mockUser.getDonation().getCity());
+        verify(cacheTagService).invalidate(CacheTags.user(1L), CacheTags.donation(1L), CacheTags.DONATION_LIST);
+    }
+
+    @Test
+    void updateUser_WhenDonationKeepsItsLists_KeepsDonationLists() {
+        UserEntity updatedUser = new UserEntity();
+        updatedUser.setId(1L);
+        updatedUser.setUsername("testUser");
+        DonEntity donation = new DonEntity();
+        donation.setId(1L);
+        donation.setCity("city");
+        donation.setWeight(70.0);
+        updatedUser.setDonation(donation);
+
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.existsByUsernameAndIdNot("testUser", 1L)).thenReturn(false);
+        when(userRepository.save(mockUser)).thenReturn(mockUser);
+
+        userServices.update(updatedUser);
+
+        verify(cacheTagService).invalidate(CacheTags.user(1L), CacheTags.donation(1L), null);
+    }
+
 
     @Test
     void testDeleteById_Success() {
@@ -244,6 +314,31 @@ class UserServicesTest {
     }
 
 
+    @Test
+    void deleteDependents_DeletesTheRowsReferencingTheUsers() {
+        List<Long> ids = List.of(1L, 2L);
+        when(userRepository.findDonationIds(ids)).thenReturn(List.of(10L));
+
+        userServices.deleteDependents(ids);
+
+        verify(reqRepo).deleteByUserIds(ids);
+        verify(verificationTokenRepo).deleteByUserIds(ids);
+        verify(resetPasswordRepo).deleteByUserIds(ids);
+        verify(donRepo).unlinkDonors(List.of(10L));
+        verify(donRepo).deleteAcceptances(List.of(10L));
+        verify(donRepo).deleteAllByIdInBatch(List.of(10L));
+        verify(eventPublisher).publishEvent(new DonationsDeletedEvent(List.of(10L)));
+    }
+
+    @Test
+    void deleteDependents_WithoutDonations_DeletesNoDonations() {
+        when(userRepository.findDonationIds(List.of(1L))).thenReturn(List.of());
+
+        userServices.deleteDependents(List.of(1L));
+
+        verifyNoInteractions(donRepo, eventPublisher);
+    }
+
     @Test
     void testDeleteById_UserNotFound() {
         // Mock the repository to return an empty Optional (user not found)
@@ -451,7 +546,7 @@ class UserServicesTest {
         updateUser.setUsername("newUsername");
 
         // Mock user retrieval
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findDetailById(1L)).thenReturn(Optional.of(existingUser));
 
         // Mock duplicate username check (Simulating another user with same username)
         when(userRepository.existsByUsernameAndIdNot("newUsername", 1L)).thenReturn(true);
@@ -547,7 +642,7 @@ class UserServicesTest {
 
     @Test
     void testFindById() {
-        when(userRepository.findByIdAndEnabledTrue(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.findDetailByIdAndEnabledTrue(1L)).thenReturn(Optional.of(mockUser));
         UserEntity foundUser = userServices.findById(1L);
         assertNotNull(foundUser);
         assertEquals("testUser", foundUser.getUsername());
@@ -555,7 +650,7 @@ class UserServicesTest {
 
     @Test
     void testFindById_ThrowsException() {
-        when(userRepository.findByIdAndEnabledTrue(1L)).thenReturn(Optional.empty());
+        when(userRepository.findDetailByIdAndEnabledTrue(1L)).thenReturn(Optional.empty());
         assertThrows(GlobalException.class, () -> userServices.findById(1L));
     }
 
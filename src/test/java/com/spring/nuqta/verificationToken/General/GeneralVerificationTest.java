@@ -1,25 +1,41 @@
 package com.spring.nuqta.verificationToken.General;
 
+import com.spring.nuqta.cache.Config.AppCacheProperties;
+import com.spring.nuqta.cache.Config.CacheRegions;
+import com.spring.nuqta.cache.Services.CacheTagIndex;
+import com.spring.nuqta.cache.Services.CacheTagService;
+import com.spring.nuqta.cache.Services.CacheTags;
+import com.spring.nuqta.cache.Services.NotFoundCache;
+import com.spring.nuqta.cache.Services.TaggedCache;
 import com.spring.nuqta.exception.GlobalException;
-import com.spring.nuqta.mail.Services.EmailService;
+import com.spring.nuqta.mail.Services.MailDispatcher;
 import com.spring.nuqta.organization.Entity.OrgEntity;
 import com.spring.nuqta.organization.Repo.OrgRepo;
 import com.spring.nuqta.usermanagement.Entity.UserEntity;
 import com.spring.nuqta.usermanagement.Repo.UserRepo;
 import com.spring.nuqta.verificationToken.Entity.VerificationToken;
 import com.spring.nuqta.verificationToken.Services.VerificationTokenService;
-import jakarta.mail.MessagingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,7 +44,7 @@ import static org.mockito.Mockito.*;
 class GeneralVerificationTest {
 
     @Mock
-    private EmailService emailService;
+    private MailDispatcher mailDispatcher;
 
     @Mock
     private VerificationTokenService verificationTokenService;
@@ -39,6 +55,9 @@ class GeneralVerificationTest {
     @Mock
     private UserRepo userRepo;
 
+    @Mock
+    private CacheTagService cacheTagService;
+
     @InjectMocks
     private GeneralVerification generalVerification;
 
@@ -66,27 +85,27 @@ class GeneralVerificationTest {
 
     // ✅ Test sending OTP email to a user
     @Test
-    void testSendOtpEmail_User() throws MessagingException {
+    void testSendOtpEmail_User() {
         when(verificationTokenService.createToken()).thenReturn(token);
-        doNothing().when(emailService).sendMail(any());
+        when(mailDispatcher.dispatch(any())).thenReturn(true);
 
         assertDoesNotThrow(() -> generalVerification.sendOtpEmail(user));
 
         verify(verificationTokenService, times(1)).saveToken(token);
-        verify(emailService, times(1)).sendMail(any());
+        verify(mailDispatcher, times(1)).dispatch(any());
     }
 
     // ✅ Test sending OTP email to an organization
     @Test
-    void testSendOtpEmail_Org() throws MessagingException {
+    void testSendOtpEmail_Org() {
         token.setOrganization(org);
         when(verificationTokenService.createToken()).thenReturn(token);
-        doNothing().when(emailService).sendMail(any());
+        when(mailDispatcher.dispatch(any())).thenReturn(true);
 
         assertDoesNotThrow(() -> generalVerification.sendOtpEmail(org));
 
         verify(verificationTokenService, times(1)).saveToken(token);
-        verify(emailService, times(1)).sendMail(any());
+        verify(mailDispatcher, times(1)).dispatch(any());
     }
 
     // ✅ Test successful user verification
@@ -100,6 +119,7 @@ class GeneralVerificationTest {
         assertTrue(result);
         assertTrue(user.isEnabled());
         verify(userRepo, times(1)).save(user);
+        verify(cacheTagService, times(1)).invalidate(CacheTags.user(1L), CacheTags.USER_LIST);
         verify(verificationTokenService, times(1)).removeToken(token);
     }
 
@@ -117,9 +137,53 @@ class GeneralVerificationTest {
         assertTrue(result);
         assertTrue(org.isEnabled());
         verify(orgRepo, times(1)).save(org);
+        verify(cacheTagService, times(1)).invalidate(CacheTags.org(1L), CacheTags.ORG_LIST);
         verify(verificationTokenService, times(1)).removeToken(token);
     }
 
+    // ✅ Test that a 404 cached while the user was disabled is dropped by the verification
+    @Test
+    void testVerifyRegistration_AfterCachedNotFound_UserIsFound() {
+        Map<String, Set<String>> tagged = new HashMap<>();
+        CacheTagIndex tagIndex = mock(CacheTagIndex.class);
+        doAnswer(invocation -> {
+            for (String tag : invocation.<Collection<String>>getArgument(2)) {
+                tagged.computeIfAbsent(tag, t -> new HashSet<>()).add(invocation.getArgument(1));
+            }
+            return null;
+        }).when(tagIndex).record(eq(CacheRegions.NOT_FOUND), any(), anyCollection());
+        when(tagIndex.drain(anyCollection())).thenAnswer(invocation -> {
+            Set<String> keys = new HashSet<>();
+            for (String tag : invocation.<Collection<String>>getArgument(0)) {
+                keys.addAll(tagged.getOrDefault(tag, Set.of()));
+                tagged.remove(tag);
+            }
+            return Map.of(CacheRegions.NOT_FOUND, keys);
+        });
+        Cache notFound = new TaggedCache(new ConcurrentMapCache(CacheRegions.NOT_FOUND), tagIndex);
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheRegions.NOT_FOUND)).thenReturn(notFound);
+        NotFoundCache notFoundCache = new NotFoundCache(cacheManager);
+        GeneralVerification verification = new GeneralVerification(mailDispatcher, verificationTokenService,
+                orgRepo, userRepo, new CacheTagService(cacheManager, tagIndex, new SimpleMeterRegistry(),
+                new AppCacheProperties()));
+
+        Supplier<UserEntity> lookup = () -> notFoundCache.load(CacheRegions.USER_BY_ID, 1L, CacheTags.USER_LIST,
+                () -> {
+                    if (!user.isEnabled()) {
+                        throw new GlobalException("error.user.notfound", HttpStatus.NOT_FOUND);
+                    }
+                    return user;
+                });
+        assertThrows(GlobalException.class, lookup::get);
+
+        when(verificationTokenService.findByToken("test-token")).thenReturn(token);
+        when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        assertTrue(verification.verifyRegistration("test-token", "user@example.com"));
+
+        assertSame(user, lookup.get());
+    }
+
     // ✅ Test verification with an invalid token
     @Test
     void testVerifyRegistration_InvalidToken() {
@@ -181,15 +245,15 @@ class GeneralVerificationTest {
         assertFalse(result);
     }
 
-    // ✅ Test email sending failure handling
+    // ✅ Test full mail queue handling
     @Test
-    void testSendOtpEmail_EmailFailure() throws MessagingException {
+    void testSendOtpEmail_QueueFull() {
         when(verificationTokenService.createToken()).thenReturn(token);
-        doThrow(new MessagingException("Email sending failed")).when(emailService).sendMail(any());
+        when(mailDispatcher.dispatch(any())).thenReturn(false);
 
         assertDoesNotThrow(() -> generalVerification.sendOtpEmail(user));
 
         verify(verificationTokenService, times(1)).saveToken(token);
-        verify(emailService, times(1)).sendMail(any());
+        verify(mailDispatcher, times(1)).dispatch(any());
     }
 }
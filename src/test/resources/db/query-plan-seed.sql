@@ -0,0 +1,65 @@
+-- Seed data for QueryPlanTest: large enough tables that a scan shows up in the plans, with the value
+-- distributions of production (few open requests, most donors valid and unconfirmed). Ids are far above
+-- entity_id_seq so they never collide with rows the tests persist.
+INSERT INTO location (id, created_date, type, name, normalized_name)
+SELECT 9000000 + g, CURRENT_DATE, 'CITY', 'City ' || g, 'city ' || g
+FROM generate_series(1, 500) g;
+
+INSERT INTO donation (id, created_date, blood_type, donation_date, start_donation, amount, payment_offered,
+                      confirm_donate, confirm_donate_req_id, status, city, conservatism, city_id, conservatism_id,
+                      latitude, longitude)
+SELECT 1000000 + g, CURRENT_DATE - g % 365, (ARRAY ['A+', 'A-', 'B+', 'B-', 'AB+', 'AB-', 'O+', 'O-'])[g % 8 + 1],
+       now() - make_interval(days => g % 400), now() - make_interval(days => g % 400), 1.0, false,
+       g % 10 = 0, 0, CASE WHEN g % 10 = 0 THEN 'INVALID' ELSE 'VALID' END,
+       'City ' || g % 500 + 1, 'Governorate ' || g % 27 + 1, 9000000 + g % 500 + 1, 9000000 + g % 27 + 1,
+       30 + (g % 1000) / 1000.0, 31 + (g % 997) / 1000.0
+FROM generate_series(1, 20000) g;
+
+INSERT INTO users (id, created_date, username, email, password, birth_date, phone_number, gender, scope, enabled,
+                   fcm_token, donation_id)
+SELECT 2000000 + g, CURRENT_DATE - g % 365, 'user' || g, 'user' || g || '@example.com', 'password',
+       DATE '1990-01-01' + g % 5000, '+2010' || lpad(g::text, 8, '0'),
+       CASE WHEN g % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END, 'USER', g % 10 <> 0, 'fcm-token-' || g, 1000000 + g
+FROM generate_series(1, 20000) g;
+
+INSERT INTO organization (id, created_date, org_name, email, password, city, conservatism, city_id, conservatism_id,
+                          phone_number, license_number, scope, enabled, fcm_token)
+SELECT 3000000 + g, CURRENT_DATE - g % 365, 'org' || g, 'org' || g || '@example.com', 'password',
+       'City ' || g % 500 + 1, 'Governorate ' || g % 27 + 1, 9000000 + g % 500 + 1, 9000000 + g % 27 + 1,
+       '+2020' || lpad(g::text, 8, '0'), 'license-' || g, 'ORGANIZATION', g % 10 <> 0, 'fcm-token-org-' || g
+FROM generate_series(1, 2000) g;
+
+INSERT INTO requests (id, created_date, blood_type_needed, amount, request_date, urgency_level, status,
+                      payment_available, city, conservatism, city_id, conservatism_id, latitude, longitude,
+                      user_id, org_id)
+SELECT 4000000 + g, CURRENT_DATE - g % 365, (ARRAY ['A+', 'A-', 'B+', 'B-', 'AB+', 'AB-', 'O+', 'O-'])[g % 8 + 1],
+       2.0, CURRENT_DATE - g % 365, (ARRAY ['LOW', 'MEDIUM', 'HIGH'])[g % 3 + 1],
+       CASE WHEN g % 20 = 0 THEN 'OPEN' ELSE 'FULFILLED' END, false,
+       'City ' || g % 500 + 1, 'Governorate ' || g % 27 + 1, 9000000 + g % 500 + 1, 9000000 + g % 27 + 1,
+       30 + (g % 1000) / 1000.0, 31 + (g % 997) / 1000.0,
+       CASE WHEN g % 5 <> 0 THEN 2000000 + g % 20000 + 1 END,
+       CASE WHEN g % 5 = 0 THEN 3000000 + g % 2000 + 1 END
+FROM generate_series(1, 50000) g;
+
+INSERT INTO request_donation (request_id, donation_id)
+SELECT 4000000 + g, 1000000 + (g * 7) % 20000 + 1
+FROM generate_series(1, 50000) g;
+
+INSERT INTO token (token, expired_at, user_id, org_id)
+SELECT 'token-' || g, now() + interval '1 hour',
+       CASE WHEN g % 10 <> 0 THEN 2000000 + g % 20000 + 1 END,
+       CASE WHEN g % 10 = 0 THEN 3000000 + g % 2000 + 1 END
+FROM generate_series(1, 20000) g;
+
+INSERT INTO reset_passwords (otp, expired_at, user_id, org_id)
+SELECT 'otp-' || g, now() + interval '10 minutes',
+       CASE WHEN g % 10 <> 0 THEN 2000000 + g % 20000 + 1 END,
+       CASE WHEN g % 10 = 0 THEN 3000000 + g % 2000 + 1 END
+FROM generate_series(1, 20000) g;
+
+INSERT INTO chat_messages (id, sender_id, receiver_id, content, timestamp, read)
+SELECT 5000000 + g, 'user' || g % 2000, 'user' || (g * 31) % 2000, 'message ' || g,
+       now() - make_interval(mins => g), g % 3 <> 0
+FROM generate_series(1, 50000) g;
+
+ANALYZE;